@@ -17,7 +17,10 @@
 package io.realm.processor;
 
 import io.realm.annotations.Ignore;
+import io.realm.annotations.FullText;
 import io.realm.annotations.Index;
+import io.realm.annotations.LinkingObjects;
+import io.realm.annotations.Owned;
 import io.realm.annotations.RealmClass;
 
 import javax.annotation.processing.AbstractProcessor;
@@ -31,6 +34,10 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -41,7 +48,8 @@ import java.util.Map;
 import java.util.Set;
 
 
-@SupportedAnnotationTypes({"io.realm.annotations.RealmClass", "io.realm.annotations.Ignore", "io.realm.annotations.Index"})
+@SupportedAnnotationTypes({"io.realm.annotations.RealmClass", "io.realm.annotations.Ignore", "io.realm.annotations.Index", "io.realm.annotations.FullText", "io.realm.annotations.LinkingObjects",
+        "io.realm.annotations.Owned"})
 public class RealmProcessor extends AbstractProcessor {
     Set<String> classesToValidate = new HashSet<String>();
     boolean done = false;
@@ -61,7 +69,10 @@ public class RealmProcessor extends AbstractProcessor {
             boolean hasDefaultConstructor = false;
             List<VariableElement> fields = new ArrayList<VariableElement>();
             List<VariableElement> indexedFields = new ArrayList<VariableElement>();
+            List<VariableElement> fullTextFields = new ArrayList<VariableElement>();
+            List<VariableElement> ownedFields = new ArrayList<VariableElement>();
             Set<VariableElement> ignoredFields = new HashSet<VariableElement>();
+            List<VariableElement> linkingObjectsFields = new ArrayList<VariableElement>();
             Set<String> expectedGetters = new HashSet<String>();
             Set<String> expectedSetters = new HashSet<String>();
             Set<ExecutableElement> methods = new HashSet<ExecutableElement>();
@@ -109,6 +120,19 @@ public class RealmProcessor extends AbstractProcessor {
                         continue;
                     }
 
+                    if (variableElement.getAnnotation(LinkingObjects.class) != null) {
+                        // The field has the @LinkingObjects annotation. It is not stored and only has a getter.
+                        if (!isValidLinkingObjectsField(typeElement, variableElement)) {
+                            return true;
+                        }
+                        if (!variableElement.getModifiers().contains(Modifier.PRIVATE)) {
+                            error("The fields of the model must be private", variableElement);
+                        }
+                        linkingObjectsFields.add(variableElement);
+                        expectedGetters.add(fieldName);
+                        continue;
+                    }
+
                     if (variableElement.getAnnotation(Index.class) != null) {
                         // The field has the @Index annotation. It's only valid for:
                         // * String
@@ -121,6 +145,30 @@ public class RealmProcessor extends AbstractProcessor {
                         }
                     }
 
+                    if (variableElement.getAnnotation(FullText.class) != null) {
+                        // The field has the @FullText annotation. It's only valid for:
+                        // * String
+                        String elementTypeCanonicalName = variableElement.asType().toString();
+                        if (elementTypeCanonicalName.equals("java.lang.String")) {
+                            fullTextFields.add(variableElement);
+                        } else {
+                            error("@FullText is only applicable to String fields - got " + element);
+                            return true;
+                        }
+                    }
+
+                    if (variableElement.getAnnotation(Owned.class) != null) {
+                        // The field has the @Owned annotation. It's only valid for:
+                        // * RealmObject
+                        // * RealmList
+                        if (isLinkField(variableElement)) {
+                            ownedFields.add(variableElement);
+                        } else {
+                            error("@Owned is only applicable to RealmObject and RealmList fields - got " + element);
+                            return true;
+                        }
+                    }
+
                     if (!variableElement.getModifiers().contains(Modifier.PRIVATE)) {
                         error("The fields of the model must be private", variableElement);
                     }
@@ -142,6 +190,9 @@ public class RealmProcessor extends AbstractProcessor {
             for (VariableElement field : fields) {
                 fieldNames.add(field.getSimpleName().toString());
             }
+            for (VariableElement linkingObjectsField : linkingObjectsFields) {
+                fieldNames.add(linkingObjectsField.getSimpleName().toString());
+            }
             for (VariableElement ignoredField : ignoredFields) {
                 fieldNames.add(ignoredField.getSimpleName().toString());
                 ignoreFieldNames.add(ignoredField.getSimpleName().toString());
@@ -254,7 +305,8 @@ public class RealmProcessor extends AbstractProcessor {
             }
 
             RealmProxyClassGenerator sourceCodeGenerator =
-                    new RealmProxyClassGenerator(processingEnv, className, packageName, fields, getters, setters, indexedFields);
+                    new RealmProxyClassGenerator(processingEnv, className, packageName, fields, getters, setters, indexedFields, fullTextFields,
+                            linkingObjectsFields, ownedFields);
             try {
                 sourceCodeGenerator.generate();
             } catch (IOException e) {
@@ -277,6 +329,43 @@ public class RealmProcessor extends AbstractProcessor {
         return true;
     }
 
+    private boolean isLinkField(VariableElement field) {
+        Types typeUtils = processingEnv.getTypeUtils();
+        TypeElement realmList = processingEnv.getElementUtils().getTypeElement("io.realm.RealmList");
+        TypeMirror realmObject = processingEnv.getElementUtils().getTypeElement("io.realm.RealmObject").asType();
+        return typeUtils.isAssignable(field.asType(), realmObject)
+                || typeUtils.isAssignable(field.asType(), typeUtils.getDeclaredType(realmList, typeUtils.getWildcardType(null, null)));
+    }
+
+    // A @LinkingObjects field must be a RealmResults of a class with a RealmObject or RealmList field of this class
+    private boolean isValidLinkingObjectsField(TypeElement typeElement, VariableElement field) {
+        String linkName = field.getAnnotation(LinkingObjects.class).value();
+        TypeMirror fieldType = field.asType();
+        List<? extends TypeMirror> typeArguments = (fieldType.getKind() == TypeKind.DECLARED)
+                ? ((DeclaredType) fieldType).getTypeArguments() : null;
+        if (!fieldType.toString().startsWith("io.realm.RealmResults<") || typeArguments == null
+                || typeArguments.size() != 1) {
+            error("@LinkingObjects is only applicable to RealmResults fields - got " + field, field);
+            return false;
+        }
+
+        TypeElement linkingClass = (TypeElement) processingEnv.getTypeUtils().asElement(typeArguments.get(0));
+        String className = typeElement.getQualifiedName().toString();
+        for (Element element : linkingClass.getEnclosedElements()) {
+            if (element.getKind().equals(ElementKind.FIELD) && element.getSimpleName().contentEquals(linkName)) {
+                String linkType = element.asType().toString();
+                if (linkType.equals(className) || linkType.equals("io.realm.RealmList<" + className + ">")) {
+                    return true;
+                }
+                error(String.format("@LinkingObjects field %s.%s must be of type %s or RealmList<%s> - got %s",
+                        linkingClass.getSimpleName(), linkName, className, className, linkType), field);
+                return false;
+            }
+        }
+        error(String.format("@LinkingObjects field %s.%s not found", linkingClass.getSimpleName(), linkName), field);
+        return false;
+    }
+
     private boolean isDefaultConstructor(Element constructor) {
         if (constructor.getModifiers().contains(Modifier.PUBLIC)) {
             return ((ExecutableElement) constructor).getParameters().isEmpty();
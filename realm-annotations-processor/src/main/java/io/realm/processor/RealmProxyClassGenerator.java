@@ -18,6 +18,8 @@ package io.realm.processor;
 
 import com.squareup.javawriter.JavaWriter;
 
+import io.realm.annotations.LinkingObjects;
+
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.lang.Override;
@@ -51,6 +53,9 @@ public class RealmProxyClassGenerator {
     private Map<String, String> getters = new HashMap<String, String>();
     private Map<String, String> setters = new HashMap<String, String>();
     private List<VariableElement> fieldsToIndex;
+    private List<VariableElement> fullTextFields;
+    private List<VariableElement> linkingObjectsFields;
+    private List<VariableElement> ownedFields;
     private static final String REALM_PACKAGE_NAME = "io.realm";
     private static final String TABLE_PREFIX = "class_";
     private static final String PROXY_SUFFIX = "RealmProxy";
@@ -64,7 +69,10 @@ public class RealmProxyClassGenerator {
                                     String className, String packageName,
                                     List<VariableElement> fields,
                                     Map<String, String> getters, Map<String, String> setters,
-                                    List<VariableElement> fieldsToIndex) {
+                                    List<VariableElement> fieldsToIndex,
+                                    List<VariableElement> fullTextFields,
+                                    List<VariableElement> linkingObjectsFields,
+                                    List<VariableElement> ownedFields) {
         this.processingEnvironment = processingEnvironment;
         this.className = className;
         this.packageName = packageName;
@@ -72,6 +80,9 @@ public class RealmProxyClassGenerator {
         this.getters = getters;
         this.setters = setters;
         this.fieldsToIndex = fieldsToIndex;
+        this.fullTextFields = fullTextFields;
+        this.linkingObjectsFields = linkingObjectsFields;
+        this.ownedFields = ownedFields;
     }
 
     private static final Map<String, String> JAVA_TO_REALM_TYPES;
@@ -151,6 +162,19 @@ public class RealmProxyClassGenerator {
         CASTING_TYPES.put("byte[]", "byte[]");
     }
 
+    // The integer types stored in long columns, with the constant holding their size
+    private static final Map<String, String> NARROW_INTEGER_SIZES;
+
+    static {
+        NARROW_INTEGER_SIZES = new HashMap<String, String>();
+        NARROW_INTEGER_SIZES.put("byte", "Byte.SIZE");
+        NARROW_INTEGER_SIZES.put("short", "Short.SIZE");
+        NARROW_INTEGER_SIZES.put("int", "Integer.SIZE");
+        NARROW_INTEGER_SIZES.put("Byte", "Byte.SIZE");
+        NARROW_INTEGER_SIZES.put("Short", "Short.SIZE");
+        NARROW_INTEGER_SIZES.put("Integer", "Integer.SIZE");
+    }
+
     public void generate() throws IOException, UnsupportedOperationException {
         String qualifiedGeneratedClassName = String.format("%s.%s%s", REALM_PACKAGE_NAME, className, PROXY_SUFFIX);
         JavaFileObject sourceFile = processingEnvironment.getFiler().createSourceFile(qualifiedGeneratedClassName);
@@ -172,7 +196,11 @@ public class RealmProxyClassGenerator {
         imports.add("android.util.JsonReader");
         imports.add("android.util.JsonToken");
         imports.add("io.realm.RealmObject");
+        imports.add("io.realm.internal.ColumnInfo");
         imports.add("io.realm.internal.ColumnType");
+        if (!fullTextFields.isEmpty()) {
+            imports.add("io.realm.internal.FullTextIndex");
+        }
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.ImplicitTransaction");
         imports.add("io.realm.internal.LinkView");
@@ -199,6 +227,12 @@ public class RealmProxyClassGenerator {
                 imports.add(fieldTypeName);
             }
         }
+        for (VariableElement field : linkingObjectsFields) {
+            String fieldTypeName = ((DeclaredType) field.asType()).getTypeArguments().get(0).toString();
+            if (!imports.contains(fieldTypeName)) {
+                imports.add(fieldTypeName);
+            }
+        }
         Collections.sort(imports);
         writer.emitImports(imports);
         writer.emitEmptyLine();
@@ -211,7 +245,11 @@ public class RealmProxyClassGenerator {
                 className)                   // class to extend
                 .emitEmptyLine();
 
+        emitColumnInfoClass(writer);
+        emitConstructor(writer);
         emitAccessors(writer);
+        emitLinkingObjectsAccessors(writer);
+        emitIncrementMethod(writer);
         emitInitTableMethod(writer);
         emitValidateTableMethod(writer);
         emitGetFieldNamesMethod(writer);
@@ -227,6 +265,58 @@ public class RealmProxyClassGenerator {
         writer.close();
     }
 
+    private String columnInfoClassName() {
+        return className + "ColumnInfo";
+    }
+
+    private String columnIndexVariable(String fieldName) {
+        return "columnInfo." + fieldName + "Index";
+    }
+
+    private void emitColumnInfoClass(JavaWriter writer) throws IOException {
+        writer.beginType(
+                columnInfoClassName(),                       // full qualified name of the item to generate
+                "class",                                     // the type of the item
+                EnumSet.of(Modifier.STATIC, Modifier.FINAL), // modifiers to apply
+                "ColumnInfo")                                // class to extend
+                .emitEmptyLine();
+
+        for (VariableElement field : fields) {
+            writer.emitField("long", field.getSimpleName().toString() + "Index",
+                    EnumSet.of(Modifier.PUBLIC, Modifier.FINAL));
+        }
+        writer.emitEmptyLine();
+
+        writer.beginConstructor(EnumSet.noneOf(Modifier.class), "Table", "table");
+        writer.emitStatement("super(%d)", fields.size());
+        for (VariableElement field : fields) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("this.%sIndex = getValidColumnIndex(table, \"%s\", \"%s\")",
+                    fieldName, className, fieldName);
+        }
+        for (VariableElement field : fields) {
+            String size = NARROW_INTEGER_SIZES.get(field.asType().toString());
+            if (size != null) {
+                writer.emitStatement("setIntegerSize(this.%sIndex, %s)", field.getSimpleName().toString(), size);
+            }
+        }
+        for (VariableElement field : ownedFields) {
+            writer.emitStatement("addOwnedColumnIndex(this.%sIndex)", field.getSimpleName().toString());
+        }
+        writer.endConstructor();
+        writer.endType();
+        writer.emitEmptyLine();
+    }
+
+    private void emitConstructor(JavaWriter writer) throws IOException {
+        writer.emitField(columnInfoClassName(), "columnInfo", EnumSet.of(Modifier.PRIVATE, Modifier.FINAL));
+        writer.emitEmptyLine();
+        writer.beginConstructor(EnumSet.noneOf(Modifier.class), "ColumnInfo", "columnInfo");
+        writer.emitStatement("this.columnInfo = (%s) columnInfo", columnInfoClassName());
+        writer.endConstructor();
+        writer.emitEmptyLine();
+    }
+
     private void emitAccessors(JavaWriter writer) throws IOException {
         // Accessors
         for (VariableElement field : fields) {
@@ -247,8 +337,8 @@ public class RealmProxyClassGenerator {
                         "realm.checkIfValid()"
                 );
                 writer.emitStatement(
-                        "return (%s) row.get%s(Realm.columnIndices.get(\"%s\").get(\"%s\"))",
-                        fieldTypeCanonicalName, realmType, className, fieldName);
+                        "return (%s) row.get%s(%s)",
+                        fieldTypeCanonicalName, realmType, columnIndexVariable(fieldName));
                 writer.endMethod();
                 writer.emitEmptyLine();
 
@@ -258,9 +348,14 @@ public class RealmProxyClassGenerator {
                 writer.emitStatement(
                         "realm.checkIfValid()"
                 );
+                if (fullTextFields.contains(field)) {
+                    writer.emitStatement(
+                            "FullTextIndex.update(realm.getFullTextIndex(\"%s\", \"%s\"), row.getIndex(), row.getString(%s), value)",
+                            className, fieldName, columnIndexVariable(fieldName));
+                }
                 writer.emitStatement(
-                        "row.set%s(Realm.columnIndices.get(\"%s\").get(\"%s\"), (%s) value)",
-                        realmType, className, fieldName, castingType);
+                        "row.set%s(%s, (%s) value)",
+                        realmType, columnIndexVariable(fieldName), castingType);
                 writer.endMethod();
             } else if (typeUtils.isAssignable(field.asType(), realmObject)) {
                 /**
@@ -270,12 +365,12 @@ public class RealmProxyClassGenerator {
                 // Getter
                 writer.emitAnnotation("Override");
                 writer.beginMethod(fieldTypeCanonicalName, getters.get(fieldName), EnumSet.of(Modifier.PUBLIC));
-                writer.beginControlFlow("if (row.isNullLink(Realm.columnIndices.get(\"%s\").get(\"%s\")))", className, fieldName);
+                writer.beginControlFlow("if (row.isNullLink(%s))", columnIndexVariable(fieldName));
                 writer.emitStatement("return null");
                 writer.endControlFlow();
                 writer.emitStatement(
-                        "return realm.get(%s.class, row.getLink(Realm.columnIndices.get(\"%s\").get(\"%s\")))",
-                        fieldTypeCanonicalName, className, fieldName);
+                        "return realm.get(%s.class, row.getLink(%s))",
+                        fieldTypeCanonicalName, columnIndexVariable(fieldName));
                 writer.endMethod();
                 writer.emitEmptyLine();
 
@@ -283,36 +378,48 @@ public class RealmProxyClassGenerator {
                 writer.emitAnnotation("Override");
                 writer.beginMethod("void", setters.get(fieldName), EnumSet.of(Modifier.PUBLIC), fieldTypeCanonicalName, "value");
                 writer.beginControlFlow("if (value == null)");
-                writer.emitStatement("row.nullifyLink(Realm.columnIndices.get(\"%s\").get(\"%s\"))", className, fieldName);
+                writer.emitStatement("row.nullifyLink(%s)", columnIndexVariable(fieldName));
                 writer.emitStatement("return");
                 writer.endControlFlow();
-                writer.emitStatement("row.setLink(Realm.columnIndices.get(\"%s\").get(\"%s\"), value.row.getIndex())", className, fieldName);
+                writer.emitStatement("row.setLink(%s, value.row.getIndex())", columnIndexVariable(fieldName));
                 writer.endMethod();
             } else if (typeUtils.isAssignable(field.asType(), realmList)) {
                 /**
                  * LinkLists
                  */
                 String genericType = getGenericType(field);
+                String cacheField = fieldName + "RealmList";
+
+                // The list is cached, but created again if the object was deleted, so getLinkList() throws as before
+                writer.emitField(fieldTypeCanonicalName, cacheField, EnumSet.of(Modifier.PRIVATE));
+                writer.emitEmptyLine();
 
                 // Getter
                 writer.emitAnnotation("Override");
                 writer.beginMethod(fieldTypeCanonicalName, getters.get(fieldName), EnumSet.of(Modifier.PUBLIC));
+                writer.beginControlFlow("if (%s == null || !row.isAttached())", cacheField);
                 writer.emitStatement(
-                        "return new RealmList<%s>(%s.class, row.getLinkList(Realm.columnIndices.get(\"%s\").get(\"%s\")), realm)",
-                        genericType, genericType, className, fieldName);
+                        "%s = new RealmList<%s>(%s.class, row.getLinkList(%s), realm)",
+                        cacheField, genericType, genericType, columnIndexVariable(fieldName));
+                writer.endControlFlow();
+                writer.emitStatement("return %s", cacheField);
                 writer.endMethod();
                 writer.emitEmptyLine();
 
                 // Setter
                 writer.emitAnnotation("Override");
                 writer.beginMethod("void", setters.get(fieldName), EnumSet.of(Modifier.PUBLIC), fieldTypeCanonicalName, "value");
-                writer.emitStatement("LinkView links = row.getLinkList(Realm.columnIndices.get(\"%s\").get(\"%s\"))", className, fieldName);
+                writer.emitStatement("LinkView links = row.getLinkList(%s)", columnIndexVariable(fieldName));
                 writer.beginControlFlow("if (value == null)");
                 writer.emitStatement("return"); // TODO: delete all the links instead
                 writer.endControlFlow();
+                // Collect the row indexes first, so all links are added with one native call
+                writer.emitStatement("long[] rowIndexes = new long[value.size()]");
+                writer.emitStatement("int i = 0");
                 writer.beginControlFlow("for (RealmObject linkedObject : (RealmList<? extends RealmObject>) value)");
-                writer.emitStatement("links.add(linkedObject.row.getIndex())");
+                writer.emitStatement("rowIndexes[i++] = linkedObject.row.getIndex()");
                 writer.endControlFlow();
+                writer.emitStatement("links.addAll(rowIndexes)");
                 writer.endMethod();
             } else {
                 throw new UnsupportedOperationException(
@@ -322,6 +429,84 @@ public class RealmProxyClassGenerator {
         }
     }
 
+    private void emitLinkingObjectsAccessors(JavaWriter writer) throws IOException {
+        for (VariableElement field : linkingObjectsFields) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            String genericType = ((DeclaredType) field.asType()).getTypeArguments().get(0).toString();
+            String linkName = field.getAnnotation(LinkingObjects.class).value();
+            String cacheField = fieldName + "RealmResults";
+
+            // The results are found through the backlinks and stay up to date, so they are only queried once
+            writer.emitField(fieldTypeCanonicalName, cacheField, EnumSet.of(Modifier.PRIVATE));
+            writer.emitEmptyLine();
+
+            // Getter
+            writer.emitAnnotation("Override");
+            writer.beginMethod(fieldTypeCanonicalName, getters.get(fieldName), EnumSet.of(Modifier.PUBLIC));
+            writer.emitStatement("realm.checkIfValid()");
+            writer.beginControlFlow("if (%s == null || !row.isAttached())", cacheField);
+            writer.emitStatement("%s = realm.where(%s.class).linkingTo(\"%s\", this).findAll()",
+                    cacheField, genericType, linkName);
+            writer.endControlFlow();
+            writer.emitStatement("return %s", cacheField);
+            writer.endMethod();
+            writer.emitEmptyLine();
+
+            // Setter, if the model class has one
+            if (setters.containsKey(fieldName)) {
+                writer.emitAnnotation("Override");
+                writer.beginMethod("void", setters.get(fieldName), EnumSet.of(Modifier.PUBLIC),
+                        fieldTypeCanonicalName, "value");
+                writer.emitStatement(
+                        "throw new UnsupportedOperationException(\"The @LinkingObjects field '%s' cannot be set.\")",
+                        fieldName);
+                writer.endMethod();
+                writer.emitEmptyLine();
+            }
+        }
+    }
+
+    private void emitIncrementMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod("void", "increment", EnumSet.of(Modifier.PUBLIC), "String", "fieldName", "long", "delta");
+        writer.emitStatement("realm.checkIfValid()");
+        // The integer fields are compared by name, so no column index has to be looked up
+        boolean first = true;
+        for (VariableElement field : fields) {
+            String fieldName = field.getSimpleName().toString();
+            if (!"long".equals(CASTING_TYPES.get(field.asType().toString()))) {
+                continue;
+            }
+            String condition = String.format("fieldName.equals(\"%s\")", fieldName);
+            if (first) {
+                writer.beginControlFlow("if (" + condition + ")");
+                first = false;
+            } else {
+                writer.nextControlFlow("else if (" + condition + ")");
+            }
+            // Narrower fields wrap around at their own size, as the getters cast the column value
+            String size = NARROW_INTEGER_SIZES.get(field.asType().toString());
+            if (size != null) {
+                writer.emitStatement("row.addLong(%s, delta, %s)", columnIndexVariable(fieldName), size);
+            } else {
+                writer.emitStatement("row.addLong(%s, delta)", columnIndexVariable(fieldName));
+            }
+        }
+        String exception = String.format(
+                "throw new IllegalArgumentException(\"Field '\" + fieldName + \"' is not an integer field of %s.\")",
+                className);
+        if (first) {
+            writer.emitStatement(exception);
+        } else {
+            writer.nextControlFlow("else");
+            writer.emitStatement(exception);
+            writer.endControlFlow();
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 "Table", // Return type
@@ -363,6 +548,11 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("table.setIndex(table.getColumnIndex(\"%s\"))", fieldName);
         }
 
+        for (VariableElement field : fullTextFields) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("FullTextIndex.initTable(transaction, table, \"%s\", \"%s\")", this.className, fieldName);
+        }
+
         writer.emitStatement("return table");
         writer.endControlFlow();
         writer.emitStatement("return transaction.getTable(\"%s%s\")", TABLE_PREFIX, this.className);
@@ -372,7 +562,7 @@ public class RealmProxyClassGenerator {
 
     private void emitValidateTableMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
-                "void", // Return type
+                columnInfoClassName(), // Return type
                 "validateTable", // Method name
                 EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
                 "ImplicitTransaction", "transaction"); // Argument type & argument name
@@ -445,6 +635,17 @@ public class RealmProxyClassGenerator {
 //                writer.endControlFlow();
             }
         }
+
+        for (VariableElement field : fullTextFields) {
+            String fieldName = field.getSimpleName().toString();
+            writer.beginControlFlow("if (!transaction.hasTable(FullTextIndex.getTableName(\"%s\", \"%s\")))", this.className, fieldName);
+            writer.emitStatement("throw new IllegalStateException(\"Missing full text index for field '%s'\")", fieldName);
+            writer.endControlFlow();
+        }
+        writer.emitEmptyLine();
+        writer.emitStatement("return new %s(table)", columnInfoClassName());
+        writer.nextControlFlow("else");
+        writer.emitStatement("throw new IllegalStateException(\"The %s class is missing from the schema for this Realm.\")", className);
         writer.endControlFlow();
         writer.endMethod();
         writer.emitEmptyLine();
@@ -468,16 +669,26 @@ public class RealmProxyClassGenerator {
                 className, // Return type
                 "copyToRealm", // Method name
                 EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
-                "Realm", "realm", className, "object"); // Argument type & argument name
-
+                "Realm", "realm", className, "object", "Map<RealmObject, RealmObject>", "cache"); // Argument type & argument name
+
+        // Objects already in the Realm are linked to, and objects copied before are copied only once
+        writer.beginControlFlow("if (object.realm != null && object.realm.getPath().equals(realm.getPath()))")
+                .emitStatement("return object")
+                .endControlFlow();
+        writer.emitStatement("%s cachedRealmObject = (%s) cache.get(object)", className, className);
+        writer.beginControlFlow("if (cachedRealmObject != null)")
+                .emitStatement("return cachedRealmObject")
+                .endControlFlow();
+        writer.emitEmptyLine();
         writer.emitStatement("%s realmObject = realm.createObject(%s.class)", className, className);
+        writer.emitStatement("cache.put(object, realmObject)");
 
         for (VariableElement field : fields) {
             String fieldName = field.getSimpleName().toString();
             if (typeUtils.isAssignable(field.asType(), realmObject)) {
                 writer
                     .beginControlFlow("if (object.%s() != null)", getters.get(fieldName))
-                        .emitStatement("realmObject.%s(%s.copyToRealm(realm, object.%s()))",
+                        .emitStatement("realmObject.%s(%s.copyToRealm(realm, object.%s(), cache))",
                             setters.get(fieldName),
                             getProxyClassSimpleName(field),
                             getters.get(fieldName))
@@ -486,7 +697,7 @@ public class RealmProxyClassGenerator {
                 writer
                     .beginControlFlow("if (object.%s() != null)", getters.get(fieldName))
                         .beginControlFlow("for (%s listObj : object.%s())", getGenericType(field), getters.get(fieldName))
-                            .emitStatement("realmObject.%s().add(%s.copyToRealm(realm, listObj))",
+                            .emitStatement("realmObject.%s().add(%s.copyToRealm(realm, listObj, cache))",
                                     getters.get(fieldName),
                                     getProxyClassSimpleName(field)
                             )
@@ -3,6 +3,7 @@ package io.realm;
 import android.util.JsonReader;
 import android.util.JsonToken;
 import io.realm.RealmObject;
+import io.realm.internal.ColumnInfo;
 import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
@@ -21,88 +22,126 @@ import some.test.AllTypes;
 
 public class AllTypesRealmProxy extends AllTypes {
 
+    static final class AllTypesColumnInfo extends ColumnInfo {
+
+        public final long columnStringIndex;
+        public final long columnLongIndex;
+        public final long columnFloatIndex;
+        public final long columnDoubleIndex;
+        public final long columnBooleanIndex;
+        public final long columnDateIndex;
+        public final long columnBinaryIndex;
+
+        AllTypesColumnInfo(Table table) {
+            super(7);
+            this.columnStringIndex = getValidColumnIndex(table, "AllTypes", "columnString");
+            this.columnLongIndex = getValidColumnIndex(table, "AllTypes", "columnLong");
+            this.columnFloatIndex = getValidColumnIndex(table, "AllTypes", "columnFloat");
+            this.columnDoubleIndex = getValidColumnIndex(table, "AllTypes", "columnDouble");
+            this.columnBooleanIndex = getValidColumnIndex(table, "AllTypes", "columnBoolean");
+            this.columnDateIndex = getValidColumnIndex(table, "AllTypes", "columnDate");
+            this.columnBinaryIndex = getValidColumnIndex(table, "AllTypes", "columnBinary");
+        }
+    }
+
+    private final AllTypesColumnInfo columnInfo;
+
+    AllTypesRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (AllTypesColumnInfo) columnInfo;
+    }
+
     @Override
     public String getColumnString() {
         realm.checkIfValid();
-        return (java.lang.String) row.getString(Realm.columnIndices.get("AllTypes").get("columnString"));
+        return (java.lang.String) row.getString(columnInfo.columnStringIndex);
     }
 
     @Override
     public void setColumnString(String value) {
         realm.checkIfValid();
-        row.setString(Realm.columnIndices.get("AllTypes").get("columnString"), (String) value);
+        row.setString(columnInfo.columnStringIndex, (String) value);
     }
 
     @Override
     public long getColumnLong() {
         realm.checkIfValid();
-        return (long) row.getLong(Realm.columnIndices.get("AllTypes").get("columnLong"));
+        return (long) row.getLong(columnInfo.columnLongIndex);
     }
 
     @Override
     public void setColumnLong(long value) {
         realm.checkIfValid();
-        row.setLong(Realm.columnIndices.get("AllTypes").get("columnLong"), (long) value);
+        row.setLong(columnInfo.columnLongIndex, (long) value);
     }
 
     @Override
     public float getColumnFloat() {
         realm.checkIfValid();
-        return (float) row.getFloat(Realm.columnIndices.get("AllTypes").get("columnFloat"));
+        return (float) row.getFloat(columnInfo.columnFloatIndex);
     }
 
     @Override
     public void setColumnFloat(float value) {
         realm.checkIfValid();
-        row.setFloat(Realm.columnIndices.get("AllTypes").get("columnFloat"), (float) value);
+        row.setFloat(columnInfo.columnFloatIndex, (float) value);
     }
 
     @Override
     public double getColumnDouble() {
         realm.checkIfValid();
-        return (double) row.getDouble(Realm.columnIndices.get("AllTypes").get("columnDouble"));
+        return (double) row.getDouble(columnInfo.columnDoubleIndex);
     }
 
     @Override
     public void setColumnDouble(double value) {
         realm.checkIfValid();
-        row.setDouble(Realm.columnIndices.get("AllTypes").get("columnDouble"), (double) value);
+        row.setDouble(columnInfo.columnDoubleIndex, (double) value);
     }
 
     @Override
     public boolean isColumnBoolean() {
         realm.checkIfValid();
-        return (boolean) row.getBoolean(Realm.columnIndices.get("AllTypes").get("columnBoolean"));
+        return (boolean) row.getBoolean(columnInfo.columnBooleanIndex);
     }
 
     @Override
     public void setColumnBoolean(boolean value) {
         realm.checkIfValid();
-        row.setBoolean(Realm.columnIndices.get("AllTypes").get("columnBoolean"), (boolean) value);
+        row.setBoolean(columnInfo.columnBooleanIndex, (boolean) value);
     }
 
     @Override
     public Date getColumnDate() {
         realm.checkIfValid();
-        return (java.util.Date) row.getDate(Realm.columnIndices.get("AllTypes").get("columnDate"));
+        return (java.util.Date) row.getDate(columnInfo.columnDateIndex);
     }
 
     @Override
     public void setColumnDate(Date value) {
         realm.checkIfValid();
-        row.setDate(Realm.columnIndices.get("AllTypes").get("columnDate"), (Date) value);
+        row.setDate(columnInfo.columnDateIndex, (Date) value);
     }
 
     @Override
     public byte[] getColumnBinary() {
         realm.checkIfValid();
-        return (byte[]) row.getBinaryByteArray(Realm.columnIndices.get("AllTypes").get("columnBinary"));
+        return (byte[]) row.getBinaryByteArray(columnInfo.columnBinaryIndex);
     }
 
     @Override
     public void setColumnBinary(byte[] value) {
         realm.checkIfValid();
-        row.setBinaryByteArray(Realm.columnIndices.get("AllTypes").get("columnBinary"), (byte[]) value);
+        row.setBinaryByteArray(columnInfo.columnBinaryIndex, (byte[]) value);
+    }
+
+    @Override
+    public void increment(String fieldName, long delta) {
+        realm.checkIfValid();
+        if (fieldName.equals("columnLong")) {
+            row.addLong(columnInfo.columnLongIndex, delta);
+        } else {
+            throw new IllegalArgumentException("Field '" + fieldName + "' is not an integer field of AllTypes.");
+        }
     }
 
     public static Table initTable(ImplicitTransaction transaction) {
@@ -120,7 +159,7 @@ public class AllTypesRealmProxy extends AllTypes {
         return transaction.getTable("class_AllTypes");
     }
 
-    public static void validateTable(ImplicitTransaction transaction) {
+    public static AllTypesColumnInfo validateTable(ImplicitTransaction transaction) {
         if(transaction.hasTable("class_AllTypes")) {
             Table table = transaction.getTable("class_AllTypes");
             if(table.getColumnCount() != 7) {
@@ -172,6 +211,10 @@ public class AllTypesRealmProxy extends AllTypes {
             if (columnTypes.get("columnBinary") != ColumnType.BINARY) {
                 throw new IllegalStateException("Invalid type 'byte[]' for column 'columnBinary'");
             }
+
+            return new AllTypesColumnInfo(table);
+        } else {
+            throw new IllegalStateException("The AllTypes class is missing from the schema for this Realm.");
         }
     }
 
@@ -245,8 +288,17 @@ public class AllTypesRealmProxy extends AllTypes {
 
 
 
-    public static AllTypes copyToRealm(Realm realm, AllTypes object) {
+    public static AllTypes copyToRealm(Realm realm, AllTypes object, Map<RealmObject, RealmObject> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        AllTypes cachedRealmObject = (AllTypes) cache.get(object);
+        if (cachedRealmObject != null) {
+            return cachedRealmObject;
+        }
+
         AllTypes realmObject = realm.createObject(AllTypes.class);
+        cache.put(object, realmObject);
         realmObject.setColumnString(object.getColumnString());
         realmObject.setColumnLong(object.getColumnLong());
         realmObject.setColumnFloat(object.getColumnFloat());
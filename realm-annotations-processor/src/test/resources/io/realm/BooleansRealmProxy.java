@@ -3,6 +3,7 @@ package io.realm;
 import android.util.JsonReader;
 import android.util.JsonToken;
 import io.realm.RealmObject;
+import io.realm.internal.ColumnInfo;
 import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
@@ -21,40 +22,66 @@ import some.test.Booleans;
 
 public class BooleansRealmProxy extends Booleans {
 
+    static final class BooleansColumnInfo extends ColumnInfo {
+
+        public final long doneIndex;
+        public final long isReadyIndex;
+        public final long mCompletedIndex;
+
+        BooleansColumnInfo(Table table) {
+            super(3);
+            this.doneIndex = getValidColumnIndex(table, "Booleans", "done");
+            this.isReadyIndex = getValidColumnIndex(table, "Booleans", "isReady");
+            this.mCompletedIndex = getValidColumnIndex(table, "Booleans", "mCompleted");
+        }
+    }
+
+    private final BooleansColumnInfo columnInfo;
+
+    BooleansRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (BooleansColumnInfo) columnInfo;
+    }
+
     @Override
     public boolean isDone() {
         realm.checkIfValid();
-        return (boolean) row.getBoolean(Realm.columnIndices.get("Booleans").get("done"));
+        return (boolean) row.getBoolean(columnInfo.doneIndex);
     }
 
     @Override
     public void setDone(boolean value) {
         realm.checkIfValid();
-        row.setBoolean(Realm.columnIndices.get("Booleans").get("done"), (boolean) value);
+        row.setBoolean(columnInfo.doneIndex, (boolean) value);
     }
 
     @Override
     public boolean isReady() {
         realm.checkIfValid();
-        return (boolean) row.getBoolean(Realm.columnIndices.get("Booleans").get("isReady"));
+        return (boolean) row.getBoolean(columnInfo.isReadyIndex);
     }
 
     @Override
     public void setReady(boolean value) {
         realm.checkIfValid();
-        row.setBoolean(Realm.columnIndices.get("Booleans").get("isReady"), (boolean) value);
+        row.setBoolean(columnInfo.isReadyIndex, (boolean) value);
     }
 
     @Override
     public boolean ismCompleted() {
         realm.checkIfValid();
-        return (boolean) row.getBoolean(Realm.columnIndices.get("Booleans").get("mCompleted"));
+        return (boolean) row.getBoolean(columnInfo.mCompletedIndex);
     }
 
     @Override
     public void setmCompleted(boolean value) {
         realm.checkIfValid();
-        row.setBoolean(Realm.columnIndices.get("Booleans").get("mCompleted"), (boolean) value);
+        row.setBoolean(columnInfo.mCompletedIndex, (boolean) value);
+    }
+
+    @Override
+    public void increment(String fieldName, long delta) {
+        realm.checkIfValid();
+        throw new IllegalArgumentException("Field '" + fieldName + "' is not an integer field of Booleans.");
     }
 
     public static Table initTable(ImplicitTransaction transaction) {
@@ -68,7 +95,7 @@ public class BooleansRealmProxy extends Booleans {
         return transaction.getTable("class_Booleans");
     }
 
-    public static void validateTable(ImplicitTransaction transaction) {
+    public static BooleansColumnInfo validateTable(ImplicitTransaction transaction) {
         if(transaction.hasTable("class_Booleans")) {
             Table table = transaction.getTable("class_Booleans");
             if(table.getColumnCount() != 3) {
@@ -96,6 +123,10 @@ public class BooleansRealmProxy extends Booleans {
             if (columnTypes.get("mCompleted") != ColumnType.BOOLEAN) {
                 throw new IllegalStateException("Invalid type 'boolean' for column 'mCompleted'");
             }
+
+            return new BooleansColumnInfo(table);
+        } else {
+            throw new IllegalStateException("The Booleans class is missing from the schema for this Realm.");
         }
     }
 
@@ -134,8 +165,17 @@ public class BooleansRealmProxy extends Booleans {
         reader.endObject();
     }
 
-    public static Booleans copyToRealm(Realm realm, Booleans object) {
+    public static Booleans copyToRealm(Realm realm, Booleans object, Map<RealmObject, RealmObject> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        Booleans cachedRealmObject = (Booleans) cache.get(object);
+        if (cachedRealmObject != null) {
+            return cachedRealmObject;
+        }
+
         Booleans realmObject = realm.createObject(Booleans.class);
+        cache.put(object, realmObject);
         realmObject.setDone(object.isDone());
         realmObject.setReady(object.isReady());
         realmObject.setmCompleted(object.ismCompleted());
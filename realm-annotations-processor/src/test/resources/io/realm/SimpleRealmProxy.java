@@ -3,6 +3,7 @@ package io.realm;
 import android.util.JsonReader;
 import android.util.JsonToken;
 import io.realm.RealmObject;
+import io.realm.internal.ColumnInfo;
 import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
@@ -21,28 +22,57 @@ import some.test.Simple;
 
 public class SimpleRealmProxy extends Simple {
 
+    static final class SimpleColumnInfo extends ColumnInfo {
+
+        public final long nameIndex;
+        public final long ageIndex;
+
+        SimpleColumnInfo(Table table) {
+            super(2);
+            this.nameIndex = getValidColumnIndex(table, "Simple", "name");
+            this.ageIndex = getValidColumnIndex(table, "Simple", "age");
+            setIntegerSize(this.ageIndex, Integer.SIZE);
+        }
+    }
+
+    private final SimpleColumnInfo columnInfo;
+
+    SimpleRealmProxy(ColumnInfo columnInfo) {
+        this.columnInfo = (SimpleColumnInfo) columnInfo;
+    }
+
     @Override
     public String getName() {
         realm.checkIfValid();
-        return (java.lang.String) row.getString(Realm.columnIndices.get("Simple").get("name"));
+        return (java.lang.String) row.getString(columnInfo.nameIndex);
     }
 
     @Override
     public void setName(String value) {
         realm.checkIfValid();
-        row.setString(Realm.columnIndices.get("Simple").get("name"), (String) value);
+        row.setString(columnInfo.nameIndex, (String) value);
     }
 
     @Override
     public int getAge() {
         realm.checkIfValid();
-        return (int) row.getLong(Realm.columnIndices.get("Simple").get("age"));
+        return (int) row.getLong(columnInfo.ageIndex);
     }
 
     @Override
     public void setAge(int value) {
         realm.checkIfValid();
-        row.setLong(Realm.columnIndices.get("Simple").get("age"), (long) value);
+        row.setLong(columnInfo.ageIndex, (long) value);
+    }
+
+    @Override
+    public void increment(String fieldName, long delta) {
+        realm.checkIfValid();
+        if (fieldName.equals("age")) {
+            row.addLong(columnInfo.ageIndex, delta, Integer.SIZE);
+        } else {
+            throw new IllegalArgumentException("Field '" + fieldName + "' is not an integer field of Simple.");
+        }
     }
 
     public static Table initTable(ImplicitTransaction transaction) {
@@ -55,7 +85,7 @@ public class SimpleRealmProxy extends Simple {
         return transaction.getTable("class_Simple");
     }
 
-    public static void validateTable(ImplicitTransaction transaction) {
+    public static SimpleColumnInfo validateTable(ImplicitTransaction transaction) {
         if (transaction.hasTable("class_Simple")) {
             Table table = transaction.getTable("class_Simple");
             if (table.getColumnCount() != 2) {
@@ -77,6 +107,10 @@ public class SimpleRealmProxy extends Simple {
             if (columnTypes.get("age") != ColumnType.INTEGER) {
                 throw new IllegalStateException("Invalid type 'int' for column 'age'");
             }
+
+            return new SimpleColumnInfo(table);
+        } else {
+            throw new IllegalStateException("The Simple class is missing from the schema for this Realm.");
         }
     }
 
@@ -110,8 +144,17 @@ public class SimpleRealmProxy extends Simple {
         reader.endObject();
     }
 
-    public static Simple copyToRealm(Realm realm, Simple object) {
+    public static Simple copyToRealm(Realm realm, Simple object, Map<RealmObject, RealmObject> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object;
+        }
+        Simple cachedRealmObject = (Simple) cache.get(object);
+        if (cachedRealmObject != null) {
+            return cachedRealmObject;
+        }
+
         Simple realmObject = realm.createObject(Simple.class);
+        cache.put(object, realmObject);
         realmObject.setName(object.getName());
         realmObject.setAge(object.getAge());
         return realmObject;
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+/**
+ * The @FullText annotation will add a full text index to the field, which is used by
+ * {@code RealmQuery.matches()} to find objects containing all of a number of words.
+ * The index is stored in the Realm file and is updated when the field is set.
+ * NOTICE: only String fields can have a full text index.
+ */
+public @interface FullText {
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+/**
+ * The @LinkingObjects annotation declares the inverse of a relationship: a RealmResults field with the objects
+ * of another class which link to this object through one of their RealmObject or RealmList fields, e.g.
+ * <pre>
+ * &#64;LinkingObjects("customer")
+ * private RealmResults&lt;Order&gt; orders;
+ * </pre>
+ * The objects are found through the backlinks stored in the Realm file, so only the objects linking to this object
+ * are visited, and the results are updated when the links change. The field is not stored in the Realm, only
+ * needs a getter, and is only available on objects in a Realm.
+ */
+public @interface LinkingObjects {
+
+    /**
+     * The name of the RealmObject or RealmList field of the linking class.
+     */
+    String value();
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+/**
+ * The @Owned annotation marks the objects linked from a RealmObject or RealmList field as owned by the object, so
+ * they are removed together with it by {@code RealmObject.removeFromRealm()}. The objects they own are removed as
+ * well, so a whole tree of objects is removed with a single native call.
+ * NOTICE: owned objects are removed even if other objects link to them as well.
+ */
+public @interface Owned {
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.Group;
+import io.realm.internal.LinkView;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.WriteTransaction;
+
+/**
+ * A Realm file used by the benchmarks, with the tables and columns the annotation processor generates for the
+ * classes below, and a folder which is deleted again on {@link #close()}.
+ * <pre>
+ * public class Person extends RealmObject {
+ *     &#64;Index private String name;
+ *     private long age;
+ *     private Dog dog;
+ *     private RealmList&lt;Dog&gt; dogs;
+ * }
+ *
+ * public class Dog extends RealmObject {
+ *     private String name;
+ *     private long age;
+ * }
+ * </pre>
+ */
+public class BenchmarkRealm {
+
+    public static final String PERSON = "class_Person";
+    public static final String DOG = "class_Dog";
+
+    public static final long PERSON_NAME = 0;
+    public static final long PERSON_AGE = 1;
+    public static final long PERSON_DOG = 2;
+    public static final long PERSON_DOGS = 3;
+
+    public static final long DOG_NAME = 0;
+    public static final long DOG_AGE = 1;
+
+    public static final int DOGS_PER_PERSON = 5;
+    public static final int MAX_AGE = 100;
+
+    private final File folder;
+    private final SharedGroup sharedGroup;
+
+    public BenchmarkRealm(SharedGroup.Durability durability) {
+        try {
+            folder = File.createTempFile("realm-benchmark", "");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (!folder.delete() || !folder.mkdir()) {
+            throw new RuntimeException("Could not create " + folder);
+        }
+        sharedGroup = new SharedGroup(new File(folder, "default.realm").getAbsolutePath(), durability, null);
+
+        WriteTransaction transaction = sharedGroup.beginWrite();
+        try {
+            Table dogs = transaction.getTable(DOG);
+            dogs.addColumn(ColumnType.STRING, "name");
+            dogs.addColumn(ColumnType.INTEGER, "age");
+            Table persons = transaction.getTable(PERSON);
+            persons.addColumn(ColumnType.STRING, "name");
+            persons.addColumn(ColumnType.INTEGER, "age");
+            persons.addColumnLink(ColumnType.LINK, "dog", dogs);
+            persons.addColumnLink(ColumnType.LINK_LIST, "dogs", dogs);
+            persons.setIndex(PERSON_NAME);
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    public SharedGroup getSharedGroup() {
+        return sharedGroup;
+    }
+
+    /**
+     * Adds persons, each with {@link #DOGS_PER_PERSON} dogs of which the first is also linked to directly.
+     */
+    public void addPersons(int count) {
+        WriteTransaction transaction = sharedGroup.beginWrite();
+        try {
+            addPersons(transaction, count);
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    public static void addPersons(Group transaction, int count) {
+        Table persons = transaction.getTable(PERSON);
+        Table dogs = transaction.getTable(DOG);
+        long firstPerson = persons.addEmptyRows(count);
+        long firstDog = dogs.addEmptyRows(count * DOGS_PER_PERSON);
+        for (int i = 0; i < count; i++) {
+            long person = firstPerson + i;
+            persons.setString(PERSON_NAME, person, personName(i));
+            persons.setLong(PERSON_AGE, person, i % MAX_AGE);
+            persons.setLink(PERSON_DOG, person, firstDog + i * DOGS_PER_PERSON);
+            LinkView personDogs = persons.getRow(person).getLinkList(PERSON_DOGS);
+            for (int j = 0; j < DOGS_PER_PERSON; j++) {
+                long dog = firstDog + i * DOGS_PER_PERSON + j;
+                dogs.setString(DOG_NAME, dog, "Dog " + dog);
+                dogs.setLong(DOG_AGE, dog, dog % 15);
+                personDogs.add(dog);
+            }
+        }
+    }
+
+    /**
+     * Names are not in the same order as the rows, so sorting by name has to move them around.
+     */
+    public static String personName(int i) {
+        return "Person " + Integer.toHexString(Integer.reverse(i));
+    }
+
+    public void close() {
+        sharedGroup.close();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.WriteTransaction;
+
+/**
+ * The fixed cost of a write transaction: beginning it, making a small change and committing, with and without
+ * syncing the file to disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CommitBenchmark {
+
+    @Param({"FULL", "MEM_ONLY"})
+    public SharedGroup.Durability durability;
+
+    private BenchmarkRealm realm;
+
+    @Setup
+    public void setUp() {
+        realm = new BenchmarkRealm(durability);
+        realm.addPersons(1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        realm.close();
+    }
+
+    @Benchmark
+    public void emptyCommit() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Benchmark
+    public void singleUpdateCommit() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table persons = transaction.getTable(BenchmarkRealm.PERSON);
+            persons.setLong(BenchmarkRealm.PERSON_AGE, 0, persons.getLong(BenchmarkRealm.PERSON_AGE, 0) + 1);
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Benchmark
+    public void rollback() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table persons = transaction.getTable(BenchmarkRealm.PERSON);
+            persons.setLong(BenchmarkRealm.PERSON_AGE, 0, persons.getLong(BenchmarkRealm.PERSON_AGE, 0) + 1);
+        } finally {
+            transaction.close();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with "-rf json", and exits with status 1 if any benchmark got slower than
+ * in the baseline by more than the threshold.
+ * <pre>
+ * java io.realm.benchmarks.CompareResults baseline.json results.json 10
+ * </pre>
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException, JSONException {
+        if (args.length != 3) {
+            System.err.println("Usage: CompareResults <baseline.json> <results.json> <threshold in percent>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline found at " + baselineFile + ". Copy a results file there to create one.");
+            System.exit(2);
+        }
+        Map<String, JSONObject> baseline = readResults(baselineFile);
+        Map<String, JSONObject> results = readResults(new File(args[1]));
+        double threshold = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        for (Map.Entry<String, JSONObject> entry : results.entrySet()) {
+            JSONObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println(String.format("%-80s new", entry.getKey()));
+                continue;
+            }
+            JSONObject after = entry.getValue();
+            double change = slowdownPercent(before, after);
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.println(String.format("%-80s %+7.1f%% %s", entry.getKey(), change,
+                    regression ? "REGRESSION" : ""));
+        }
+        if (regressions > 0) {
+            System.err.println(String.format("%d benchmark(s) are more than %.1f%% slower than the baseline.",
+                    regressions, threshold));
+            System.exit(1);
+        }
+    }
+
+    // How much slower the new result is, in percent. Negative when faster.
+    private static double slowdownPercent(JSONObject before, JSONObject after) throws JSONException {
+        double scoreBefore = before.getJSONObject("primaryMetric").getDouble("score");
+        double scoreAfter = after.getJSONObject("primaryMetric").getDouble("score");
+        if (scoreBefore == 0 || scoreAfter == 0) {
+            return 0;
+        }
+        // The score is a time per operation in all modes but throughput, where more is better
+        if ("thrpt".equals(after.getString("mode"))) {
+            return (scoreBefore / scoreAfter - 1) * 100;
+        } else {
+            return (scoreAfter / scoreBefore - 1) * 100;
+        }
+    }
+
+    // Results by benchmark name, mode and parameters
+    private static Map<String, JSONObject> readResults(File file) throws IOException, JSONException {
+        JSONArray array = new JSONArray(readFile(file));
+        Map<String, JSONObject> results = new LinkedHashMap<String, JSONObject>();
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject result = array.getJSONObject(i);
+            StringBuilder key = new StringBuilder(result.getString("benchmark"));
+            key.append(" (").append(result.getString("mode"));
+            JSONObject params = result.optJSONObject("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<String, String>();
+                Iterator<?> names = params.keys();
+                while (names.hasNext()) {
+                    String name = (String) names.next();
+                    sorted.put(name, params.getString(name));
+                }
+                for (Map.Entry<String, String> param : sorted.entrySet()) {
+                    key.append(", ").append(param.getKey()).append('=').append(param.getValue());
+                }
+            }
+            key.append(')');
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String readFile(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+            return sb.toString();
+        } finally {
+            reader.close();
+        }
+    }
+}
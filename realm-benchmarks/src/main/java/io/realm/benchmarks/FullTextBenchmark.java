@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.FullTextIndex;
+import io.realm.internal.ReadTransaction;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.WriteTransaction;
+
+/**
+ * Searching a String field for words with RealmQuery.matches(), which looks up the terms in the full text index,
+ * compared with scanning the field with contains(). Each value holds a rare term (about 100 rows each at the
+ * default size), a frequent term (about 10000 rows each) and a term found in all rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FullTextBenchmark {
+
+    private static final String NOTE = "class_Note";
+    private static final long NOTE_TEXT = 0;
+
+    @Param({"1000000"})
+    public int size;
+
+    private BenchmarkRealm realm;
+    private ReadTransaction transaction;
+    private Table notes;
+    private Table index;
+
+    @Setup
+    public void setUp() {
+        realm = new BenchmarkRealm(SharedGroup.Durability.FULL);
+        WriteTransaction writeTransaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table table = writeTransaction.getTable(NOTE);
+            table.addColumn(ColumnType.STRING, "text");
+            long firstRow = table.addEmptyRows(size);
+            for (int i = 0; i < size; i++) {
+                table.setString(NOTE_TEXT, firstRow + i, "Rare" + (i % 10007) + " frequent" + (i % 101) + " common");
+            }
+            FullTextIndex.initTable(writeTransaction, table, "Note", "text");
+            writeTransaction.commit();
+        } finally {
+            writeTransaction.close();
+        }
+        transaction = realm.getSharedGroup().beginRead();
+        notes = transaction.getTable(NOTE);
+        index = transaction.getTable(FullTextIndex.getTableName("Note", "text"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        transaction.endRead();
+        realm.close();
+    }
+
+    @Benchmark
+    public long matchesRareTerm() {
+        return notes.where().matchesFullText(NOTE_TEXT, index, new String[] {"rare42"}).count();
+    }
+
+    @Benchmark
+    public long matchesFrequentTerm() {
+        return notes.where().matchesFullText(NOTE_TEXT, index, new String[] {"frequent42"}).count();
+    }
+
+    @Benchmark
+    public long matchesTwoTerms() {
+        return notes.where().matchesFullText(NOTE_TEXT, index, new String[] {"rare42", "frequent42"}).count();
+    }
+
+    @Benchmark
+    public long containsRareTerm() {
+        return notes.where().contains(NOTE_TEXT, "Rare42 ", true).count();
+    }
+}
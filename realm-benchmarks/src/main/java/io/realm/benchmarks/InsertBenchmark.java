@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.SharedGroup;
+import io.realm.internal.WriteTransaction;
+
+/**
+ * Inserting persons, each with a link and a link list to dogs, in one write transaction including the commit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InsertBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int batchSize;
+
+    private BenchmarkRealm realm;
+
+    // A new file for each iteration, so the file size does not grow through the whole run
+    @Setup(Level.Iteration)
+    public void setUp() {
+        realm = new BenchmarkRealm(SharedGroup.Durability.FULL);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        realm.close();
+    }
+
+    @Benchmark
+    public void insert() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            BenchmarkRealm.addPersons(transaction, batchSize);
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.Row;
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+
+/**
+ * Reading a field of every person: directly from the table, through a query result and through a row accessor
+ * for each person, the way the generated proxies do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IterationBenchmark {
+
+    @Benchmark
+    public long tableLong(ReadBenchmarkState state) {
+        Table persons = state.persons;
+        long sum = 0;
+        for (long i = 0; i < state.size; i++) {
+            sum += persons.getLong(BenchmarkRealm.PERSON_AGE, i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void tableString(ReadBenchmarkState state, Blackhole blackhole) {
+        Table persons = state.persons;
+        for (long i = 0; i < state.size; i++) {
+            blackhole.consume(persons.getString(BenchmarkRealm.PERSON_NAME, i));
+        }
+    }
+
+    @Benchmark
+    public long viewLong(ReadBenchmarkState state) {
+        TableView view = state.persons.where().findAll();
+        try {
+            long sum = 0;
+            long size = view.size();
+            for (long i = 0; i < size; i++) {
+                sum += view.getLong(BenchmarkRealm.PERSON_AGE, i);
+            }
+            return sum;
+        } finally {
+            view.close();
+        }
+    }
+
+    @Benchmark
+    public long rowAccessors(ReadBenchmarkState state) {
+        Table persons = state.persons;
+        long sum = 0;
+        for (long i = 0; i < state.size; i++) {
+            Row row = persons.getRow(i);
+            sum += row.getLong(BenchmarkRealm.PERSON_AGE);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.LinkView;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.WriteTransaction;
+
+/**
+ * Importing a JSON array of persons with nested dogs in one write transaction, the way
+ * Realm.createAllFromJson() and the generated proxies do: parsing with org.json and setting each field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonImportBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private String json;
+    private BenchmarkRealm realm;
+
+    @Setup
+    public void createJson() throws JSONException {
+        JSONArray persons = new JSONArray();
+        for (int i = 0; i < size; i++) {
+            JSONArray dogs = new JSONArray();
+            for (int j = 0; j < BenchmarkRealm.DOGS_PER_PERSON; j++) {
+                JSONObject dog = new JSONObject();
+                dog.put("name", "Dog " + (i * BenchmarkRealm.DOGS_PER_PERSON + j));
+                dog.put("age", j);
+                dogs.put(dog);
+            }
+            JSONObject person = new JSONObject();
+            person.put("name", BenchmarkRealm.personName(i));
+            person.put("age", i % BenchmarkRealm.MAX_AGE);
+            person.put("dogs", dogs);
+            persons.put(person);
+        }
+        json = persons.toString();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        realm = new BenchmarkRealm(SharedGroup.Durability.FULL);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        realm.close();
+    }
+
+    @Benchmark
+    public void importJson() throws JSONException {
+        JSONArray array = new JSONArray(json);
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table persons = transaction.getTable(BenchmarkRealm.PERSON);
+            Table dogs = transaction.getTable(BenchmarkRealm.DOG);
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject object = array.getJSONObject(i);
+                long person = persons.addEmptyRow();
+                persons.setString(BenchmarkRealm.PERSON_NAME, person, object.getString("name"));
+                persons.setLong(BenchmarkRealm.PERSON_AGE, person, object.getLong("age"));
+                JSONArray dogArray = object.getJSONArray("dogs");
+                LinkView linkView = persons.getRow(person).getLinkList(BenchmarkRealm.PERSON_DOGS);
+                for (int j = 0; j < dogArray.length(); j++) {
+                    JSONObject dogJson = dogArray.getJSONObject(j);
+                    long dog = dogs.addEmptyRow();
+                    dogs.setString(BenchmarkRealm.DOG_NAME, dog, dogJson.getString("name"));
+                    dogs.setLong(BenchmarkRealm.DOG_AGE, dog, dogJson.getLong("age"));
+                    linkView.add(dog);
+                    if (j == 0) {
+                        persons.setLink(BenchmarkRealm.PERSON_DOG, person, dog);
+                    }
+                }
+            }
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.LinkView;
+import io.realm.internal.Row;
+import io.realm.internal.Table;
+
+/**
+ * Following the link and the link list of every person to read a field of the dogs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LinkTraversalBenchmark {
+
+    @Benchmark
+    public long link(ReadBenchmarkState state) {
+        Table persons = state.persons;
+        Table dogs = state.dogs;
+        long sum = 0;
+        for (long i = 0; i < state.size; i++) {
+            sum += dogs.getLong(BenchmarkRealm.DOG_AGE, persons.getLink(BenchmarkRealm.PERSON_DOG, i));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long linkList(ReadBenchmarkState state) {
+        Table persons = state.persons;
+        Table dogs = state.dogs;
+        long sum = 0;
+        for (long i = 0; i < state.size; i++) {
+            LinkView linkView = persons.getRow(i).getLinkList(BenchmarkRealm.PERSON_DOGS);
+            long size = linkView.size();
+            for (long j = 0; j < size; j++) {
+                sum += dogs.getLong(BenchmarkRealm.DOG_AGE, linkView.getTargetRowIndex(j));
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long linkListRows(ReadBenchmarkState state) {
+        Table persons = state.persons;
+        long sum = 0;
+        for (long i = 0; i < state.size; i++) {
+            LinkView linkView = persons.getRow(i).getLinkList(BenchmarkRealm.PERSON_DOGS);
+            long size = linkView.size();
+            for (long j = 0; j < size; j++) {
+                Row dog = linkView.get(j);
+                sum += dog.getLong(BenchmarkRealm.DOG_AGE);
+            }
+        }
+        return sum;
+    }
+}
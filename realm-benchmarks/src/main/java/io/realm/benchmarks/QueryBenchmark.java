@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.TableView;
+
+/**
+ * Running queries on integers, indexed and unindexed strings and across links.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static long size(TableView view) {
+        long size = view.size();
+        view.close();
+        return size;
+    }
+
+    @Benchmark
+    public long findAllBetween(ReadBenchmarkState state) {
+        return size(state.persons.where()
+                .between(new long[]{BenchmarkRealm.PERSON_AGE}, 20, 40)
+                .findAll());
+    }
+
+    @Benchmark
+    public long findAllIndexedString(ReadBenchmarkState state) {
+        return size(state.persons.where()
+                .equalTo(new long[]{BenchmarkRealm.PERSON_NAME}, BenchmarkRealm.personName(42))
+                .findAll());
+    }
+
+    @Benchmark
+    public long findAllString(ReadBenchmarkState state) {
+        return size(state.dogs.where()
+                .equalTo(new long[]{BenchmarkRealm.DOG_NAME}, "Dog 42")
+                .findAll());
+    }
+
+    @Benchmark
+    public long findAllCaseInsensitiveString(ReadBenchmarkState state) {
+        return size(state.dogs.where()
+                .equalTo(new long[]{BenchmarkRealm.DOG_NAME}, "dog 42", false)
+                .findAll());
+    }
+
+    @Benchmark
+    public long findAllBeginsWithIndexedString(ReadBenchmarkState state) {
+        return size(state.persons.where()
+                .beginsWith(BenchmarkRealm.PERSON_NAME, "Person 1")
+                .findAll());
+    }
+
+    @Benchmark
+    public long findAllBeginsWithString(ReadBenchmarkState state) {
+        return size(state.dogs.where()
+                .beginsWith(BenchmarkRealm.DOG_NAME, "Dog 42")
+                .findAll());
+    }
+
+    @Benchmark
+    public long findAllAcrossLink(ReadBenchmarkState state) {
+        return size(state.persons.where()
+                .equalTo(new long[]{BenchmarkRealm.PERSON_DOG, BenchmarkRealm.DOG_AGE}, 3)
+                .findAll());
+    }
+
+    @Benchmark
+    public long findFirst(ReadBenchmarkState state) {
+        return state.persons.where()
+                .equalTo(new long[]{BenchmarkRealm.PERSON_AGE}, BenchmarkRealm.MAX_AGE - 1)
+                .find();
+    }
+
+    @Benchmark
+    public long count(ReadBenchmarkState state) {
+        return state.persons.where()
+                .greaterThan(new long[]{BenchmarkRealm.PERSON_AGE}, BenchmarkRealm.MAX_AGE / 2)
+                .count();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.realm.internal.ReadTransaction;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+
+/**
+ * A Realm filled with persons and dogs, and a read transaction open for the whole run. Used by the benchmarks
+ * which do not write.
+ */
+@State(Scope.Thread)
+public class ReadBenchmarkState {
+
+    @Param({"10000"})
+    public int size;
+
+    public Table persons;
+    public Table dogs;
+
+    private BenchmarkRealm realm;
+    private ReadTransaction transaction;
+
+    @Setup
+    public void setUp() {
+        realm = new BenchmarkRealm(SharedGroup.Durability.FULL);
+        realm.addPersons(size);
+        transaction = realm.getSharedGroup().beginRead();
+        persons = transaction.getTable(BenchmarkRealm.PERSON);
+        dogs = transaction.getTable(BenchmarkRealm.DOG);
+    }
+
+    @TearDown
+    public void tearDown() {
+        transaction.endRead();
+        realm.close();
+    }
+}
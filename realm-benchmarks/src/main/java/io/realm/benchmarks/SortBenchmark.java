@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.TableView;
+
+/**
+ * Sorting all persons by an integer, a string, several fields and across a link.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SortBenchmark {
+
+    private static long first(TableView view) {
+        long first = view.getSourceRowIndex(0);
+        view.close();
+        return first;
+    }
+
+    @Benchmark
+    public long sortByLong(ReadBenchmarkState state) {
+        return first(state.persons.getSortedView(BenchmarkRealm.PERSON_AGE, TableView.Order.descending));
+    }
+
+    @Benchmark
+    public long sortByString(ReadBenchmarkState state) {
+        return first(state.persons.getSortedView(BenchmarkRealm.PERSON_NAME, TableView.Order.ascending));
+    }
+
+    @Benchmark
+    public long sortByMultipleFields(ReadBenchmarkState state) {
+        TableView view = state.persons.where().findAll();
+        view.sort(Arrays.asList(BenchmarkRealm.PERSON_AGE, BenchmarkRealm.PERSON_NAME),
+                Arrays.asList(TableView.Order.ascending, TableView.Order.descending));
+        return first(view);
+    }
+
+    @Benchmark
+    public long sortAcrossLink(ReadBenchmarkState state) {
+        TableView view = state.persons.where().findAll();
+        view.sort(new long[]{BenchmarkRealm.PERSON_DOG, BenchmarkRealm.DOG_NAME}, TableView.Order.ascending);
+        return first(view);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+import io.realm.internal.WriteTransaction;
+
+/**
+ * Updating every person in one write transaction including the commit, directly in the table and through the
+ * results of a query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UpdateBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private BenchmarkRealm realm;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        realm = new BenchmarkRealm(SharedGroup.Durability.FULL);
+        realm.addPersons(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        realm.close();
+    }
+
+    @Benchmark
+    public void updateLong() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table persons = transaction.getTable(BenchmarkRealm.PERSON);
+            value++;
+            for (long i = 0; i < size; i++) {
+                persons.setLong(BenchmarkRealm.PERSON_AGE, i, value);
+            }
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Benchmark
+    public void updateString() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table dogs = transaction.getTable(BenchmarkRealm.DOG);
+            String name = "Dog " + (value++);
+            for (long i = 0; i < size; i++) {
+                dogs.setString(BenchmarkRealm.DOG_NAME, i, name);
+            }
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Benchmark
+    public void updateQueryResults() {
+        WriteTransaction transaction = realm.getSharedGroup().beginWrite();
+        try {
+            Table persons = transaction.getTable(BenchmarkRealm.PERSON);
+            TableView view = persons.where().findAll();
+            try {
+                value++;
+                for (long i = 0; i < view.size(); i++) {
+                    view.setLong(BenchmarkRealm.PERSON_AGE, i, value);
+                }
+            } finally {
+                view.close();
+            }
+            transaction.commit();
+        } finally {
+            transaction.close();
+        }
+    }
+}
@@ -8,10 +8,10 @@ TMPDIR=$(mktemp -d /tmp/$$.XXXXXX)
 JNIDIR="$(pwd)/src"
 
 # Compile relevant files (and what they depend on)
-(cd "$REALMDIR" && javac -d "$TMPDIR" internal/*.java exceptions/*.java)
+(cd "$REALMDIR" && javac -d "$TMPDIR" internal/*.java internal/log/*.java exceptions/*.java)
 
 # Generate the headers
-(cd "$TMPDIR" && javah -jni -classpath "$TMPDIR" -d "$JNIDIR" io.realm.internal.Group io.realm.internal.LinkView io.realm.internal.Row io.realm.internal.SharedGroup io.realm.internal.SubtableSchema io.realm.internal.Table io.realm.internal.TableQuery io.realm.internal.TableView io.realm.internal.Util io.realm.internal.Version)
+(cd "$TMPDIR" && javah -jni -classpath "$TMPDIR" -d "$JNIDIR" io.realm.internal.FullTextIndex io.realm.internal.Group io.realm.internal.LinkView io.realm.internal.Row io.realm.internal.SharedGroup io.realm.internal.SubtableSchema io.realm.internal.Table io.realm.internal.TableQuery io.realm.internal.TableView io.realm.internal.Util io.realm.internal.Version)
 
 # Remove the class files
 rm -rf "$TMPDIR"
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <set>
+#include <utility>
+
+#include "cascadeutil.hpp"
+#include "util.hpp"
+
+using namespace tightdb;
+
+// Layout of the full text index tables, see FullTextIndex.java
+#define FULL_TEXT_OBJECT_COLUMN 1
+
+namespace {
+
+struct TableRows {
+    TableRef table;
+    std::set<size_t> rows;
+};
+
+// Finds the rows linked from the pending rows through owned columns, recursively. Each row is
+// visited once, so cycles of owned links end.
+void collect_owned_rows(std::vector<std::pair<TableRef, size_t> >& pending, const OwnedColumns& owned,
+                        std::map<Table*, TableRows>& found)
+{
+    while (!pending.empty()) {
+        TableRef table = pending.back().first;
+        size_t row = pending.back().second;
+        pending.pop_back();
+
+        TableRows& table_rows = found[table.get()];
+        table_rows.table = table;
+        if (!table_rows.rows.insert(row).second)
+            continue;
+
+        StringData name = table->get_name();
+        OwnedColumns::const_iterator it = owned.find(std::string(name.data(), name.size()));
+        if (it == owned.end())
+            continue;
+        for (size_t i = 0; i < it->second.size(); ++i) {
+            size_t column = it->second[i];
+            TableRef target = table->get_link_target(column);
+            if (table->get_column_type(column) == type_Link) {
+                if (!table->is_null_link(column, row))
+                    pending.push_back(std::make_pair(target, table->get_link(column, row)));
+            }
+            else {
+                LinkViewRef links = table->get_linklist(column, row);
+                for (size_t j = 0; j < links->size(); ++j)
+                    pending.push_back(std::make_pair(target, links->get(j).get_index()));
+            }
+        }
+    }
+}
+
+// Finds the entries of the full text indexes linking to the rows found, through the backlinks of
+// the rows.
+void collect_index_entries(const std::vector<TableRef>& indexes, std::map<Table*, TableRows>& found)
+{
+    for (size_t i = 0; i < indexes.size(); ++i) {
+        TableRef index = indexes[i];
+        TableRef target = index->get_link_target(FULL_TEXT_OBJECT_COLUMN);
+        std::map<Table*, TableRows>::iterator target_rows = found.find(target.get());
+        if (target_rows == found.end())
+            continue;
+        TableRows& entries = found[index.get()];
+        entries.table = index;
+        const std::set<size_t>& rows = target_rows->second.rows;
+        for (std::set<size_t>::const_iterator row = rows.begin(); row != rows.end(); ++row) {
+            size_t count = target->get_backlink_count(*row, *index, FULL_TEXT_OBJECT_COLUMN);
+            for (size_t j = 0; j < count; ++j)
+                entries.rows.insert(target->get_backlink(*row, *index, FULL_TEXT_OBJECT_COLUMN, j));
+        }
+    }
+}
+
+} // anonymous namespace
+
+void ReadOwnedColumns(JNIEnv* env, jobjectArray tableNames, jobjectArray columnIndexes, OwnedColumns& owned)
+{
+    jsize count = env->GetArrayLength(tableNames);
+    for (jsize i = 0; i < count; ++i) {
+        jstring name = static_cast<jstring>(env->GetObjectArrayElement(tableNames, i));
+        JStringAccessor name2(env, name); // throws
+        StringData data = name2;
+        jlongArray columns = static_cast<jlongArray>(env->GetObjectArrayElement(columnIndexes, i));
+        jsize column_count = env->GetArrayLength(columns);
+        jlong* columns2 = env->GetLongArrayElements(columns, NULL);
+        std::vector<size_t>& owned_columns = owned[std::string(data.data(), data.size())];
+        for (jsize j = 0; j < column_count; ++j)
+            owned_columns.push_back(S(columns2[j]));
+        env->ReleaseLongArrayElements(columns, columns2, JNI_ABORT);
+        env->DeleteLocalRef(columns);
+        env->DeleteLocalRef(name);
+    }
+}
+
+void ReadTables(JNIEnv* env, jlongArray tablePtrs, std::vector<TableRef>& tables)
+{
+    jsize count = env->GetArrayLength(tablePtrs);
+    jlong* ptrs = env->GetLongArrayElements(tablePtrs, NULL);
+    tables.reserve(count);
+    for (jsize i = 0; i < count; ++i)
+        tables.push_back(TBL(ptrs[i])->get_table_ref());
+    env->ReleaseLongArrayElements(tablePtrs, ptrs, JNI_ABORT);
+}
+
+void RemoveCascade(TableRef table, const std::vector<size_t>& rows, const OwnedColumns& owned,
+                   const std::vector<TableRef>& full_text_indexes)
+{
+    // Removing a row moves the last row of its table into its place. As the rows of each table
+    // are removed from the highest index down, the moved row is never one still to be removed.
+    // Rows of other tables keep their indexes, and core updates the links to the moved rows.
+    if (owned.empty() && full_text_indexes.empty()) {
+        std::vector<size_t> sorted(rows);
+        std::sort(sorted.begin(), sorted.end());
+        sorted.erase(std::unique(sorted.begin(), sorted.end()), sorted.end());
+        for (std::vector<size_t>::reverse_iterator row = sorted.rbegin(); row != sorted.rend(); ++row)
+            table->move_last_over(*row);
+        return;
+    }
+
+    std::vector<std::pair<TableRef, size_t> > pending;
+    pending.reserve(rows.size());
+    for (size_t i = 0; i < rows.size(); ++i)
+        pending.push_back(std::make_pair(table, rows[i]));
+
+    std::map<Table*, TableRows> found;
+    collect_owned_rows(pending, owned, found);
+    collect_index_entries(full_text_indexes, found);
+
+    for (std::map<Table*, TableRows>::iterator it = found.begin(); it != found.end(); ++it) {
+        std::set<size_t>& table_rows = it->second.rows;
+        for (std::set<size_t>::reverse_iterator row = table_rows.rbegin(); row != table_rows.rend(); ++row)
+            it->second.table->move_last_over(*row);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_CASCADEUTIL_HPP
+#define REALM_JAVA_CASCADEUTIL_HPP
+
+#include <jni.h>
+
+#include <map>
+#include <string>
+#include <vector>
+
+#include <tightdb.hpp>
+
+// The owned link and link list columns of each table, by table name (see Table.removeCascade()).
+typedef std::map<std::string, std::vector<size_t> > OwnedColumns;
+
+// Reads the owned columns passed from Java as an array of table names and an array with the
+// column indexes of each table. Throws like JStringAccessor on invalid names.
+void ReadOwnedColumns(JNIEnv* env, jobjectArray tableNames, jobjectArray columnIndexes, OwnedColumns& owned);
+
+// Reads the tables passed from Java as an array of native table pointers.
+void ReadTables(JNIEnv* env, jlongArray tablePtrs, std::vector<tightdb::TableRef>& tables);
+
+// Removes the rows of the table and, recursively, the rows linked from them through owned
+// columns. The entries of the removed rows in the full text index tables (see FullTextIndex.java)
+// are removed as well. Each row is removed by moving the last row of its table into its place.
+// The rows do not need to be sorted or unique.
+void RemoveCascade(tightdb::TableRef table, const std::vector<size_t>& rows, const OwnedColumns& owned,
+                   const std::vector<tightdb::TableRef>& full_text_indexes);
+
+#endif // REALM_JAVA_CASCADEUTIL_HPP
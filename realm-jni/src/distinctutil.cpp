@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <limits>
+#include <string>
+
+#include "distinctutil.hpp"
+#include "sortutil.hpp"
+
+using namespace tightdb;
+
+namespace {
+
+// The values of a row in the distinct columns, serialized so rows can be compared as strings.
+struct RowKey {
+    uint64_t hash;
+    std::string key;
+    size_t position;
+};
+
+struct RowKeyLess {
+    bool operator()(const RowKey* a, const RowKey* b) const
+    {
+        if (a->hash != b->hash)
+            return a->hash < b->hash;
+        int result = a->key.compare(b->key);
+        if (result != 0)
+            return result < 0;
+        return a->position < b->position;
+    }
+};
+
+template <class T>
+inline void append(std::string& key, T value)
+{
+    key.append(reinterpret_cast<const char*>(&value), sizeof(T));
+}
+
+// Floating point values are compared as values: 0.0 and -0.0 are equal, and so are all NaNs
+// whatever their payload.
+template <class T>
+inline T normalize(T value)
+{
+    if (value != value)
+        return std::numeric_limits<T>::quiet_NaN();
+    if (value == 0)
+        return 0;
+    return value;
+}
+
+// Numbers the rows of an indexed String column by the distinct value they hold. The search
+// index is walked once for the distinct values, and each value is looked up once to find its
+// rows.
+void number_by_index(Table& table, size_t col, std::vector<size_t>& numbers)
+{
+    numbers.assign(table.size(), not_found);
+    TableView values = table.get_distinct_view(col);
+    for (size_t i = 0; i < values.size(); ++i) {
+        TableView rows = table.find_all_string(col, values.get_string(col, i));
+        for (size_t j = 0; j < rows.size(); ++j)
+            numbers[rows.get_source_ndx(j)] = i;
+    }
+}
+
+// FNV-1a
+uint64_t hash_key(const std::string& key)
+{
+    uint64_t hash = 14695981039346656037ULL;
+    for (size_t i = 0; i < key.size(); ++i) {
+        hash ^= static_cast<unsigned char>(key[i]);
+        hash *= 1099511628211ULL;
+    }
+    return hash;
+}
+
+} // anonymous namespace
+
+bool IsDistinctSupported(DataType type)
+{
+    switch (type) {
+        case type_Bool:
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+        case type_String:
+        case type_Link:
+            return true;
+        default:
+            return false;
+    }
+}
+
+void DistinctView(TableView& view, const std::vector<size_t>& columns)
+{
+    Table& table = view.get_parent();
+    size_t size = view.size();
+
+    // Walking the index visits every row of the table, so it is only done when the view holds
+    // most of them. Otherwise the strings are hashed like other values.
+    bool use_index = size * 2 >= table.size();
+    std::vector<std::vector<size_t> > numbers(columns.size());
+    for (size_t j = 0; j < columns.size(); ++j) {
+        if (use_index && table.get_column_type(columns[j]) == type_String &&
+                table.has_search_index(columns[j]))
+            number_by_index(table, columns[j], numbers[j]);
+    }
+
+    std::vector<RowKey> keys(size);
+    std::vector<RowKey*> sorted(size);
+    for (size_t pos = 0; pos < size; ++pos) {
+        size_t row = view.get_source_ndx(pos);
+        std::string& key = keys[pos].key;
+        for (size_t j = 0; j < columns.size(); ++j) {
+            size_t col = columns[j];
+            switch (table.get_column_type(col)) {
+                case type_Int:
+                    append(key, table.get_int(col, row));
+                    break;
+                case type_Bool:
+                    append(key, table.get_bool(col, row));
+                    break;
+                case type_DateTime:
+                    append(key, table.get_datetime(col, row).get_datetime());
+                    break;
+                case type_Float:
+                    append(key, normalize(table.get_float(col, row)));
+                    break;
+                case type_Double:
+                    append(key, normalize(table.get_double(col, row)));
+                    break;
+                case type_Link:
+                    append(key, table.is_null_link(col, row) ? not_found : table.get_link(col, row));
+                    break;
+                case type_String: {
+                    if (!numbers[j].empty()) {
+                        append(key, numbers[j][row]);
+                    }
+                    else {
+                        StringData value = table.get_string(col, row);
+                        append(key, value.size());
+                        key.append(value.data(), value.size());
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+        keys[pos].hash = hash_key(key);
+        keys[pos].position = pos;
+        sorted[pos] = &keys[pos];
+    }
+
+    // Equal keys end up next to each other, ordered by their position in the view
+    std::sort(sorted.begin(), sorted.end(), RowKeyLess());
+    std::vector<size_t> positions;
+    for (size_t i = 0; i < size; ++i) {
+        if (i == 0 || sorted[i]->hash != sorted[i - 1]->hash || sorted[i]->key != sorted[i - 1]->key)
+            positions.push_back(sorted[i]->position);
+    }
+    std::sort(positions.begin(), positions.end());
+
+    std::vector<size_t> source_indices(positions.size());
+    for (size_t i = 0; i < positions.size(); ++i)
+        source_indices[i] = view.get_source_ndx(positions[i]);
+    SetViewRows(view, source_indices);
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_DISTINCTUTIL_HPP
+#define REALM_JAVA_DISTINCTUTIL_HPP
+
+#include <vector>
+
+#include <tightdb.hpp>
+
+// Returns true if distinct can be computed on a column of the given type.
+bool IsDistinctSupported(tightdb::DataType type);
+
+// Removes rows from the view so only the first row of each distinct combination of values in
+// the columns remains. The order of the remaining rows is kept.
+//
+// When the view holds most rows of the table, values of indexed String columns are numbered by
+// walking the search index. Other values are hashed.
+void DistinctView(tightdb::TableView& view, const std::vector<size_t>& columns);
+
+#endif // REALM_JAVA_DISTINCTUTIL_HPP
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <iterator>
+
+#include "indexexpression.hpp"
+
+using namespace tightdb;
+
+// Layout of the full text index table, see FullTextIndex.java
+#define TERM_COLUMN 0
+#define OBJECT_COLUMN 1
+
+size_t RowSetExpression::find_first(size_t start, size_t end) const
+{
+    std::vector<size_t>::const_iterator it = std::lower_bound(m_rows.begin(), m_rows.end(), start);
+    if (it != m_rows.end() && *it < end)
+        return *it;
+    return not_found;
+}
+
+void RowSetExpression::set_table()
+{
+    m_rows.clear();
+    find_rows(m_rows);
+    std::sort(m_rows.begin(), m_rows.end());
+    m_rows.erase(std::unique(m_rows.begin(), m_rows.end()), m_rows.end());
+}
+
+const Table* RowSetExpression::get_table()
+{
+    return m_table.get();
+}
+
+FullTextMatch::FullTextMatch(TableRef table, TableRef index, const std::vector<std::string>& terms) :
+    RowSetExpression(table), m_index(index), m_terms(terms)
+{
+}
+
+void FullTextMatch::find_rows(std::vector<size_t>& rows)
+{
+    for (size_t i = 0; i < m_terms.size(); ++i) {
+        // The term column has a search index, so only the entries of the term are visited
+        TableView entries = m_index->find_all_string(TERM_COLUMN, StringData(m_terms[i]));
+        std::vector<size_t> term_rows;
+        term_rows.reserve(entries.size());
+        for (size_t j = 0; j < entries.size(); ++j) {
+            size_t entry = entries.get_source_ndx(j);
+            if (!m_index->is_null_link(OBJECT_COLUMN, entry))
+                term_rows.push_back(m_index->get_link(OBJECT_COLUMN, entry));
+        }
+        std::sort(term_rows.begin(), term_rows.end());
+        term_rows.erase(std::unique(term_rows.begin(), term_rows.end()), term_rows.end());
+
+        if (i == 0) {
+            rows.swap(term_rows);
+        }
+        else {
+            std::vector<size_t> intersection;
+            std::set_intersection(rows.begin(), rows.end(), term_rows.begin(), term_rows.end(),
+                                  std::back_inserter(intersection));
+            rows.swap(intersection);
+        }
+        if (rows.empty())
+            return;
+    }
+}
+
+LinkingRows::LinkingRows(TableRef table, size_t column, const Row& target) :
+    RowSetExpression(table), m_column(column), m_target(target)
+{
+}
+
+void LinkingRows::find_rows(std::vector<size_t>& rows)
+{
+    if (!m_target.is_attached())
+        return;
+    const Table& target_table = *m_target.get_table();
+    size_t target_row = m_target.get_index();
+    // One backlink per link, so an object linking to the row more than once through a list is
+    // found more than once
+    size_t count = target_table.get_backlink_count(target_row, *m_table, m_column);
+    rows.reserve(count);
+    for (size_t i = 0; i < count; ++i)
+        rows.push_back(target_table.get_backlink(target_row, *m_table, m_column, i));
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_INDEXEXPRESSION_HPP
+#define REALM_JAVA_INDEXEXPRESSION_HPP
+
+#include <string>
+#include <vector>
+
+#include <tightdb.hpp>
+#include <tightdb/query_expression.hpp>
+
+// Base class for query conditions which look up the matching rows in a search index instead of
+// testing every row. The rows are looked up again each time the query is run (core calls
+// set_table() when the query is initialized), so a TableView built from the query stays correct
+// when it is synchronized with later changes.
+class RowSetExpression : public tightdb::Expression {
+public:
+    RowSetExpression(tightdb::TableRef table) : m_table(table) {}
+
+    size_t find_first(size_t start, size_t end) const;
+    void set_table();
+    const tightdb::Table* get_table();
+
+protected:
+    // Adds the matching rows of the table to 'rows'. They do not need to be sorted or unique.
+    virtual void find_rows(std::vector<size_t>& rows) = 0;
+
+    tightdb::TableRef m_table;
+
+private:
+    std::vector<size_t> m_rows; // sorted
+};
+
+// Rows containing all terms according to a full text index table (see FullTextIndex.java).
+class FullTextMatch : public RowSetExpression {
+public:
+    FullTextMatch(tightdb::TableRef table, tightdb::TableRef index, const std::vector<std::string>& terms);
+
+protected:
+    void find_rows(std::vector<size_t>& rows);
+
+private:
+    tightdb::TableRef m_index;
+    std::vector<std::string> m_terms;
+};
+
+// Rows linking to a target row through a link or link list column. They are found through the
+// backlinks of the target row. The row accessor follows the target row when rows are moved, and
+// no rows match once it has been deleted.
+class LinkingRows : public RowSetExpression {
+public:
+    LinkingRows(tightdb::TableRef table, size_t column, const tightdb::Row& target);
+
+protected:
+    void find_rows(std::vector<size_t>& rows);
+
+private:
+    size_t m_column;
+    tightdb::Row m_target;
+};
+
+#endif // REALM_JAVA_INDEXEXPRESSION_HPP
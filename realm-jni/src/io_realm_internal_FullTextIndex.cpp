@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "io_realm_internal_FullTextIndex.h"
+#include "util.hpp"
+
+using namespace tightdb;
+
+// Layout of the index table, see FullTextIndex.java
+#define TERM_COLUMN 0
+#define OBJECT_COLUMN 1
+
+JNIEXPORT void JNICALL Java_io_realm_internal_FullTextIndex_nativeUpdate
+  (JNIEnv* env, jclass, jlong nativeIndexTablePtr, jlong rowIndex, jobjectArray removed, jobjectArray added)
+{
+    Table* pIndex = TBL(nativeIndexTablePtr);
+    if (!TABLE_VALID(env, pIndex))
+        return;
+    try {
+        jsize removed_len = env->GetArrayLength(removed);
+        for (jsize i = 0; i < removed_len; ++i) {
+            jstring term = static_cast<jstring>(env->GetObjectArrayElement(removed, i));
+            JStringAccessor term2(env, term);
+            TableView entries = pIndex->find_all_string(TERM_COLUMN, term2);
+            // Remove from the end so the remaining source rows are unaffected
+            for (size_t j = entries.size(); j > 0; --j) {
+                size_t entry = entries.get_source_ndx(j - 1);
+                if (!pIndex->is_null_link(OBJECT_COLUMN, entry) &&
+                        pIndex->get_link(OBJECT_COLUMN, entry) == S(rowIndex)) {
+                    pIndex->remove(entry);
+                }
+            }
+            env->DeleteLocalRef(term);
+        }
+
+        jsize added_len = env->GetArrayLength(added);
+        for (jsize i = 0; i < added_len; ++i) {
+            jstring term = static_cast<jstring>(env->GetObjectArrayElement(added, i));
+            JStringAccessor term2(env, term);
+            size_t entry = pIndex->add_empty_row();
+            pIndex->set_string(TERM_COLUMN, entry, term2);
+            pIndex->set_link(OBJECT_COLUMN, entry, S(rowIndex));
+            env->DeleteLocalRef(term);
+        }
+    } CATCH_STD()
+}
@@ -0,0 +1,25 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class io_realm_internal_FullTextIndex */
+
+#ifndef _Included_io_realm_internal_FullTextIndex
+#define _Included_io_realm_internal_FullTextIndex
+#ifdef __cplusplus
+extern "C" {
+#endif
+#undef io_realm_internal_FullTextIndex_TERM_COLUMN_INDEX
+#define io_realm_internal_FullTextIndex_TERM_COLUMN_INDEX 0LL
+#undef io_realm_internal_FullTextIndex_OBJECT_COLUMN_INDEX
+#define io_realm_internal_FullTextIndex_OBJECT_COLUMN_INDEX 1LL
+/*
+ * Class:     io_realm_internal_FullTextIndex
+ * Method:    nativeUpdate
+ * Signature: (JJ[Ljava/lang/String;[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_FullTextIndex_nativeUpdate
+  (JNIEnv *, jclass, jlong, jlong, jobjectArray, jobjectArray);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
@@ -57,6 +57,70 @@ JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeAdd
 }
 
 
+// Checks that all the row indexes are in the target table before any of them are added
+static bool row_indexes_valid(JNIEnv* env, LinkView* lv, jlong* indexes, jsize count)
+{
+    size_t target_size = lv->get_target_table().size();
+    for (jsize i = 0; i < count; ++i) {
+        if (indexes[i] < 0 || S(indexes[i]) >= target_size) {
+            ThrowException(env, IndexOutOfBounds,
+                "Row index " + num_to_string(indexes[i]) + " is not in the target table of size " +
+                num_to_string(target_size) + ".");
+            return false;
+        }
+    }
+    return true;
+}
+
+
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeAddAll
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlongArray rowIndexes)
+{
+    jsize count = env->GetArrayLength(rowIndexes);
+    jlong* indexes = env->GetLongArrayElements(rowIndexes, NULL);
+    try {
+        LinkView* lv = LV(nativeLinkViewPtr);
+        if (row_indexes_valid(env, lv, indexes, count)) {
+            for (jsize i = 0; i < count; ++i) {
+                lv->add( S(indexes[i]) );
+            }
+        }
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(rowIndexes, indexes, JNI_ABORT);
+}
+
+
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeSetAll
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlongArray rowIndexes)
+{
+    jsize count = env->GetArrayLength(rowIndexes);
+    jlong* indexes = env->GetLongArrayElements(rowIndexes, NULL);
+    try {
+        LinkView* lv = LV(nativeLinkViewPtr);
+        if (row_indexes_valid(env, lv, indexes, count)) {
+            lv->clear();
+            for (jsize i = 0; i < count; ++i) {
+                lv->add( S(indexes[i]) );
+            }
+        }
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(rowIndexes, indexes, JNI_ABORT);
+}
+
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeFind
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong rowIndex)
+{
+    try {
+        LinkView* lv = LV(nativeLinkViewPtr);
+        if (rowIndex < 0 || S(rowIndex) >= lv->get_target_table().size())
+            return -1;
+        return to_jlong_or_not_found( lv->find( S(rowIndex) ) );
+    } CATCH_STD()
+    return -1;
+}
+
+
 JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeInsert
   (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong pos, jlong rowIndex)
 {
@@ -99,6 +163,26 @@ JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeRemove
 }
 
 
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeRemoveRange
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong fromPos, jlong toPos)
+{
+    try {
+        LinkView* lv = LV(nativeLinkViewPtr);
+        size_t size = lv->size();
+        if (fromPos < 0 || toPos < fromPos || S(toPos) > size) {
+            ThrowException(env, IndexOutOfBounds,
+                "Range must be within [0, " + num_to_string(size) + "]. " +
+                "Yours was [" + num_to_string(fromPos) + "," + num_to_string(toPos) + "[");
+            return;
+        }
+        // Removing from the end moves the fewest links
+        for (size_t i = S(toPos); i > S(fromPos); --i) {
+            lv->remove(i - 1);
+        }
+    } CATCH_STD()
+}
+
+
 JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeClear
   (JNIEnv* env, jobject, jlong nativeLinkViewPtr)
 {
@@ -210,6 +210,18 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Row_nativeSetLong
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_Row_nativeAddLong
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jlong delta, jint bits)
+{
+    if (!ROW_AND_COL_INDEX_AND_TYPE_VALID(env, ROW(nativeRowPtr), columnIndex, type_Int))
+        return;
+
+    try {
+        Row* row = ROW(nativeRowPtr);
+        row->set_int( S(columnIndex), AddWrapped(row->get_int( S(columnIndex) ), delta, bits));
+    } CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_Row_nativeSetBoolean
   (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex, jboolean value)
 {
@@ -151,6 +151,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Row_nativeGetLinkView
 JNIEXPORT void JNICALL Java_io_realm_internal_Row_nativeSetLong
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Row
+ * Method:    nativeAddLong
+ * Signature: (JJJI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Row_nativeAddLong
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint);
+
 /*
  * Class:     io_realm_internal_Row
  * Method:    nativeSetBoolean
@@ -169,6 +169,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeRemoveLast
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeMoveLastOver
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeRemoveCascade
+ * Signature: (J[J[Ljava/lang/String;[[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeRemoveCascade
+  (JNIEnv *, jobject, jlong, jlongArray, jobjectArray, jobjectArray, jlongArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeAddEmptyRow
@@ -476,10 +484,66 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLink
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeAddInt
- * Signature: (JJJ)V
+ * Signature: (JJJI)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeAddInt
-  (JNIEnv *, jobject, jlong, jlong, jlong);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLongs
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetBooleans
+ * Signature: (JJJ[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlong, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetFloats
+ * Signature: (JJJ[F)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlong, jfloatArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDoubles
+ * Signature: (JJJ[D)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlong, jdoubleArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDates
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetStrings
+ * Signature: (JJJ[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings
+  (JNIEnv *, jobject, jlong, jlong, jlong, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetByteArrays
+ * Signature: (JJJ[[B)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteArrays
+  (JNIEnv *, jobject, jlong, jlong, jlong, jobjectArray);
 
 /*
  * Class:     io_realm_internal_Table
@@ -17,6 +17,8 @@
 #include "util.hpp"
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
+#include "indexexpression.hpp"
+#include "cascadeutil.hpp"
 
 using namespace tightdb;
 
@@ -706,6 +708,49 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeBeginsWith(
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeMatchesFullText(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong nativeIndexTablePtr, jobjectArray terms)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, pQuery) || !TABLE_VALID(env, TBL(nativeIndexTablePtr)))
+        return;
+    try {
+        std::vector<std::string> terms2;
+        jsize terms_len = env->GetArrayLength(terms);
+        for (jsize i = 0; i < terms_len; ++i) {
+            jstring term = static_cast<jstring>(env->GetObjectArrayElement(terms, i));
+            JStringAccessor term2(env, term); // throws
+            StringData data = term2;
+            terms2.push_back(std::string(data.data(), data.size()));
+            env->DeleteLocalRef(term);
+        }
+        pQuery->expression(new FullTextMatch(pQuery->get_table(), TBL(nativeIndexTablePtr)->get_table_ref(), terms2), true);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLinkingTo(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jlong nativeRowPtr)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, pQuery) || !ROW_VALID(env, ROW(nativeRowPtr)))
+        return;
+    try {
+        TableRef table = pQuery->get_table();
+        if (columnIndex < 0 || S(columnIndex) >= table->get_column_count()) {
+            ThrowException(env, IndexOutOfBounds, "columnIndex " + num_to_string(columnIndex) + ".");
+            return;
+        }
+        DataType type = table->get_column_type(S(columnIndex));
+        if ((type != type_Link && type != type_LinkList) ||
+                table->get_link_target(S(columnIndex)).get() != ROW(nativeRowPtr)->get_table()) {
+            ThrowException(env, IllegalArgument, "The column does not link to the table of the row.");
+            return;
+        }
+        // The rows are found through the backlinks of the row instead of testing the links of every row
+        pQuery->expression(new LinkingRows(table, S(columnIndex), *ROW(nativeRowPtr)), true);
+    } CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeEndsWith(
     JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jstring value, jboolean caseSensitive)
 {
@@ -742,7 +787,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeTableview(
     if (!QUERY_VALID(env, pQuery))
         return;
     try {
-        pQuery->get_table()->where(TV(nativeTableViewPtr));
+        pQuery->tableview(*TV(nativeTableViewPtr));
     } CATCH_STD()
 }
 
@@ -1128,3 +1173,26 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemove(
     } CATCH_STD()
     return 0;
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemoveCascade(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jobjectArray ownerTableNames, jobjectArray ownedColumnIndexes,
+    jlongArray fullTextIndexPtrs)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, pQuery))
+        return 0;
+    try {
+        OwnedColumns owned;
+        ReadOwnedColumns(env, ownerTableNames, ownedColumnIndexes, owned);
+        std::vector<TableRef> full_text_indexes;
+        ReadTables(env, fullTextIndexPtrs, full_text_indexes);
+        TableView view = pQuery->find_all();
+        std::vector<size_t> rows;
+        rows.reserve(view.size());
+        for (size_t i = 0; i < view.size(); ++i)
+            rows.push_back(view.get_source_ndx(i));
+        RemoveCascade(pQuery->get_table(), rows, owned, full_text_indexes);
+        return static_cast<jlong>(rows.size());
+    } CATCH_STD()
+    return 0;
+}
@@ -327,6 +327,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeNotEqual__J_3JLja
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeBeginsWith
   (JNIEnv *, jobject, jlong, jlong, jstring, jboolean);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeMatchesFullText
+ * Signature: (JJ[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeMatchesFullText
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeLinkingTo
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLinkingTo
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeEndsWith
@@ -487,6 +503,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCount
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemove
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeRemoveCascade
+ * Signature: (J[Ljava/lang/String;[[J[J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemoveCascade
+  (JNIEnv *, jobject, jlong, jobjectArray, jobjectArray, jlongArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -239,6 +239,62 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetMixed
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetLink
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetLongForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetLongForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetBooleanForAll
+ * Signature: (JJZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetBooleanForAll
+  (JNIEnv *, jobject, jlong, jlong, jboolean);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetFloatForAll
+ * Signature: (JJF)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetFloatForAll
+  (JNIEnv *, jobject, jlong, jlong, jfloat);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetDoubleForAll
+ * Signature: (JJD)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDoubleForAll
+  (JNIEnv *, jobject, jlong, jlong, jdouble);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetDateTimeValueForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDateTimeValueForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetStringForAll
+ * Signature: (JJLjava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetStringForAll
+  (JNIEnv *, jobject, jlong, jlong, jstring);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetByteArrayForAll
+ * Signature: (JJ[B)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetByteArrayForAll
+  (JNIEnv *, jobject, jlong, jlong, jbyteArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeIsNullLink
@@ -258,10 +314,10 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeNullifyLink
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeAddInt
- * Signature: (JJJ)V
+ * Signature: (JJJI)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeAddInt
-  (JNIEnv *, jobject, jlong, jlong, jlong);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint);
 
 /*
  * Class:     io_realm_internal_TableView
@@ -271,6 +327,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeAddInt
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeClear
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeRemoveCascade
+ * Signature: (J[Ljava/lang/String;[[J[J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeRemoveCascade
+  (JNIEnv *, jobject, jlong, jobjectArray, jobjectArray, jlongArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeRemoveRow
@@ -503,6 +567,38 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti
   (JNIEnv *, jobject, jlong, jlongArray, jbooleanArray);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSortByLinks
+ * Signature: (J[[J[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortByLinks
+  (JNIEnv *, jobject, jlong, jobjectArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetColumnStrings
+ * Signature: (JJ)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGetColumnStrings
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeReorder
+ * Signature: (J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeReorder
+  (JNIEnv *, jobject, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeDistinctMulti
+ * Signature: (J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeDistinctMulti
+  (JNIEnv *, jobject, jlong, jlongArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    createNativeTableView
@@ -15,10 +15,12 @@
  */
 
 #include <sstream>
+#include <vector>
 
 #include "util.hpp"
 #include "mixedutil.hpp"
 #include "io_realm_internal_Table.h"
+#include "cascadeutil.hpp"
 #include "columntypeutil.hpp"
 #include "TableSpecUtil.hpp"
 #include "java_lang_List_Util.hpp"
@@ -302,6 +304,38 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeMoveLastOver
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeRemoveCascade
+  (JNIEnv *env, jobject, jlong nativeTablePtr, jlongArray rowIndexes, jobjectArray ownerTableNames,
+   jobjectArray ownedColumnIndexes, jlongArray fullTextIndexPtrs)
+{
+    if (!TABLE_VALID(env, TBL(nativeTablePtr)))
+        return;
+    try {
+        OwnedColumns owned;
+        ReadOwnedColumns(env, ownerTableNames, ownedColumnIndexes, owned);
+        vector<TableRef> full_text_indexes;
+        ReadTables(env, fullTextIndexPtrs, full_text_indexes);
+
+        TableRef table = TBL(nativeTablePtr)->get_table_ref();
+        jsize row_count = env->GetArrayLength(rowIndexes);
+        jlong* rows = env->GetLongArrayElements(rowIndexes, NULL);
+        vector<size_t> rows2;
+        rows2.reserve(row_count);
+        for (jsize i = 0; i < row_count; ++i) {
+            jlong row = rows[i];
+            if (row < 0 || S(row) >= table->size()) {
+                env->ReleaseLongArrayElements(rowIndexes, rows, JNI_ABORT);
+                ThrowException(env, IndexOutOfBounds, "rowIndex " + num_to_string(row) + ".");
+                return;
+            }
+            rows2.push_back(S(row));
+        }
+        env->ReleaseLongArrayElements(rowIndexes, rows, JNI_ABORT);
+
+        RemoveCascade(table, rows2, owned, full_text_indexes);
+    } CATCH_STD()
+}
+
 
 // ----------------- Insert cell
 
@@ -688,7 +722,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeInsertByteArray(
 
 
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeAddInt(
-    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong value)
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong value, jint bits)
 {
     Table* pTable = TBL(nativeTablePtr);
     if (!TBL_AND_COL_INDEX_VALID(env, pTable, columnIndex))
@@ -698,7 +732,139 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeAddInt(
         return;
     }
     try {
-        TBL(nativeTablePtr)->add_int( S(columnIndex), value);
+        // Not core's add_int(), which does a signed add and does not wrap narrow fields
+        size_t col = S(columnIndex);
+        size_t size = pTable->size();
+        for (size_t i = 0; i < size; ++i)
+            pTable->set_int(col, i, AddWrapped(pTable->get_int(col, i), value, bits));
+    } CATCH_STD()
+}
+
+// Setting the values of consecutive rows in one column, in a single JNI call
+
+static bool row_range_valid(JNIEnv* env, Table* pTable, jlong rowIndex, jsize count)
+{
+    if (rowIndex < 0 || S(rowIndex) + S(count) > pTable->size()) {
+        ThrowException(env, IndexOutOfBounds,
+            "Rows " + num_to_string(rowIndex) + " to " + num_to_string(rowIndex + count) +
+            " are not in the table of size " + num_to_string(pTable->size()) + ".");
+        return false;
+    }
+    return true;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jlongArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Int) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    jlong* values2 = env->GetLongArrayElements(values, NULL);
+    try {
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_int( S(columnIndex), S(rowIndex) + i, values2[i]);
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(values, values2, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jbooleanArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Bool) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    jboolean* values2 = env->GetBooleanArrayElements(values, NULL);
+    try {
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_bool( S(columnIndex), S(rowIndex) + i, values2[i] != 0 ? true : false);
+    } CATCH_STD()
+    env->ReleaseBooleanArrayElements(values, values2, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jfloatArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Float) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    jfloat* values2 = env->GetFloatArrayElements(values, NULL);
+    try {
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_float( S(columnIndex), S(rowIndex) + i, values2[i]);
+    } CATCH_STD()
+    env->ReleaseFloatArrayElements(values, values2, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jdoubleArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Double) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    jdouble* values2 = env->GetDoubleArrayElements(values, NULL);
+    try {
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_double( S(columnIndex), S(rowIndex) + i, values2[i]);
+    } CATCH_STD()
+    env->ReleaseDoubleArrayElements(values, values2, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jlongArray dateTimeValues)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(dateTimeValues);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_DateTime) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    jlong* values2 = env->GetLongArrayElements(dateTimeValues, NULL);
+    try {
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_datetime( S(columnIndex), S(rowIndex) + i, values2[i]);
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(dateTimeValues, values2, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jobjectArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_String) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    try {
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            JStringAccessor value2(env, value); // throws
+            pTable->set_string( S(columnIndex), S(rowIndex) + i, value2);
+            env->DeleteLocalRef(value);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteArrays(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jobjectArray values)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    jsize count = env->GetArrayLength(values);
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, pTable, columnIndex, type_Binary) ||
+        !row_range_valid(env, pTable, rowIndex, count))
+        return;
+    try {
+        for (jsize i = 0; i < count; ++i) {
+            jbyteArray value = static_cast<jbyteArray>(env->GetObjectArrayElement(values, i));
+            tbl_nativeDoByteArray(&Table::set_binary, pTable, env, columnIndex, rowIndex + i, value);
+            env->DeleteLocalRef(value);
+        }
     } CATCH_STD()
 }
 
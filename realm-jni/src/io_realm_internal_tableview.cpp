@@ -19,6 +19,9 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "sortutil.hpp"
+#include "distinctutil.hpp"
+#include "cascadeutil.hpp"
 #include <ostream>
 
 using namespace tightdb;
@@ -414,6 +417,119 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetByteArray(
     } CATCH_STD()
 }
 
+// Setting one value in all rows of the view, in a single JNI call
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetLongForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Int))
+            return;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_int( S(columnIndex), i, value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetBooleanForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jboolean value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Bool))
+            return;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_bool( S(columnIndex), i, value != 0 ? true : false);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetFloatForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jfloat value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Float))
+            return;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_float( S(columnIndex), i, value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDoubleForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jdouble value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Double))
+            return;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_double( S(columnIndex), i, value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDateTimeValueForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong dateTimeValue)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_DateTime))
+            return;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_datetime( S(columnIndex), i, dateTimeValue);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetStringForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jstring value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_String))
+            return;
+        JStringAccessor value2(env, value);  // throws
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_string( S(columnIndex), i, value2);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetByteArrayForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jbyteArray byteArray)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Binary))
+            return;
+        jbyte* bytePtr = env->GetByteArrayElements(byteArray, NULL);
+        if (!bytePtr) {
+            ThrowException(env, IllegalArgument, "doByteArray");
+            return;
+        }
+        BinaryData data(reinterpret_cast<char*>(bytePtr), S(env->GetArrayLength(byteArray)));
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        try {
+            for (size_t i = 0; i < size; ++i)
+                tv->set_binary( S(columnIndex), i, data);
+        } catch (...) {
+            env->ReleaseByteArrayElements(byteArray, bytePtr, JNI_ABORT);
+            throw;
+        }
+        env->ReleaseByteArrayElements(byteArray, bytePtr, JNI_ABORT);
+    } CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetMixed(
     JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong rowIndex, jobject jMixedValue)
 {
@@ -460,13 +576,18 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeNullifyLink
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeAddInt(
-    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong value)
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong value, jint bits)
 {
     try {
         if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
-            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Int))
             return;
-        TV(nativeViewPtr)->add_int( S(columnIndex), value);
+        // Not core's add_int(), which does a signed add and does not wrap narrow fields
+        TableView* tv = TV(nativeViewPtr);
+        size_t col = S(columnIndex);
+        size_t size = tv->size();
+        for (size_t i = 0; i < size; ++i)
+            tv->set_int(col, i, AddWrapped(tv->get_int(col, i), value, bits));
     } CATCH_STD()
 }
 
@@ -481,6 +602,28 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeClear(
     } CATCH_STD()
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeRemoveCascade(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jobjectArray ownerTableNames, jobjectArray ownedColumnIndexes,
+    jlongArray fullTextIndexPtrs)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return 0;
+        OwnedColumns owned;
+        ReadOwnedColumns(env, ownerTableNames, ownedColumnIndexes, owned);
+        std::vector<TableRef> full_text_indexes;
+        ReadTables(env, fullTextIndexPtrs, full_text_indexes);
+        TableView* tv = TV(nativeViewPtr);
+        std::vector<size_t> rows;
+        rows.reserve(tv->size());
+        for (size_t i = 0; i < tv->size(); ++i)
+            rows.push_back(tv->get_source_ndx(i));
+        RemoveCascade(tv->get_parent().get_table_ref(), rows, owned, full_text_indexes);
+        return static_cast<jlong>(rows.size());
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeRemoveRow(
     JNIEnv* env, jobject, jlong nativeViewPtr, jlong rowIndex)
 {
@@ -904,6 +1047,104 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti(
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortByLinks(
+  JNIEnv* env, jobject, jlong nativeViewPtr, jobjectArray columnIndices, jbooleanArray ascending)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        std::vector<SortKey> keys;
+        if (!GetSortKeys(env, TV(nativeViewPtr), columnIndices, ascending, keys))
+            return;
+        SortViewByKeys(*TV(nativeViewPtr), keys);
+    } CATCH_STD()
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_TableView_nativeGetColumnStrings(
+  JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_String))
+            return NULL;
+
+        TableView* tv = TV(nativeViewPtr);
+        jclass stringClass = env->FindClass("java/lang/String");
+        if (stringClass == NULL)
+            return NULL;
+        size_t size = tv->size();
+        jobjectArray values = env->NewObjectArray(static_cast<jsize>(size), stringClass, NULL);
+        if (values == NULL)
+            return NULL;
+        for (size_t i = 0; i < size; ++i) {
+            jstring value = to_jstring(env, tv->get_string(S(columnIndex), i));
+            env->SetObjectArrayElement(values, static_cast<jsize>(i), value);
+            env->DeleteLocalRef(value);
+        }
+        return values;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeReorder(
+  JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray positions)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        if (S(env->GetArrayLength(positions)) != size) {
+            ThrowException(env, IllegalArgument, "The new order must contain all rows of the view.");
+            return;
+        }
+
+        jlong* long_arr = env->GetLongArrayElements(positions, NULL);
+        std::vector<size_t> source_indices(size);
+        for (size_t i = 0; i < size; ++i) {
+            if (long_arr[i] < 0 || S(long_arr[i]) >= size) {
+                env->ReleaseLongArrayElements(positions, long_arr, JNI_ABORT);
+                ThrowException(env, IndexOutOfBounds, "Row position out of range.");
+                return;
+            }
+            source_indices[i] = tv->get_source_ndx(S(long_arr[i]));
+        }
+        env->ReleaseLongArrayElements(positions, long_arr, JNI_ABORT);
+        ReorderView(*tv, source_indices);
+    } CATCH_STD()
+}
+
+// distinct
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeDistinctMulti(
+  JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray columnIndices)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        jsize arr_len = env->GetArrayLength(columnIndices);
+        jlong* long_arr = env->GetLongArrayElements(columnIndices, NULL);
+        std::vector<size_t> columns;
+        for (jsize i = 0; i < arr_len; ++i) {
+            if (!COL_INDEX_VALID(env, TV(nativeViewPtr), long_arr[i])) {
+                env->ReleaseLongArrayElements(columnIndices, long_arr, JNI_ABORT);
+                return;
+            }
+            if (!IsDistinctSupported(TV(nativeViewPtr)->get_column_type(S(long_arr[i])))) {
+                env->ReleaseLongArrayElements(columnIndices, long_arr, JNI_ABORT);
+                ThrowException(env, IllegalArgument, "Distinct is currently only supported on integer, float, double, boolean, Date, String and object columns.");
+                return;
+            }
+            columns.push_back(S(long_arr[i]));
+        }
+        env->ReleaseLongArrayElements(columnIndices, long_arr, JNI_ABORT);
+        DistinctView(*TV(nativeViewPtr), columns);
+    } CATCH_STD()
+}
+
 JNIEXPORT jstring JNICALL Java_io_realm_internal_TableView_nativeToJson(
     JNIEnv *env, jobject, jlong nativeViewPtr)
 {
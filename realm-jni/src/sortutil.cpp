@@ -0,0 +1,259 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <algorithm>
+#include <stdexcept>
+
+#include <tightdb/version.hpp>
+
+#include "util.hpp"
+#include "sortutil.hpp"
+
+// RowIndexesAccess below depends on the layout of TableView in the core release pinned by
+// ext.coreVersion in realm-jni/build.gradle. Check it again before changing that version.
+#if TIGHTDB_VER_MAJOR != 0 || TIGHTDB_VER_MINOR != 88
+#error "RowIndexesAccess has only been checked against core 0.88, see sortutil.cpp"
+#endif
+
+using namespace tightdb;
+
+namespace {
+
+// A sort key where the link path has been followed for every row in the view.
+struct ResolvedKey {
+    TableRef table;
+    size_t column;
+    DataType type;
+    bool ascending;
+    std::vector<size_t> rows; // Target row for each position in the view, or not_found
+};
+
+template <class T>
+inline int compare(T a, T b)
+{
+    return (a < b) ? -1 : ((b < a) ? 1 : 0);
+}
+
+int compare_rows(const ResolvedKey& key, size_t a, size_t b)
+{
+    const Table& table = *key.table;
+    switch (key.type) {
+        case type_Int:
+            return compare(table.get_int(key.column, a), table.get_int(key.column, b));
+        case type_Bool:
+            return compare(table.get_bool(key.column, a), table.get_bool(key.column, b));
+        case type_DateTime:
+            return compare(table.get_datetime(key.column, a).get_datetime(),
+                           table.get_datetime(key.column, b).get_datetime());
+        case type_Float:
+            return compare(table.get_float(key.column, a), table.get_float(key.column, b));
+        case type_Double:
+            return compare(table.get_double(key.column, a), table.get_double(key.column, b));
+        case type_String:
+            return compare(table.get_string(key.column, a), table.get_string(key.column, b));
+        default:
+            return 0;
+    }
+}
+
+class KeyComparator {
+public:
+    KeyComparator(const std::vector<ResolvedKey>& keys) : m_keys(keys) {}
+
+    bool operator()(size_t a, size_t b) const
+    {
+        for (size_t i = 0; i < m_keys.size(); ++i) {
+            const ResolvedKey& key = m_keys[i];
+            size_t row_a = key.rows[a];
+            size_t row_b = key.rows[b];
+            int result;
+            if (row_a == not_found || row_b == not_found) {
+                // Null links are ordered first
+                result = (row_a == row_b) ? 0 : (row_a == not_found ? -1 : 1);
+            }
+            else {
+                result = compare_rows(key, row_a, row_b);
+            }
+            if (result != 0)
+                return key.ascending ? result < 0 : result > 0;
+        }
+        return false;
+    }
+
+private:
+    const std::vector<ResolvedKey>& m_keys;
+};
+
+bool is_sortable(DataType type)
+{
+    switch (type) {
+        case type_Bool:
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+        case type_String:
+            return true;
+        default:
+            return false;
+    }
+}
+
+// TableView has no public way to set its rows in core 0.88. The row indexes are reached through
+// a pointer to the protected member, which is allowed from a derived class. The pointer is typed,
+// so a rename or a change of the member's type breaks the build rather than the views.
+//
+// Only the row indexes are written. Everything else core keeps for the view (its query, sort
+// order and version for sync_if_needed()) is left as it is, so a sync re-runs the original query
+// and Java re-applies its operations on the view afterwards (see TableView.java). The indexes
+// written must be rows of the parent table, which ReorderView() and SetViewRows() check.
+struct RowIndexesAccess : public TableView {
+    static Column& get(TableView& view)
+    {
+        Column TableView::* const row_indexes = &RowIndexesAccess::m_row_indexes;
+        return view.*row_indexes;
+    }
+};
+
+} // anonymous namespace
+
+bool GetSortKeys(JNIEnv* env, TableView* pView, jobjectArray columnIndices,
+                 jbooleanArray ascending, std::vector<SortKey>& keys)
+{
+    jsize keys_len = env->GetArrayLength(columnIndices);
+    if (keys_len != env->GetArrayLength(ascending)) {
+        ThrowException(env, IllegalArgument, "Number of column indices and sort orders do not match.");
+        return false;
+    }
+
+    jboolean* bool_arr = env->GetBooleanArrayElements(ascending, NULL);
+    bool valid = true;
+    for (jsize i = 0; i < keys_len && valid; ++i) {
+        jlongArray path = static_cast<jlongArray>(env->GetObjectArrayElement(columnIndices, i));
+        jsize path_len = env->GetArrayLength(path);
+        jlong* long_arr = env->GetLongArrayElements(path, NULL);
+
+        SortKey key;
+        key.ascending = B(bool_arr[i]);
+        Table* table = &pView->get_parent();
+        TableRef target;
+        for (jsize j = 0; j < path_len && valid; ++j) {
+            if (!COL_INDEX_VALID(env, table, long_arr[j])) {
+                valid = false;
+                break;
+            }
+            DataType type = table->get_column_type(S(long_arr[j]));
+            if (j < path_len - 1) {
+                if (type == type_LinkList) {
+                    ThrowException(env, IllegalArgument, "Sorting using RealmList properties is not supported.");
+                    valid = false;
+                }
+                else if (type != type_Link) {
+                    ThrowException(env, IllegalArgument, "Only link columns can be followed when sorting.");
+                    valid = false;
+                }
+                else {
+                    key.link_path.push_back(S(long_arr[j]));
+                    target = table->get_link_target(S(long_arr[j]));
+                    table = &*target;
+                }
+            }
+            else if (!is_sortable(type)) {
+                ThrowException(env, IllegalArgument, "Sort is currently only supported on integer, float, double, boolean, Date, and String columns.");
+                valid = false;
+            }
+            else {
+                key.column = S(long_arr[j]);
+            }
+        }
+        if (path_len == 0) {
+            ThrowException(env, IllegalArgument, "A column must be given for each sort order.");
+            valid = false;
+        }
+        env->ReleaseLongArrayElements(path, long_arr, JNI_ABORT);
+        env->DeleteLocalRef(path);
+        if (valid)
+            keys.push_back(key);
+    }
+    env->ReleaseBooleanArrayElements(ascending, bool_arr, JNI_ABORT);
+    return valid;
+}
+
+void SortViewByKeys(TableView& view, const std::vector<SortKey>& keys)
+{
+    size_t size = view.size();
+    std::vector<ResolvedKey> resolved(keys.size());
+    for (size_t i = 0; i < keys.size(); ++i) {
+        const SortKey& key = keys[i];
+        ResolvedKey& r = resolved[i];
+        r.column = key.column;
+        r.ascending = key.ascending;
+        r.rows.resize(size);
+
+        // All rows follow the same link columns, so the target table is only looked up once
+        r.table = view.get_parent().get_table_ref();
+        for (size_t j = 0; j < key.link_path.size(); ++j)
+            r.table = r.table->get_link_target(key.link_path[j]);
+        r.type = r.table->get_column_type(key.column);
+
+        for (size_t pos = 0; pos < size; ++pos) {
+            size_t row = view.get_source_ndx(pos);
+            Table* table = &view.get_parent();
+            for (size_t j = 0; j < key.link_path.size(); ++j) {
+                size_t col = key.link_path[j];
+                if (table->is_null_link(col, row)) {
+                    row = not_found;
+                    break;
+                }
+                row = table->get_link(col, row);
+                table = &*table->get_link_target(col);
+            }
+            r.rows[pos] = row;
+        }
+    }
+
+    std::vector<size_t> positions(size);
+    for (size_t pos = 0; pos < size; ++pos)
+        positions[pos] = pos;
+    std::stable_sort(positions.begin(), positions.end(), KeyComparator(resolved));
+
+    std::vector<size_t> source_indices(size);
+    for (size_t pos = 0; pos < size; ++pos)
+        source_indices[pos] = view.get_source_ndx(positions[pos]);
+    ReorderView(view, source_indices);
+}
+
+void ReorderView(TableView& view, const std::vector<size_t>& sourceIndices)
+{
+    if (sourceIndices.size() != view.size())
+        throw std::logic_error("The new order of the view has a different number of rows.");
+    Column& row_indexes = RowIndexesAccess::get(view);
+    for (size_t i = 0; i < sourceIndices.size(); ++i)
+        row_indexes.set(i, sourceIndices[i]);
+}
+
+void SetViewRows(TableView& view, const std::vector<size_t>& sourceIndices)
+{
+    size_t parent_size = view.get_parent().size();
+    for (size_t i = 0; i < sourceIndices.size(); ++i) {
+        if (sourceIndices[i] >= parent_size)
+            throw std::logic_error("The rows of a view must be rows of its table.");
+    }
+    Column& row_indexes = RowIndexesAccess::get(view);
+    row_indexes.clear();
+    for (size_t i = 0; i < sourceIndices.size(); ++i)
+        row_indexes.add(sourceIndices[i]);
+}
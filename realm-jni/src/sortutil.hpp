@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_SORTUTIL_HPP
+#define REALM_JAVA_SORTUTIL_HPP
+
+#include <vector>
+
+#include <jni.h>
+#include <tightdb.hpp>
+
+// A sort key is a column reached from the rows of a view by following zero or more
+// link columns. Rows where one of the links is null are ordered before all other rows.
+struct SortKey {
+    std::vector<size_t> link_path; // Link columns to follow, starting in the parent table of the view
+    size_t column;                 // Column to compare in the last table of the path
+    bool ascending;
+};
+
+// Builds sort keys from a Java long[][] (each array being a link path ending with the column
+// to sort by) and a boolean[] of sort orders. Throws in Java and returns false if invalid.
+bool GetSortKeys(JNIEnv* env, tightdb::TableView* pView, jobjectArray columnIndices,
+                 jbooleanArray ascending, std::vector<SortKey>& keys);
+
+// Stable sort of the rows in the view according to the keys.
+void SortViewByKeys(tightdb::TableView& view, const std::vector<SortKey>& keys);
+
+// Replaces the row order of the view. The new order must contain the same source rows.
+// Throws std::logic_error if the number of rows differs.
+void ReorderView(tightdb::TableView& view, const std::vector<size_t>& sourceIndices);
+
+// Replaces the rows of the view with the given source rows, which might be fewer than before.
+// Throws std::logic_error if one of them is not a row of the parent table.
+void SetViewRows(tightdb::TableView& view, const std::vector<size_t>& sourceIndices);
+
+#endif // REALM_JAVA_SORTUTIL_HPP
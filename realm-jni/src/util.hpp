@@ -425,6 +425,21 @@ inline bool TblIndexAndTypeInsertValid(JNIEnv* env, T* pTable, jlong columnIndex
 
 bool GetBinaryData(JNIEnv* env, jobject jByteBuffer, tightdb::BinaryData& data);
 
+// Adds delta to value the way Java adds integers of the given size (1 to 64 bits). Signed
+// overflow is undefined, so the sum is done unsigned, where it wraps around. The result is then
+// sign extended from the given size, like a cast of a Java long to int, short or byte.
+inline int64_t AddWrapped(int64_t value, int64_t delta, jint bits)
+{
+    uint64_t sum = static_cast<uint64_t>(value) + static_cast<uint64_t>(delta);
+    if (bits < 64) {
+        uint64_t mask = (uint64_t(1) << bits) - 1;
+        sum &= mask;
+        if (sum & (uint64_t(1) << (bits - 1)))
+            sum |= ~mask;
+    }
+    return static_cast<int64_t>(sum);
+}
+
 
 // Note: JNI offers methods to convert between modified UTF-8 and
 // UTF-16. Unfortunately these methods are not appropriate in this
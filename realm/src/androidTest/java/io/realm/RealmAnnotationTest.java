@@ -53,6 +53,11 @@ public class RealmAnnotationTest extends AndroidTestCase {
         assertFalse(table.hasIndex(table.getColumnIndex("notIndexString")));
     }
 
+    public void testFullText() {
+        assertTrue(testRealm.hasFullTextIndex("AnnotationTypes", "fullTextString"));
+        assertFalse(testRealm.hasFullTextIndex("AnnotationTypes", "indexString"));
+    }
+
     // Annotation processor honors common naming conventions
     // We check if setters and getters are generated and working
     public void testNamingConvention() {
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.test.AndroidTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+
+import io.realm.entities.AllTypes;
+import io.realm.entities.AnnotationTypes;
+import io.realm.entities.IntegerTypes;
+import io.realm.exceptions.RealmException;
+
+import static io.realm.internal.test.ExtraTests.assertArrayEquals;
+
+public class RealmJsonImporterTest extends AndroidTestCase {
+
+    private static final int OBJECTS = 1234;
+
+    protected Realm testRealm;
+
+    @Override
+    protected void setUp() throws Exception {
+        Realm.deleteRealmFile(getContext());
+        testRealm = Realm.getInstance(getContext());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        testRealm.close();
+    }
+
+    private InputStream toStream(String json) throws IOException {
+        return new ByteArrayInputStream(json.getBytes("UTF-8"));
+    }
+
+    private RealmJsonImporter.Statistics importAll(Class<? extends RealmObject> clazz, String json)
+            throws IOException {
+        testRealm.beginTransaction();
+        try {
+            RealmJsonImporter.Statistics statistics = new RealmJsonImporter(testRealm)
+                    .setParserThreads(3)
+                    .setBatchSize(100)
+                    .setMaxPendingBatches(2)
+                    .createAllFromJson(clazz, toStream(json));
+            testRealm.commitTransaction();
+            return statistics;
+        } catch (IOException e) {
+            testRealm.cancelTransaction();
+            throw e;
+        } catch (RuntimeException e) {
+            testRealm.cancelTransaction();
+            throw e;
+        }
+    }
+
+    public void testCreateAllFromJson() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < OBJECTS; i++) {
+            if (i > 0) {
+                json.append(",\n");
+            }
+            json.append("{\"columnString\": \"String ").append(i).append("\", ")
+                    .append("\"columnLong\": ").append(i).append(", ")
+                    .append("\"columnFloat\": ").append(i).append(".5, ")
+                    .append("\"columnDouble\": ").append(i).append(".25, ")
+                    .append("\"columnBoolean\": ").append(i % 2 == 0).append(", ")
+                    .append("\"columnDate\": ").append(i * 1000L).append(", ")
+                    .append("\"columnBinary\": \"AQID\"}");
+        }
+        json.append("]");
+
+        RealmJsonImporter.Statistics statistics = importAll(AllTypes.class, json.toString());
+
+        assertEquals(OBJECTS, statistics.getObjectCount());
+        assertEquals(13, statistics.getBatchCount());
+        assertEquals(json.length(), statistics.getCharacterCount());
+        assertTrue(statistics.getObjectsPerSecond() > 0);
+        RealmResults<AllTypes> all = testRealm.allObjects(AllTypes.class);
+        assertEquals(OBJECTS, all.size());
+        for (int i = 0; i < OBJECTS; i += 97) {
+            AllTypes obj = all.get(i); // The objects are created in the order of the array
+            assertEquals("String " + i, obj.getColumnString());
+            assertEquals(i, obj.getColumnLong());
+            assertEquals(i + 0.5f, obj.getColumnFloat());
+            assertEquals(i + 0.25d, obj.getColumnDouble());
+            assertEquals(i % 2 == 0, obj.isColumnBoolean());
+            assertEquals(new Date(i * 1000L), obj.getColumnDate());
+            assertArrayEquals(new byte[] {1, 2, 3}, obj.getColumnBinary());
+        }
+    }
+
+    public void testNullAndUnknownProperties() throws IOException {
+        importAll(AllTypes.class, "[{\"columnString\": null, \"unknown\": {\"a\": [1, {\"b\": 2}]}, "
+                + "\"columnLong\": 5, \"columnDate\": \"/Date(2000)/\"}, {}]");
+
+        RealmResults<AllTypes> all = testRealm.allObjects(AllTypes.class);
+        assertEquals(2, all.size());
+        assertEquals("", all.get(0).getColumnString());
+        assertEquals(5, all.get(0).getColumnLong());
+        assertEquals(new Date(2000), all.get(0).getColumnDate());
+        assertEquals("", all.get(1).getColumnString());
+        assertEquals(0, all.get(1).getColumnLong());
+        assertEquals(0, all.get(1).getColumnBinary().length);
+    }
+
+    public void testStringsWithBrackets() throws IOException {
+        importAll(AllTypes.class, "[ {\"columnString\": \"}]\\\"{[\"} , {\"columnString\": \"\\\\\"} ]");
+
+        RealmResults<AllTypes> all = testRealm.allObjects(AllTypes.class);
+        assertEquals(2, all.size());
+        assertEquals("}]\"{[", all.get(0).getColumnString());
+        assertEquals("\\", all.get(1).getColumnString());
+    }
+
+    public void testEmptyArray() throws IOException {
+        RealmJsonImporter.Statistics statistics = importAll(AllTypes.class, " [ ] ");
+
+        assertEquals(0, statistics.getObjectCount());
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testFullTextIndexIsUpdated() throws IOException {
+        importAll(AnnotationTypes.class, "[{\"fullTextString\": \"The quick brown fox\"}, "
+                + "{\"fullTextString\": \"A lazy dog\"}]");
+
+        assertEquals(1, testRealm.where(AnnotationTypes.class).matches("fullTextString", "fox").count());
+        assertEquals(1, testRealm.where(AnnotationTypes.class).matches("fullTextString", "lazy").count());
+    }
+
+    public void testMalformedJsonThrows() {
+        String[] jsons = {"{}", "[{\"columnLong\": 1}", "[{\"columnLong\": 1} {}]", "[1, 2]", "[{\"columnLong\": }]"};
+        for (String json : jsons) {
+            try {
+                importAll(AllTypes.class, json);
+                fail(json);
+            } catch (IOException ignored) {
+            } catch (RealmException ignored) {
+            }
+        }
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testLinkValueThrows() throws IOException {
+        try {
+            importAll(AllTypes.class, "[{\"columnRealmObject\": {\"name\": \"Fido\"}}]");
+            fail();
+        } catch (RealmException ignored) {
+        }
+        // Links which are null or absent are supported
+        importAll(AllTypes.class, "[{\"columnRealmObject\": null, \"columnLong\": 1}]");
+        assertEquals(1, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testNarrowIntegerFields() throws IOException {
+        importAll(IntegerTypes.class, "[{\"columnInt\": -2147483648, \"columnShort\": 32767, " +
+                "\"columnByte\": -128, \"columnLong\": 9223372036854775807}]");
+        IntegerTypes values = testRealm.allObjects(IntegerTypes.class).first();
+        assertEquals(Integer.MIN_VALUE, values.getColumnInt());
+        assertEquals(Short.MAX_VALUE, values.getColumnShort());
+        assertEquals(Byte.MIN_VALUE, values.getColumnByte());
+        assertEquals(Long.MAX_VALUE, values.getColumnLong());
+    }
+
+    public void testIntegerOutOfRangeThrows() {
+        String[] jsons = {"[{\"columnInt\": 2147483648}]", "[{\"columnShort\": -32769}]",
+                "[{\"columnByte\": 128}]"};
+        for (String json : jsons) {
+            try {
+                importAll(IntegerTypes.class, json);
+                fail(json);
+            } catch (IOException e) {
+                fail(e.getMessage());
+            } catch (RealmException ignored) {
+            }
+        }
+        assertEquals(0, testRealm.allObjects(IntegerTypes.class).size());
+    }
+
+    public void testOutsideTransactionThrows() throws IOException {
+        try {
+            new RealmJsonImporter(testRealm).createAllFromJson(AllTypes.class, toStream("[]"));
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testInvalidSettingsThrow() {
+        RealmJsonImporter importer = new RealmJsonImporter(testRealm);
+        try {
+            importer.setParserThreads(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            importer.setBatchSize(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            importer.setMaxPendingBatches(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -484,4 +484,78 @@ public class RealmLinkTests extends AndroidTestCase {
         RealmResults<Owner> subOwners = owners.where().equalTo("cat.name", "Blackie").findAll();
         assertEquals(1, subOwners.size());
     }
+
+    public void testLinkingObjects() {
+        Dog pluto = testRealm.where(Dog.class).equalTo("name", "Pluto").findFirst();
+        RealmResults<Owner> owners = pluto.getOwners();
+        assertEquals(1, owners.size());
+        assertEquals("Tim", owners.first().getName());
+        assertSame(owners, pluto.getOwners());
+
+        testRealm.beginTransaction();
+        Owner owner = testRealm.createObject(Owner.class);
+        owner.setName("Kim");
+        owner.getDogs().add(pluto);
+        testRealm.commitTransaction();
+
+        // The results follow changes to the links
+        assertEquals(2, owners.size());
+
+        testRealm.beginTransaction();
+        owner.getDogs().clear();
+        testRealm.commitTransaction();
+
+        assertEquals(1, owners.size());
+        assertEquals("Tim", owners.first().getName());
+    }
+
+    public void testLinkingObjectsOfObjectLinkedTwice() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        Dog pluto = owner.getDogs().first();
+
+        testRealm.beginTransaction();
+        owner.getDogs().add(pluto);
+        testRealm.commitTransaction();
+
+        assertEquals(1, pluto.getOwners().size());
+    }
+
+    public void testLinkingToLink() {
+        Cat cat = testRealm.where(Cat.class).findFirst();
+        RealmResults<Owner> owners = testRealm.where(Owner.class).linkingTo("cat", cat).findAll();
+        assertEquals(1, owners.size());
+
+        testRealm.beginTransaction();
+        Cat otherCat = testRealm.createObject(Cat.class);
+        testRealm.commitTransaction();
+
+        assertEquals(0, testRealm.where(Owner.class).linkingTo("cat", otherCat).findAll().size());
+        assertEquals(1, testRealm.where(Owner.class).linkingTo("cat", cat).equalTo("name", "Tim").findAll().size());
+        assertEquals(0, testRealm.where(Owner.class).linkingTo("cat", cat).equalTo("name", "Kim").findAll().size());
+    }
+
+    public void testLinkingToInvalidArgumentsThrows() {
+        Cat cat = testRealm.where(Cat.class).findFirst();
+        Dog dog = testRealm.where(Dog.class).findFirst();
+        try {
+            testRealm.where(Owner.class).linkingTo("name", cat);
+            fail("Field is not a link");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(Owner.class).linkingTo("cat.owner", cat);
+            fail("Link queries are not supported");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(Owner.class).linkingTo("cat", dog);
+            fail("Field does not link to the class of the object");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(Owner.class).linkingTo("cat", new Cat());
+            fail("Object is not in the Realm");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
 }
@@ -18,6 +18,9 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.Arrays;
+import java.util.List;
+
 import io.realm.entities.Dog;
 import io.realm.entities.Owner;
 import io.realm.entities.AllTypes;
@@ -81,6 +84,17 @@ public class RealmListTest extends AndroidTestCase {
      * Non-Managed mode tests                                *
      *********************************************************/
 
+    public void testGetterReturnsSameList() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        assertSame(dogs, owner.getDogs());
+
+        testRealm.beginTransaction();
+        dogs.remove(0);
+        testRealm.commitTransaction();
+        assertEquals(TEST_OBJECTS - 1, owner.getDogs().size());
+    }
+
     public void testPublicNoArgConstructor() {
         RealmList<AllTypes> list = new RealmList<AllTypes>();
         assertNotNull(list);
@@ -247,6 +261,36 @@ public class RealmListTest extends AndroidTestCase {
         testMethodsOnEmptyList(list);
     }
 
+    public void testAddAll_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        assertTrue(list.addAll(Arrays.asList(new Dog("Dog A"), new Dog("Dog B"))));
+        assertEquals(TEST_OBJECTS + 2, list.size());
+        assertEquals("Dog B", list.last().getName());
+    }
+
+    public void testSetAll_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        list.setAll(Arrays.asList(new Dog("Dog A")));
+        assertEquals(1, list.size());
+        assertEquals("Dog A", list.first().getName());
+    }
+
+    public void testContainsAndIndexOf_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        Dog dog = list.get(3);
+        assertTrue(list.contains(dog));
+        assertEquals(3, list.indexOf(dog));
+        assertTrue(list.remove(dog));
+        assertFalse(list.contains(dog));
+    }
+
+    public void testRemoveRange_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        list.removeRange(2, 5);
+        assertEquals(TEST_OBJECTS - 3, list.size());
+        assertEquals("Dog 5", list.get(2).getName());
+    }
+
     /*********************************************************
      * Managed mode tests                                    *
      *********************************************************/
@@ -363,6 +407,54 @@ public class RealmListTest extends AndroidTestCase {
         assertEquals(TEST_OBJECTS - 1, dogs.size());
     }
 
+    public void testRemoveByObjectNotInList() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        boolean result = dogs.remove(dog);
+        testRealm.commitTransaction();
+
+        assertFalse(result);
+        assertEquals(TEST_OBJECTS, dogs.size());
+    }
+
+    public void testContainsAndIndexOf() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        Dog dog5 = testRealm.where(Dog.class).equalTo("name", "Dog 5").findFirst();
+
+        assertTrue(dogs.contains(dog5));
+        assertEquals(5, dogs.indexOf(dog5));
+    }
+
+    public void testContainsObjectNotInList() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        testRealm.beginTransaction();
+        Dog managedDog = testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+
+        assertFalse(dogs.contains(managedDog));
+        assertFalse(dogs.contains(new Dog("Dog 0")));
+        assertFalse(dogs.contains(owner));
+        assertFalse(dogs.contains(null));
+        assertEquals(-1, dogs.indexOf(managedDog));
+    }
+
+    public void testContainsRemovedObject() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        Dog dog = dogs.get(0);
+
+        testRealm.beginTransaction();
+        dog.removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertFalse(dogs.contains(dog));
+    }
+
     public void testQuery() {
         Owner owner = testRealm.where(Owner.class).findFirst();
         RealmList<Dog> dogs = owner.getDogs();
@@ -379,4 +471,71 @@ public class RealmListTest extends AndroidTestCase {
 
         testMethodsOnEmptyList(owner.getDogs());
     }
+
+    public void testAddAll() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        List<Dog> firstDogs = Arrays.asList(dogs.get(0), dogs.get(1));
+
+        testRealm.beginTransaction();
+        assertTrue(dogs.addAll(firstDogs));
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_OBJECTS + 2, dogs.size());
+        assertEquals("Dog 1", dogs.last().getName());
+    }
+
+    public void testAddAllNullThrows() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        testRealm.beginTransaction();
+        try {
+            dogs.addAll(Arrays.asList(dogs.get(0), null));
+            fail("Adding null values is not supported");
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+        assertEquals(TEST_OBJECTS, dogs.size());
+    }
+
+    public void testSetAll() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        List<Dog> lastDogs = Arrays.asList(dogs.get(8), dogs.get(9));
+
+        testRealm.beginTransaction();
+        dogs.setAll(lastDogs);
+        testRealm.commitTransaction();
+
+        assertEquals(2, dogs.size());
+        assertEquals("Dog 8", dogs.first().getName());
+        assertEquals(TEST_OBJECTS, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testRemoveRange() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        dogs.removeRange(2, 5);
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_OBJECTS - 3, dogs.size());
+        assertEquals("Dog 5", dogs.get(2).getName());
+        assertEquals(TEST_OBJECTS, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testRemoveRangeOutOfBoundsThrows() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        testRealm.beginTransaction();
+        try {
+            dogs.removeRange(5, TEST_OBJECTS + 1);
+            fail("Range is outside the list");
+        } catch (IndexOutOfBoundsException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
 }
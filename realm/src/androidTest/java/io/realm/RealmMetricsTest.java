@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.test.AndroidTestCase;
+
+import java.io.File;
+
+import io.realm.entities.Dog;
+
+public class RealmMetricsTest extends AndroidTestCase {
+
+    private Realm testRealm;
+    private RealmMetrics.Counters counters;
+
+    @Override
+    protected void setUp() throws Exception {
+        Realm.deleteRealmFile(getContext());
+        testRealm = Realm.getInstance(getContext());
+        counters = new RealmMetrics.Counters();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        RealmMetrics.setListener(null);
+        if (testRealm != null)
+            testRealm.close();
+    }
+
+    private void addDogs(int count) {
+        testRealm.beginTransaction();
+        for (int i = 0; i < count; i++) {
+            testRealm.createObject(Dog.class).setAge(i);
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testDisabledByDefault() {
+        assertNull(RealmMetrics.getListener());
+        addDogs(2);
+        assertEquals(0, counters.getCommitLatency().getCount());
+    }
+
+    public void testTransactions() {
+        RealmMetrics.setListener(counters);
+        addDogs(2);
+        addDogs(3);
+
+        assertEquals(2, counters.getWriteLockWait().getCount());
+        assertEquals(2, counters.getCommitLatency().getCount());
+        assertTrue(counters.getCommitLatency().getMaxNanos() > 0);
+        assertEquals(new File(testRealm.getPath()).length(), counters.getFileSize());
+        assertEquals(5, counters.getObjectsMaterialized());
+    }
+
+    public void testReserve() {
+        RealmMetrics.setListener(counters);
+        long size = new File(testRealm.getPath()).length();
+        testRealm.reserve(size + 1024 * 1024);
+
+        assertTrue(new File(testRealm.getPath()).length() >= size + 1024 * 1024);
+        assertEquals(1, counters.getFileGrowth().getCount());
+
+        // The reserved space is used by the following commits
+        addDogs(100);
+        assertEquals(1, counters.getFileGrowth().getCount());
+    }
+
+    public void testFileGrowthIncrement() {
+        Realm.setFileGrowthIncrement(1024 * 1024);
+        try {
+            File file = new File(testRealm.getPath());
+            long size = file.length();
+            for (int i = 0; i < 100 && file.length() == size; i++) {
+                addDogs(1000);
+            }
+            // The commit growing the file reserved the increment ahead
+            assertTrue(file.length() >= size + 1024 * 1024);
+        } finally {
+            Realm.setFileGrowthIncrement(0);
+        }
+    }
+
+    public void testQueriesAndObjects() {
+        addDogs(10);
+        RealmMetrics.setListener(counters);
+
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).greaterThan("age", 4).findAll();
+        assertEquals(1, counters.getQueryLatency().getCount());
+        assertEquals(4, testRealm.where(Dog.class).lessThan("age", 4).count());
+        assertEquals(2, counters.getQueryLatency().getCount());
+
+        for (Dog dog : dogs) {
+            dog.getAge();
+        }
+        assertEquals(5, counters.getObjectsMaterialized());
+        assertTrue(RealmMetrics.getLiveNativeAccessors() > 0);
+    }
+
+    public void testNotifications() {
+        testRealm.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+            }
+        });
+        RealmMetrics.setListener(counters);
+        addDogs(1);
+        assertEquals(1, counters.getListenersCalled());
+    }
+
+    public void testHistogram() {
+        RealmMetrics.Histogram histogram = new RealmMetrics.Histogram();
+        assertEquals(0, histogram.getPercentileNanos(0.5));
+
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(100);
+        histogram.record(1000);
+        assertEquals(4, histogram.getCount());
+        assertEquals(1101, histogram.getTotalNanos());
+        assertEquals(1000, histogram.getMaxNanos());
+        assertEquals(2, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(6));
+        assertEquals(1, histogram.getBucketCount(9));
+        assertEquals(1, histogram.getPercentileNanos(0.5));
+        assertEquals(1023, histogram.getPercentileNanos(1));
+
+        try {
+            histogram.getPercentileNanos(1.5);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
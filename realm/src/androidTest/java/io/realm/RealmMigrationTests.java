@@ -9,7 +9,10 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.AnnotationNameConventions;
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ColumnType;
+import io.realm.internal.Table;
 
 public class RealmMigrationTests extends AndroidTestCase {
 
@@ -44,4 +47,75 @@ public class RealmMigrationTests extends AndroidTestCase {
         int result = realm.where(AllTypes.class).equalTo("columnString", "Foo").findAll().size();
         assertEquals(0, result);
     }
+
+    public void testColumnIndicesPerRealmFile() {
+        Realm.deleteRealmFile(getContext(), "columns1.realm");
+        Realm.deleteRealmFile(getContext(), "columns2.realm");
+        Realm.getInstance(getContext(), "columns2.realm").close();
+
+        // Move the first column to the end in the second file only
+        String path = new File(getContext().getFilesDir(), "columns2.realm").getAbsolutePath();
+        Realm.migrateRealmAtPath(path, new RealmMigration() {
+            @Override
+            public long execute(Realm realm, long version) {
+                Table table = realm.getTable(AnnotationNameConventions.class);
+                table.removeColumn(table.getColumnIndex("id_object"));
+                table.addColumn(ColumnType.INTEGER, "id_object");
+                return version + 1;
+            }
+        });
+
+        Realm[] realms = new Realm[] {
+                Realm.getInstance(getContext(), "columns1.realm"),
+                Realm.getInstance(getContext(), "columns2.realm")
+        };
+        try {
+            for (Realm realm : realms) {
+                realm.beginTransaction();
+                AnnotationNameConventions object = realm.createObject(AnnotationNameConventions.class);
+                object.setId_object(1);
+                object.setObject_id(2);
+                realm.commitTransaction();
+            }
+            for (Realm realm : realms) {
+                AnnotationNameConventions object = realm.allObjects(AnnotationNameConventions.class).first();
+                assertEquals(1, object.getId_object());
+                assertEquals(2, object.getObject_id());
+                assertEquals(1, realm.where(AnnotationNameConventions.class).equalTo("id_object", 1).count());
+            }
+        } finally {
+            for (Realm realm : realms) {
+                realm.close();
+            }
+        }
+    }
+
+    public void testMigrationWithoutNewVersionRevalidatesSchema() {
+        Realm.deleteRealmFile(getContext(), "columns.realm");
+        Realm.getInstance(getContext(), "columns.realm").close();
+
+        String path = new File(getContext().getFilesDir(), "columns.realm").getAbsolutePath();
+        Realm.migrateRealmAtPath(path, new RealmMigration() {
+            @Override
+            public long execute(Realm realm, long version) {
+                Table table = realm.getTable(AnnotationNameConventions.class);
+                table.removeColumn(table.getColumnIndex("id_object"));
+                table.addColumn(ColumnType.INTEGER, "id_object");
+                return version;
+            }
+        });
+
+        Realm realm = Realm.getInstance(getContext(), "columns.realm");
+        try {
+            realm.beginTransaction();
+            AnnotationNameConventions object = realm.createObject(AnnotationNameConventions.class);
+            object.setId_object(1);
+            object.setObject_id(2);
+            realm.commitTransaction();
+            assertEquals(1, realm.where(AnnotationNameConventions.class).equalTo("id_object", 1).count());
+            assertEquals(2, realm.allObjects(AnnotationNameConventions.class).first().getObject_id());
+        } finally {
+            realm.close();
+        }
+    }
 }
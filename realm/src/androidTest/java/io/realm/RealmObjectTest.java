@@ -29,9 +29,11 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.Cat;
 import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
 import io.realm.entities.Thread;
+import io.realm.entities.TreeNode;
 import io.realm.internal.Row;
 
 
@@ -236,6 +238,61 @@ public class RealmObjectTest extends AndroidTestCase {
         return result;
     }
 
+    // Creates a tree of nodes with a dog each, and a cat shared by all nodes
+    private TreeNode createTree(String name, int depth, int width, Cat cat) {
+        TreeNode node = testRealm.createObject(TreeNode.class);
+        node.setName(name);
+        node.setCat(cat);
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName(name);
+        node.setDog(dog);
+        if (depth > 0) {
+            for (int i = 0; i < width; i++) {
+                node.getChildren().add(createTree(name + "." + i, depth - 1, width, cat));
+            }
+        }
+        return node;
+    }
+
+    public void testRemoveFromRealmRemovesOwnedObjects() {
+        testRealm.beginTransaction();
+        Cat cat = testRealm.createObject(Cat.class);
+        TreeNode root = createTree("root", 3, 3, cat); // 1 + 3 + 9 + 27 nodes
+        TreeNode other = createTree("other", 1, 2, cat); // 1 + 2 nodes
+        testRealm.commitTransaction();
+        assertEquals(43, testRealm.allObjects(TreeNode.class).size());
+        assertEquals(43, testRealm.allObjects(Dog.class).size());
+
+        testRealm.beginTransaction();
+        root.removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertFalse(root.isValid());
+        assertEquals(3, testRealm.allObjects(TreeNode.class).size());
+        assertEquals(3, testRealm.allObjects(Dog.class).size());
+        assertEquals(1, testRealm.allObjects(Cat.class).size()); // Not owned
+        assertEquals(2, other.getChildren().size());
+        assertEquals("other.1", other.getChildren().get(1).getName());
+        assertEquals("other.1", other.getChildren().get(1).getDog().getName());
+    }
+
+    public void testRemoveFromRealmWithOwnedCycle() {
+        testRealm.beginTransaction();
+        TreeNode node1 = testRealm.createObject(TreeNode.class);
+        TreeNode node2 = testRealm.createObject(TreeNode.class);
+        node1.getChildren().add(node2);
+        node2.getChildren().add(node1);
+        node2.getChildren().add(node2);
+        testRealm.createObject(TreeNode.class);
+        testRealm.commitTransaction();
+
+        testRealm.beginTransaction();
+        node2.removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.allObjects(TreeNode.class).size());
+    }
+
     public void testGetSetWrongThread() throws ExecutionException, InterruptedException {
         assertTrue(methodWrongThread(true));
         assertTrue(methodWrongThread(false));
@@ -450,6 +507,64 @@ public class RealmObjectTest extends AndroidTestCase {
 
     }
 
+    public void testIncrement() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setAge(10);
+        dog.increment("age", 5);
+        dog.increment("age", -2);
+        testRealm.commitTransaction();
+
+        assertEquals(13, dog.getAge());
+    }
+
+    public void testIncrementWrapsAround() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setAge(Long.MAX_VALUE);
+        dog.increment("age", 1);
+        testRealm.commitTransaction();
+
+        assertEquals(Long.MIN_VALUE, dog.getAge());
+    }
+
+    public void testIncrementNonIntegerFieldThrows() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        try {
+            dog.increment("name", 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            dog.increment("nonExistingField", 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testIncrementOutOfTransactionThrows() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+
+        try {
+            dog.increment("age", 1);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testIncrementStandaloneObjectThrows() {
+        try {
+            new Dog().increment("age", 1);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
     public void testSetNullLink() {
         testRealm.beginTransaction();
         CyclicType objA = testRealm.createObject(CyclicType.class);
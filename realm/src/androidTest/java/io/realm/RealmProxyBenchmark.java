@@ -0,0 +1,388 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import io.realm.entities.AllTypes;
+import io.realm.entities.Dog;
+
+/**
+ * Measures the accessors of the proxy classes generated by the annotation processor for the test models, for each
+ * field type. The results are written to logcat and, in the JSON format of JMH, to proxy-benchmarks.json in the
+ * files folder of the test app, so two runs can be compared with io.realm.benchmarks.CompareResults from
+ * realm-benchmarks.
+ * <p>
+ * Being {@link LargeTest}, the benchmarks are left out of connectedCheck by
+ * {@link io.realm.internal.test.RealmTestRunner}. Run them on their own with:
+ * <pre>
+ * adb shell am instrument -w -e size large io.realm.test/io.realm.internal.test.RealmTestRunner
+ * adb pull /data/data/io.realm.test/files/proxy-benchmarks.json
+ * </pre>
+ */
+@LargeTest
+public class RealmProxyBenchmark extends AndroidTestCase {
+
+    private static final String TAG = "RealmProxyBenchmark";
+    private static final String RESULTS_FILE = "proxy-benchmarks.json";
+    private static final int OBJECTS = 1000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+
+    // Results of all the benchmarks run by this process, rewritten to the file after each benchmark
+    private static final JSONArray results = new JSONArray();
+
+    private Realm testRealm;
+    private List<AllTypes> objects;
+    private AllTypes other;
+
+    private static abstract class Operation {
+        // Runs the operation on the i'th object, returning something which depends on the result to keep it alive
+        abstract long run(int i);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        Realm.deleteRealmFile(getContext(), "benchmark.realm");
+        testRealm = Realm.getInstance(getContext(), "benchmark.realm");
+
+        testRealm.beginTransaction();
+        for (int i = 0; i < OBJECTS; i++) {
+            AllTypes allTypes = testRealm.createObject(AllTypes.class);
+            allTypes.setColumnString("String " + i);
+            allTypes.setColumnLong(i);
+            allTypes.setColumnFloat(i + 0.5f);
+            allTypes.setColumnDouble(i + 0.25d);
+            allTypes.setColumnBoolean(i % 2 == 0);
+            allTypes.setColumnDate(new Date(i * 1000L));
+            allTypes.setColumnBinary(new byte[] {(byte) i, 2, 3});
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setAge(i % 15);
+            allTypes.setColumnRealmObject(dog);
+            allTypes.getColumnRealmList().add(dog);
+            allTypes.getColumnRealmList().add(dog);
+        }
+        testRealm.commitTransaction();
+
+        objects = new ArrayList<AllTypes>(OBJECTS);
+        for (AllTypes allTypes : testRealm.allObjects(AllTypes.class)) {
+            objects.add(allTypes);
+        }
+        other = testRealm.allObjects(AllTypes.class).first();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (testRealm != null)
+            testRealm.close();
+    }
+
+    // Reports the median time per operation over the rounds, in nanoseconds
+    private void measure(String name, Operation operation) throws JSONException, IOException {
+        long sink = 0;
+        double[] nanosPerOp = new double[ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OBJECTS; i++) {
+                sink += operation.run(i);
+            }
+            long duration = System.nanoTime() - start;
+            if (round >= WARMUP_ROUNDS) {
+                nanosPerOp[round - WARMUP_ROUNDS] = (double) duration / OBJECTS;
+            }
+        }
+        Arrays.sort(nanosPerOp);
+        double median = nanosPerOp[ROUNDS / 2];
+        Log.i(TAG, String.format("%-24s %10.1f ns/op (%d)", name, median, sink % 2));
+        report(name, median);
+    }
+
+    private void report(String name, double nanosPerOp) throws JSONException, IOException {
+        JSONObject metric = new JSONObject();
+        metric.put("score", nanosPerOp);
+        metric.put("scoreUnit", "ns/op");
+        JSONObject result = new JSONObject();
+        result.put("benchmark", RealmProxyBenchmark.class.getName() + "." + name);
+        result.put("mode", "avgt");
+        result.put("primaryMetric", metric);
+        synchronized (results) {
+            results.put(result);
+            FileWriter writer = new FileWriter(new File(getContext().getFilesDir(), RESULTS_FILE));
+            try {
+                writer.write(results.toString(2));
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    // Runs the setter benchmark in a write transaction, which is rolled back afterwards
+    private void measureSetter(String name, Operation operation) throws JSONException, IOException {
+        testRealm.beginTransaction();
+        try {
+            measure(name, operation);
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testString() throws Exception {
+        measure("getString", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).getColumnString().length();
+            }
+        });
+        measureSetter("setString", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnString("Foo");
+                return 0;
+            }
+        });
+    }
+
+    public void testLong() throws Exception {
+        measure("getLong", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).getColumnLong();
+            }
+        });
+        measureSetter("setLong", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnLong(i + 1);
+                return 0;
+            }
+        });
+    }
+
+    public void testFloat() throws Exception {
+        measure("getFloat", new Operation() {
+            @Override
+            long run(int i) {
+                return (long) objects.get(i).getColumnFloat();
+            }
+        });
+        measureSetter("setFloat", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnFloat(i + 1.5f);
+                return 0;
+            }
+        });
+    }
+
+    public void testDouble() throws Exception {
+        measure("getDouble", new Operation() {
+            @Override
+            long run(int i) {
+                return (long) objects.get(i).getColumnDouble();
+            }
+        });
+        measureSetter("setDouble", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnDouble(i + 1.5d);
+                return 0;
+            }
+        });
+    }
+
+    public void testBoolean() throws Exception {
+        measure("getBoolean", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).isColumnBoolean() ? 1 : 0;
+            }
+        });
+        measureSetter("setBoolean", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnBoolean(i % 2 != 0);
+                return 0;
+            }
+        });
+    }
+
+    public void testDate() throws Exception {
+        measure("getDate", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).getColumnDate().getTime();
+            }
+        });
+        final Date date = new Date();
+        measureSetter("setDate", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnDate(date);
+                return 0;
+            }
+        });
+    }
+
+    public void testBinary() throws Exception {
+        measure("getBinary", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).getColumnBinary().length;
+            }
+        });
+        final byte[] bytes = new byte[] {4, 5, 6};
+        measureSetter("setBinary", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnBinary(bytes);
+                return 0;
+            }
+        });
+    }
+
+    public void testLink() throws Exception {
+        measure("getLink", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).getColumnRealmObject().getAge();
+            }
+        });
+        final Dog dog = other.getColumnRealmObject();
+        measureSetter("setLink", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).setColumnRealmObject(dog);
+                return 0;
+            }
+        });
+    }
+
+    public void testList() throws Exception {
+        measure("getList", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).getColumnRealmList().size();
+            }
+        });
+        measure("iterateList", new Operation() {
+            @Override
+            long run(int i) {
+                long sum = 0;
+                for (Dog dog : objects.get(i).getColumnRealmList()) {
+                    sum += dog.getAge();
+                }
+                return sum;
+            }
+        });
+        final Dog dog = other.getColumnRealmObject();
+        measureSetter("addToList", new Operation() {
+            @Override
+            long run(int i) {
+                objects.get(i).getColumnRealmList().add(dog);
+                return 0;
+            }
+        });
+    }
+
+    // Deletes all objects in a write transaction which is rolled back, so each round deletes the same objects
+    private void measureDelete(String name, Runnable delete) throws JSONException, IOException {
+        double[] nanosPerObject = new double[ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            testRealm.beginTransaction();
+            try {
+                long start = System.nanoTime();
+                delete.run();
+                long duration = System.nanoTime() - start;
+                if (round >= WARMUP_ROUNDS) {
+                    nanosPerObject[round - WARMUP_ROUNDS] = (double) duration / OBJECTS;
+                }
+            } finally {
+                testRealm.cancelTransaction();
+            }
+        }
+        Arrays.sort(nanosPerObject);
+        double median = nanosPerObject[ROUNDS / 2];
+        Log.i(TAG, String.format("%-24s %10.1f ns/object", name, median));
+        report(name, median);
+    }
+
+    public void testDelete() throws Exception {
+        measureDelete("removeFromRealm", new Runnable() {
+            @Override
+            public void run() {
+                RealmResults<AllTypes> all = testRealm.allObjects(AllTypes.class);
+                while (!all.isEmpty()) {
+                    all.last().removeFromRealm();
+                }
+            }
+        });
+        measureDelete("deleteAll", new Runnable() {
+            @Override
+            public void run() {
+                testRealm.where(AllTypes.class).greaterThanOrEqualTo("columnLong", 0).deleteAll();
+            }
+        });
+        measureDelete("deleteAllFromRealm", new Runnable() {
+            @Override
+            public void run() {
+                testRealm.where(AllTypes.class).greaterThanOrEqualTo("columnLong", 0).findAll().deleteAllFromRealm();
+            }
+        });
+    }
+
+    public void testToString() throws Exception {
+        measure("toString", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).toString().length();
+            }
+        });
+    }
+
+    public void testHashCode() throws Exception {
+        measure("hashCode", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).hashCode();
+            }
+        });
+    }
+
+    public void testEquals() throws Exception {
+        measure("equals", new Operation() {
+            @Override
+            long run(int i) {
+                return objects.get(i).equals(other) ? 1 : 0;
+            }
+        });
+    }
+}
@@ -2,12 +2,19 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.AnnotationTypes;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.TreeNode;
+import io.realm.internal.Table;
+import io.realm.internal.log.Logger;
+import io.realm.internal.log.RealmLog;
 
 public class RealmQueryTest extends AndroidTestCase{
 
@@ -391,10 +398,431 @@ public class RealmQueryTest extends AndroidTestCase{
         assertEquals(0, sortedList.last().getColumnLong());
     }
 
+    public void testSortByLinkedField() {
+        testRealm.beginTransaction();
+        String[] ownerNames = {"Bob", "Carl", "Alice"};
+        for (int i = 0; i < ownerNames.length; i++) {
+            Owner owner = testRealm.createObject(Owner.class);
+            owner.setName(ownerNames[i]);
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setAge(i);
+            dog.setOwner(owner);
+        }
+        testRealm.commitTransaction();
+
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).findAllSorted("owner.name");
+        assertEquals(3, dogs.size());
+        assertEquals("Alice", dogs.get(0).getOwner().getName());
+        assertEquals("Bob", dogs.get(1).getOwner().getName());
+        assertEquals("Carl", dogs.get(2).getOwner().getName());
+
+        dogs = testRealm.where(Dog.class).greaterThan("age", 0)
+                .findAllSorted(new String[]{"owner.name", "name"}, new boolean[]{RealmResults.SORT_ORDER_DESCENDING, RealmResults.SORT_ORDER_ASCENDING});
+        assertEquals(2, dogs.size());
+        assertEquals("Carl", dogs.get(0).getOwner().getName());
+        assertEquals("Alice", dogs.get(1).getOwner().getName());
+    }
+
+    public void testSortByLinkedFieldAfterCommit() {
+        testRealm.beginTransaction();
+        String[] ownerNames = {"Bob", "Carl", "Alice"};
+        for (int i = 0; i < ownerNames.length; i++) {
+            Owner owner = testRealm.createObject(Owner.class);
+            owner.setName(ownerNames[i]);
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setOwner(owner);
+        }
+        testRealm.commitTransaction();
+
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).findAllSorted("owner.name");
+        assertEquals("Alice", dogs.get(0).getOwner().getName());
+
+        testRealm.beginTransaction();
+        Owner owner = testRealm.createObject(Owner.class);
+        owner.setName("Aaron");
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName("Dog 3");
+        dog.setOwner(owner);
+        testRealm.where(Owner.class).equalTo("name", "Carl").findFirst().setName("Adam");
+        testRealm.commitTransaction();
+
+        // The view is updated with the changes and is still sorted
+        String[] expected = {"Aaron", "Adam", "Alice", "Bob"};
+        assertEquals(expected.length, dogs.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], dogs.get(i).getOwner().getName());
+        }
+    }
+
+    private void populateDogs() {
+        testRealm.beginTransaction();
+        testRealm.clear(Dog.class);
+        String[] names = {"A", "B", "A", "C", "B"};
+        long[] ages = {1, 1, 2, 1, 1};
+        for (int i = 0; i < names.length; i++) {
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName(names[i]);
+            dog.setAge(ages[i]);
+            dog.setWeight(i);
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testDistinct() {
+        populateDogs();
+
+        // Dog.name is indexed
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).distinct("name");
+        assertEquals(3, dogs.size());
+        assertEquals("A", dogs.get(0).getName());
+        assertEquals("B", dogs.get(1).getName());
+        assertEquals("C", dogs.get(2).getName());
+        assertEquals(0d, dogs.get(0).getWeight());
+        assertEquals(1d, dogs.get(1).getWeight());
+
+        dogs = testRealm.where(Dog.class).distinct("age");
+        assertEquals(2, dogs.size());
+    }
+
+    public void testDistinctMultipleFields() {
+        populateDogs();
+
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).distinct("name", "age");
+        assertEquals(4, dogs.size());
+        assertEquals(0d, dogs.get(0).getWeight());
+        assertEquals(1d, dogs.get(1).getWeight());
+        assertEquals(2d, dogs.get(2).getWeight());
+        assertEquals(3d, dogs.get(3).getWeight());
+
+        dogs = testRealm.where(Dog.class).equalTo("age", 1).distinct("name", "age");
+        assertEquals(3, dogs.size());
+    }
+
+    public void testDistinctAfterCommit() {
+        populateDogs();
+
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).distinct("name");
+        assertEquals(3, dogs.size());
+
+        testRealm.beginTransaction();
+        testRealm.createObject(Dog.class).setName("C");
+        testRealm.createObject(Dog.class).setName("D");
+        testRealm.commitTransaction();
+
+        // The view is updated with the changes and is still distinct
+        assertEquals(4, dogs.size());
+        assertEquals("A", dogs.get(0).getName());
+        assertEquals("D", dogs.get(3).getName());
+    }
+
+    public void testDistinctComparesDoubleValues() {
+        testRealm.beginTransaction();
+        testRealm.clear(Dog.class);
+        double[] weights = {0d, -0d, Double.NaN, Double.longBitsToDouble(0x7ff8000000000001L), 1d};
+        for (double weight : weights) {
+            testRealm.createObject(Dog.class).setWeight(weight);
+        }
+        testRealm.commitTransaction();
+
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).distinct("weight");
+        assertEquals(3, dogs.size());
+        assertEquals(0d, dogs.get(0).getWeight());
+        assertTrue(Double.isNaN(dogs.get(1).getWeight()));
+        assertEquals(1d, dogs.get(2).getWeight());
+    }
+
+    public void testDistinctInvalidFieldsThrows() {
+        populateDogs();
+
+        RealmQuery<Dog> query = testRealm.where(Dog.class);
+        try {
+            query.distinct();
+            fail("At least one field must be given");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.distinct("name", "nonExistingField");
+            fail("Field does not exist");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            query.distinct("owner.name");
+            fail("Fields of child objects are not supported");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    private void populateFullText() {
+        testRealm.beginTransaction();
+        testRealm.clear(AnnotationTypes.class);
+        String[] texts = {"The quick brown fox", "A quick brown dog", "Lazy dogs, lazy foxes", "The Fox"};
+        for (String text : texts) {
+            AnnotationTypes object = testRealm.createObject(AnnotationTypes.class);
+            object.setIndexString(text);
+            object.setFullTextString(text);
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testMatches() {
+        populateFullText();
+
+        RealmResults<AnnotationTypes> results = testRealm.where(AnnotationTypes.class).matches("fullTextString", "fox").findAll();
+        assertEquals(2, results.size());
+        assertEquals("The quick brown fox", results.get(0).getIndexString());
+        assertEquals("The Fox", results.get(1).getIndexString());
+
+        results = testRealm.where(AnnotationTypes.class).matches("fullTextString", "BROWN quick").findAll();
+        assertEquals(2, results.size());
+
+        results = testRealm.where(AnnotationTypes.class).matches("fullTextString", "quick lazy").findAll();
+        assertEquals(0, results.size());
+
+        assertEquals(1, testRealm.where(AnnotationTypes.class)
+                .matches("fullTextString", "quick")
+                .beginsWith("indexString", "The")
+                .count());
+    }
+
+    public void testMatchesAfterUpdate() {
+        populateFullText();
+
+        testRealm.beginTransaction();
+        AnnotationTypes object = testRealm.where(AnnotationTypes.class).matches("fullTextString", "lazy").findFirst();
+        object.setFullTextString("Sleepy cats");
+        testRealm.commitTransaction();
+        assertEquals(0, testRealm.where(AnnotationTypes.class).matches("fullTextString", "lazy").count());
+        assertEquals(1, testRealm.where(AnnotationTypes.class).matches("fullTextString", "cats").count());
+
+        testRealm.beginTransaction();
+        testRealm.where(AnnotationTypes.class).matches("fullTextString", "fox").findFirst().removeFromRealm();
+        testRealm.commitTransaction();
+        RealmResults<AnnotationTypes> results = testRealm.where(AnnotationTypes.class).matches("fullTextString", "fox").findAll();
+        assertEquals(1, results.size());
+        assertEquals("The Fox", results.first().getIndexString());
+    }
+
+    public void testMatchesAfterSetString() {
+        populateFullText();
+
+        testRealm.beginTransaction();
+        testRealm.where(AnnotationTypes.class).matches("fullTextString", "fox").findAll()
+                .setString("fullTextString", "Sleepy cats");
+        testRealm.commitTransaction();
+        assertEquals(0, testRealm.where(AnnotationTypes.class).matches("fullTextString", "fox").count());
+        assertEquals(2, testRealm.where(AnnotationTypes.class).matches("fullTextString", "cats").count());
+        assertEquals(1, testRealm.where(AnnotationTypes.class).matches("fullTextString", "brown").count());
+    }
+
+    public void testFullTextEntriesRemovedWithObjects() {
+        populateFullText();
+        populateFullText(); // Clears the objects of the first call
+        Table index = testRealm.getFullTextIndex("AnnotationTypes", "fullTextString");
+        assertEquals(13, index.size());
+
+        testRealm.beginTransaction();
+        testRealm.where(AnnotationTypes.class).equalTo("indexString", "The Fox").findFirst().removeFromRealm();
+        assertEquals(11, index.size());
+        testRealm.where(AnnotationTypes.class).equalTo("indexString", "A quick brown dog").findAll().clear();
+        assertEquals(7, index.size());
+        testRealm.where(AnnotationTypes.class).beginsWith("indexString", "Lazy").deleteAll();
+        assertEquals(4, index.size());
+        testRealm.allObjects(AnnotationTypes.class).remove(0);
+        testRealm.commitTransaction();
+
+        assertEquals(0, index.size());
+        assertEquals(0, testRealm.where(AnnotationTypes.class).matches("fullTextString", "quick").count());
+    }
+
+    public void testMatchesWithoutFullTextThrows() {
+        populateFullText();
+
+        try {
+            testRealm.where(AnnotationTypes.class).matches("indexString", "fox");
+            fail("indexString has no full text index");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AnnotationTypes.class).matches("fullTextString", " ,.");
+            fail("The text has no words");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testBeginsWithIndexedField() {
+        populateFullText();
+
+        RealmResults<AnnotationTypes> results = testRealm.where(AnnotationTypes.class).beginsWith("indexString", "The").findAll();
+        assertEquals(2, results.size());
+        assertEquals("The quick brown fox", results.get(0).getIndexString());
+        assertEquals("The Fox", results.get(1).getIndexString());
+
+        assertEquals(1, testRealm.where(AnnotationTypes.class).beginsWith("indexString", "The F").count());
+        assertEquals(0, testRealm.where(AnnotationTypes.class).beginsWith("indexString", "the").count());
+        assertEquals(2, testRealm.where(AnnotationTypes.class).beginsWith("indexString", "the", RealmQuery.CASE_INSENSITIVE).count());
+        assertEquals(4, testRealm.where(AnnotationTypes.class).beginsWith("indexString", "").count());
+        assertEquals(1, testRealm.where(AnnotationTypes.class)
+                .beginsWith("indexString", "Lazy")
+                .or()
+                .beginsWith("indexString", "A q")
+                .equalTo("fullTextString", "A quick brown dog")
+                .count());
+    }
+
+    public void testBeginsWithIndexedFieldAfterUpdate() {
+        populateFullText();
+
+        RealmResults<AnnotationTypes> results = testRealm.where(AnnotationTypes.class).beginsWith("indexString", "The").findAll();
+        assertEquals(2, results.size());
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AnnotationTypes.class).setIndexString("Then");
+        results.first().setIndexString("A fox");
+        testRealm.commitTransaction();
+
+        assertEquals(2, results.size());
+        assertEquals("The Fox", results.get(0).getIndexString());
+        assertEquals("Then", results.get(1).getIndexString());
+    }
+
+    public void testExplain() {
+        populateFullText();
+
+        QueryExplanation explanation = testRealm.where(AnnotationTypes.class).beginsWith("fullTextString", "The").explain();
+        assertTrue(explanation.getIndexedConditions().isEmpty());
+        assertEquals("fullTextString beginsWith \"The\"", explanation.getConditions());
+        assertEquals(4, explanation.getEstimatedRowsScanned());
+        assertEquals(2, explanation.getRowsFound());
+
+        // Core has no range lookup in the string index, so beginsWith scans the column even when it is indexed
+        explanation = testRealm.where(AnnotationTypes.class).beginsWith("indexString", "The").explain();
+        assertTrue(explanation.getIndexedConditions().isEmpty());
+        assertEquals(4, explanation.getEstimatedRowsScanned());
+        assertEquals(2, explanation.getRowsFound());
+
+        explanation = testRealm.where(AnnotationTypes.class)
+                .matches("fullTextString", "fox")
+                .equalTo("indexString", "The Fox")
+                .explain();
+        assertEquals(2, explanation.getIndexedConditions().size());
+        assertEquals("matches(fullTextString)", explanation.getIndexedConditions().get(0));
+        assertEquals("==(indexString)", explanation.getIndexedConditions().get(1));
+        assertEquals(1, explanation.getEstimatedRowsScanned());
+        assertEquals(1, explanation.getRowsFound());
+        assertTrue(explanation.getDurationNanos() >= 0);
+    }
+
+    public void testExplainConditionTree() {
+        populateDogs();
+
+        QueryExplanation explanation = testRealm.where(Dog.class)
+                .equalTo("age", 1)
+                .beginGroup()
+                    .equalTo("name", "A", RealmQuery.CASE_INSENSITIVE)
+                    .or()
+                    .greaterThan("weight", 3d)
+                .endGroup()
+                .or()
+                .equalTo("owner.name", "Alice")
+                .explain();
+        assertEquals("OR\n" +
+                "  AND\n" +
+                "    age == 1\n" +
+                "    OR\n" +
+                "      name == \"A\" (case insensitive)\n" +
+                "      weight > 3.0\n" +
+                "  owner.name == \"Alice\"", explanation.getConditions());
+        assertTrue(explanation.getIndexedConditions().isEmpty());
+        assertEquals(5, explanation.getEstimatedRowsScanned());
+        assertEquals(2, explanation.getRowsFound());
+
+        assertEquals("TRUE", testRealm.where(Dog.class).explain().getConditions());
+    }
+
+    public void testExplainQueryOnResults() {
+        populateDogs();
+        RealmResults<Dog> dogs = testRealm.where(Dog.class).findAll();
+
+        QueryExplanation explanation = dogs.where().equalTo("age", 2).explain();
+        assertEquals("age == 2", explanation.getConditions());
+        assertEquals(1, explanation.getRowsFound());
+    }
+
+    public void testSlowQueryThreshold() {
+        populateDogs();
+
+        final List<String> warnings = new ArrayList<String>();
+        Logger logger = new Logger() {
+            public void v(String message) {}
+            public void v(String message, Throwable t) {}
+            public void d(String message) {}
+            public void d(String message, Throwable t) {}
+            public void i(String message) {}
+            public void i(String message, Throwable t) {}
+            public void w(String message) { warnings.add(message); }
+            public void w(String message, Throwable t) { warnings.add(message); }
+            public void e(String message) {}
+            public void e(String message, Throwable t) {}
+        };
+        RealmLog.add(logger);
+        try {
+            testRealm.where(Dog.class).equalTo("age", 1).findAll();
+            assertTrue(warnings.isEmpty());
+
+            RealmQuery.setSlowQueryThreshold(0);
+            testRealm.where(Dog.class).equalTo("age", 1).findAll();
+            assertEquals(1, warnings.size());
+            assertTrue(warnings.get(0).contains("age == 1"));
+        } finally {
+            RealmQuery.setSlowQueryThreshold(-1);
+            RealmLog.remove(logger);
+        }
+    }
+
     public void testSubqueryScope() {
         populateTestRealm();
         RealmResults<AllTypes> result = testRealm.where(AllTypes.class).lessThan("columnLong", 5).findAll();
         RealmResults<AllTypes> subQueryResult = result.where().greaterThan("columnLong", 3).findAll();
         assertEquals(1, subQueryResult.size());
     }
+
+    public void testDeleteAll() {
+        populateTestRealm();
+        testRealm.beginTransaction();
+        assertEquals(5, testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 5).deleteAll());
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_DATA_SIZE - 5, testRealm.allObjects(AllTypes.class).size());
+        assertEquals(0, testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 5).count());
+        assertEquals(TEST_DATA_SIZE, testRealm.allObjects(NonLatinFieldNames.class).size());
+    }
+
+    public void testDeleteAllRemovesOwnedObjects() {
+        testRealm.beginTransaction();
+        for (String name : new String[] {"a", "b", "a"}) {
+            TreeNode node = testRealm.createObject(TreeNode.class);
+            node.setName(name);
+            for (int i = 0; i < 3; i++) {
+                TreeNode child = testRealm.createObject(TreeNode.class);
+                child.setName(name + i);
+                Dog dog = testRealm.createObject(Dog.class);
+                dog.setName(name + i);
+                child.setDog(dog);
+                node.getChildren().add(child);
+            }
+        }
+        testRealm.commitTransaction();
+
+        testRealm.beginTransaction();
+        assertEquals(2, testRealm.where(TreeNode.class).equalTo("name", "a").deleteAll());
+        testRealm.commitTransaction();
+
+        assertEquals(4, testRealm.allObjects(TreeNode.class).size());
+        assertEquals(3, testRealm.allObjects(Dog.class).size());
+        TreeNode b = testRealm.where(TreeNode.class).equalTo("name", "b").findFirst();
+        assertEquals(3, b.getChildren().size());
+        assertEquals("b2", b.getChildren().get(2).getDog().getName());
+    }
 }
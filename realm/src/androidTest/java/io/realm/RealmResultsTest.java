@@ -18,7 +18,9 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.text.Collator;
 import java.util.Date;
+import java.util.Locale;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -27,8 +29,11 @@ import java.util.concurrent.Future;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.Cat;
+import io.realm.entities.Dog;
+import io.realm.entities.IntegerTypes;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.TreeNode;
 
 public class RealmResultsTest extends AndroidTestCase {
     protected final static int TEST_DATA_SIZE = 2516;
@@ -149,6 +154,199 @@ public class RealmResultsTest extends AndroidTestCase {
         assertEquals(0, resultList.size());
     }
 
+    public void testDeleteAllFromRealm() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+        AllTypes last = testRealm.where(AllTypes.class).equalTo(FIELD_LONG, TEST_DATA_SIZE - 1).findFirst();
+
+        testRealm.beginTransaction();
+        assertEquals(10, resultList.deleteAllFromRealm());
+        testRealm.commitTransaction();
+
+        assertEquals(0, resultList.size());
+        assertEquals(TEST_DATA_SIZE - 10, testRealm.allObjects(AllTypes.class).size());
+        assertEquals(0, testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).count());
+        assertEquals(TEST_DATA_SIZE - 1, last.getColumnLong()); // Moved by the deletes
+    }
+
+    public void testDeleteAllFromRealmOfAllObjects() {
+        testRealm.beginTransaction();
+        assertEquals(TEST_DATA_SIZE, testRealm.allObjects(AllTypes.class).deleteAllFromRealm());
+        testRealm.commitTransaction();
+
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+        assertEquals(TEST_DATA_SIZE, testRealm.allObjects(NonLatinFieldNames.class).size());
+    }
+
+    public void testSetValue() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+
+        testRealm.beginTransaction();
+        resultList.setValue(FIELD_BOOLEAN, true);
+        resultList.setValue(FIELD_STRING, "updated");
+        resultList.setValue(FIELD_DOUBLE, 42);
+        testRealm.commitTransaction();
+
+        assertEquals(10, resultList.size());
+        for (AllTypes allTypes : resultList) {
+            assertTrue(allTypes.isColumnBoolean());
+            assertEquals("updated", allTypes.getColumnString());
+            assertEquals(42d, allTypes.getColumnDouble());
+        }
+        assertEquals(10, testRealm.where(AllTypes.class).equalTo(FIELD_STRING, "updated").count());
+        assertEquals(TEST_DATA_SIZE / 2 + 5, testRealm.where(AllTypes.class).equalTo(FIELD_BOOLEAN, true).count());
+    }
+
+    public void testSetTypedValues() {
+        RealmResults<AllTypes> resultList = testRealm.allObjects(AllTypes.class);
+        Date date = new Date(42000);
+
+        testRealm.beginTransaction();
+        resultList.setLong(FIELD_LONG, 42);
+        resultList.setFloat(FIELD_FLOAT, 1.5f);
+        resultList.setDouble(FIELD_DOUBLE, 2.5d);
+        resultList.setBoolean(FIELD_BOOLEAN, false);
+        resultList.setString(FIELD_STRING, "updated");
+        resultList.setDate(FIELD_DATE, date);
+        resultList.setBinary("columnBinary", new byte[] {4, 5});
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_LONG, 42).count());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_FLOAT, 1.5f).count());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_DOUBLE, 2.5d).count());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_BOOLEAN, false).count());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_STRING, "updated").count());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_DATE, date).count());
+        AllTypes last = resultList.last();
+        assertEquals(2, last.getColumnBinary().length);
+        assertEquals(5, last.getColumnBinary()[1]);
+    }
+
+    public void testSetValueOfEmptyResults() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).equalTo(FIELD_STRING, "Not there").findAll();
+
+        testRealm.beginTransaction();
+        resultList.setValue(FIELD_LONG, 42L);
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.where(AllTypes.class).equalTo(FIELD_LONG, 42).count());
+    }
+
+    public void testSetValueWithWrongTypeThrows() {
+        RealmResults<AllTypes> resultList = testRealm.allObjects(AllTypes.class);
+        testRealm.beginTransaction();
+        try {
+            resultList.setValue(FIELD_LONG, "42");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.setValue(FIELD_LONG, 4.2d);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.setValue(FIELD_STRING, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.setBoolean(FIELD_STRING, true);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.setValue("columnRealmObject", null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.setLong("nonExistingField", 42);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testSetValueOutsideTransactionThrows() {
+        try {
+            testRealm.allObjects(AllTypes.class).setLong(FIELD_LONG, 42);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testIncrement() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+
+        testRealm.beginTransaction();
+        resultList.increment(FIELD_LONG, 100);
+        testRealm.commitTransaction();
+
+        assertEquals(0, resultList.size()); // The objects no longer match the query
+        assertEquals(0, testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).count());
+        // The incremented objects and those which already had these values
+        assertEquals(20, testRealm.where(AllTypes.class).between(FIELD_LONG, 100, 109).count());
+        assertEquals(TEST_DATA_SIZE, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testIncrementAllObjects() {
+        testRealm.beginTransaction();
+        testRealm.allObjects(AllTypes.class).increment(FIELD_LONG, -1);
+        testRealm.commitTransaction();
+
+        assertEquals(-1, testRealm.where(AllTypes.class).minimumInt(FIELD_LONG));
+        assertEquals(TEST_DATA_SIZE - 2, testRealm.where(AllTypes.class).maximumInt(FIELD_LONG));
+    }
+
+    public void testIncrementWrapsAroundAtFieldSize() {
+        testRealm.beginTransaction();
+        IntegerTypes values = testRealm.createObject(IntegerTypes.class);
+        values.setColumnInt(Integer.MAX_VALUE);
+        values.setColumnShort(Short.MIN_VALUE);
+        values.setColumnByte(Byte.MAX_VALUE);
+        values.setColumnLong(Long.MAX_VALUE);
+        RealmResults<IntegerTypes> results = testRealm.allObjects(IntegerTypes.class);
+        results.increment("columnInt", 1);
+        results.increment("columnShort", -1);
+        results.increment("columnByte", 2);
+        results.increment("columnLong", 1);
+        testRealm.commitTransaction();
+
+        assertEquals(Integer.MIN_VALUE, values.getColumnInt());
+        assertEquals(Short.MAX_VALUE, values.getColumnShort());
+        assertEquals(Byte.MIN_VALUE + 1, values.getColumnByte());
+        assertEquals(Long.MIN_VALUE, values.getColumnLong());
+        // The stored values are those of the fields, so queries see them too
+        assertEquals(1, testRealm.where(IntegerTypes.class).equalTo("columnInt", Integer.MIN_VALUE).count());
+    }
+
+    public void testIncrementViewWrapsAroundAtFieldSize() {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            testRealm.createObject(IntegerTypes.class).setColumnInt(Integer.MAX_VALUE - i);
+        }
+        RealmResults<IntegerTypes> results = testRealm.where(IntegerTypes.class)
+                .greaterThan("columnInt", Integer.MAX_VALUE - 2).findAll();
+        results.increment("columnInt", 2);
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.where(IntegerTypes.class).equalTo("columnInt", Integer.MAX_VALUE).count());
+        assertEquals(1, testRealm.where(IntegerTypes.class).equalTo("columnInt", Integer.MIN_VALUE).count());
+        assertEquals(1, testRealm.where(IntegerTypes.class).equalTo("columnInt", Integer.MIN_VALUE + 1).count());
+    }
+
+    public void testIncrementNonIntegerFieldThrows() {
+        testRealm.beginTransaction();
+        try {
+            testRealm.allObjects(AllTypes.class).increment(FIELD_DOUBLE, 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
     /*public void testRemoveLastShouldFail() {
         RealmResults<AllTypes> resultsList = realm.where(AllTypes.class).equalTo(FIELD_STRING, "Not there").findAll();
         try {
@@ -162,6 +360,58 @@ public class RealmResultsTest extends AndroidTestCase {
         }
     }*/
 
+    // Creates a node with a dog and two children with a dog each, all owned by the node
+    private void createTreeNode(String name) {
+        TreeNode node = testRealm.createObject(TreeNode.class);
+        node.setName(name);
+        node.setDog(testRealm.createObject(Dog.class));
+        for (int i = 0; i < 2; i++) {
+            TreeNode child = testRealm.createObject(TreeNode.class);
+            child.setName(name + "." + i);
+            child.setDog(testRealm.createObject(Dog.class));
+            node.getChildren().add(child);
+        }
+    }
+
+    public void testRemoveRemovesOwnedObjects() {
+        testRealm.beginTransaction();
+        createTreeNode("a");
+        createTreeNode("b");
+        testRealm.commitTransaction();
+
+        RealmResults<TreeNode> roots = testRealm.where(TreeNode.class).equalTo("name", "a").or().equalTo("name", "b")
+                .findAllSorted("name");
+        testRealm.beginTransaction();
+        roots.remove(0);
+        testRealm.commitTransaction();
+
+        assertEquals(3, testRealm.allObjects(TreeNode.class).size());
+        assertEquals(3, testRealm.allObjects(Dog.class).size());
+        assertEquals(0, testRealm.where(TreeNode.class).beginsWith("name", "a").count());
+        assertEquals(1, roots.size());
+        assertEquals("b", roots.get(0).getName());
+        assertEquals(2, roots.get(0).getChildren().size());
+    }
+
+    public void testRemoveLastRemovesOwnedObjects() {
+        testRealm.beginTransaction();
+        createTreeNode("a");
+        createTreeNode("b");
+        testRealm.commitTransaction();
+
+        RealmResults<TreeNode> roots = testRealm.where(TreeNode.class).equalTo("name", "a").or().equalTo("name", "b")
+                .findAllSorted("name");
+        testRealm.beginTransaction();
+        roots.removeLast();
+        testRealm.commitTransaction();
+
+        assertEquals(3, testRealm.allObjects(TreeNode.class).size());
+        assertEquals(3, testRealm.allObjects(Dog.class).size());
+        assertEquals(0, testRealm.where(TreeNode.class).beginsWith("name", "b").count());
+        assertEquals(1, roots.size());
+        assertEquals("a", roots.get(0).getName());
+    }
+
     public void testResultListGet() {
         RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
 
@@ -553,25 +803,134 @@ public class RealmResultsTest extends AndroidTestCase {
         }
     }
 
-    public void testSortByChildObject() {
+    private void populateOwnersWithCats() {
         testRealm.beginTransaction();
+        String[] names = {"b", "c", "a"};
+        for (int i = 0; i < names.length; i++) {
+            Owner owner = testRealm.createObject(Owner.class);
+            owner.setName("owner" + i);
+            Cat cat = testRealm.createObject(Cat.class);
+            cat.setName(names[i]);
+            cat.setAge(names.length - i);
+            owner.setCat(cat);
+        }
         Owner owner = testRealm.createObject(Owner.class);
-        owner.setName("owner");
-        Cat cat = testRealm.createObject(Cat.class);
-        cat.setName("cat");
-        owner.setCat(cat);
+        owner.setName("owner" + names.length);
         testRealm.commitTransaction();
+    }
+
+    public void testSortByChildObject() {
+        populateOwnersWithCats();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAll();
+        owners.sort("cat.name");
+        assertEquals(4, owners.size());
+        assertNull(owners.get(0).getCat());
+        assertEquals("a", owners.get(1).getCat().getName());
+        assertEquals("b", owners.get(2).getCat().getName());
+        assertEquals("c", owners.get(3).getCat().getName());
+
+        owners.sort("cat.name", RealmResults.SORT_ORDER_DESCENDING);
+        assertEquals("c", owners.get(0).getCat().getName());
+        assertEquals("b", owners.get(1).getCat().getName());
+        assertEquals("a", owners.get(2).getCat().getName());
+        assertNull(owners.get(3).getCat());
+    }
+
+    public void testSortByChildObjectMultiple() {
+        populateOwnersWithCats();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAll();
+        owners.sort(new String[] {"cat.age", "name"}, new boolean[] {RealmResults.SORT_ORDER_ASCENDING, RealmResults.SORT_ORDER_ASCENDING});
+        assertEquals(4, owners.size());
+        assertEquals("owner3", owners.get(0).getName());
+        assertEquals("owner2", owners.get(1).getName());
+        assertEquals("owner1", owners.get(2).getName());
+        assertEquals("owner0", owners.get(3).getName());
+    }
+
+    public void testSortByRealmListThrows() {
+        populateOwnersWithCats();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAll();
+        try {
+            owners.sort("dogs.name");
+            fail("Sorting by RealmList properties should result in a IllegalArgumentException");
+        } catch (IllegalArgumentException ignore) {
+        }
+    }
 
-        RealmQuery<Owner> query = testRealm.where(Owner.class);
-        RealmResults<Owner> owners = query.findAll();
+    public void testSortByChildObjectWrongFieldThrows() {
+        populateOwnersWithCats();
 
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAll();
         try {
-            owners.sort("cat.name");
-            fail("Sorting by child object properties should result in a IllegalArgumentException");
+            owners.sort("cat.nonExistingField");
+            fail("Sorting by a non-existing field should result in a IllegalArgumentException");
         } catch (IllegalArgumentException ignore) {
         }
     }
 
+    public void testSortWithCollator() {
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        for (String value : new String[] {"fig", "Carl", "\u00e9clair", "alice", "eagle", "Bob"}) {
+            AllTypes allTypes = testRealm.createObject(AllTypes.class);
+            allTypes.setColumnString(value);
+        }
+        testRealm.commitTransaction();
+
+        Collator collator = Collator.getInstance(Locale.US);
+        collator.setStrength(Collator.PRIMARY);
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        results.sort(FIELD_STRING, RealmResults.SORT_ORDER_ASCENDING, collator);
+        String[] expected = {"alice", "Bob", "Carl", "eagle", "\u00e9clair", "fig"};
+        assertEquals(expected.length, results.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], results.get(i).getColumnString());
+        }
+
+        results = testRealm.where(AllTypes.class).findAllSorted(FIELD_STRING, RealmResults.SORT_ORDER_DESCENDING, collator);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[expected.length - 1 - i], results.get(i).getColumnString());
+        }
+    }
+
+    public void testSortWithCollatorAfterCommit() {
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        for (String value : new String[] {"carl", "Alice", "bob"}) {
+            testRealm.createObject(AllTypes.class).setColumnString(value);
+        }
+        testRealm.commitTransaction();
+
+        Collator collator = Collator.getInstance(Locale.US);
+        collator.setStrength(Collator.PRIMARY);
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        results.sort(FIELD_STRING, RealmResults.SORT_ORDER_ASCENDING, collator);
+        collator.setStrength(Collator.IDENTICAL); // Does not change the sort
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnString("BOB");
+        testRealm.createObject(AllTypes.class).setColumnString("aaron");
+        testRealm.commitTransaction();
+
+        String[] expected = {"aaron", "Alice", "bob", "BOB", "carl"};
+        assertEquals(expected.length, results.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], results.get(i).getColumnString());
+        }
+    }
+
+    public void testSortWithCollatorOnNonStringFieldThrows() {
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        try {
+            results.sort(FIELD_LONG, RealmResults.SORT_ORDER_ASCENDING, Collator.getInstance());
+            fail("Collation only applies to String fields");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     public void testSortWithNullThrows() {
         RealmResults<AllTypes> result = testRealm.allObjects(AllTypes.class);
         try {
@@ -36,11 +36,14 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
 import io.realm.entities.StringOnly;
+import io.realm.entities.TreeNode;
 import io.realm.exceptions.RealmException;
+import io.realm.exceptions.RealmIOException;
 import io.realm.internal.Table;
 
 import static io.realm.internal.test.ExtraTests.assertArrayEquals;
@@ -115,24 +118,36 @@ public class RealmTest extends AndroidTestCase {
         newRealm.close();
     }
 
+    public void testRealmCacheUsesCanonicalPath() {
+        File folder = new File(getContext().getFilesDir(), "subfolder");
+        assertTrue(folder.isDirectory() || folder.mkdir());
+        Realm newRealm = Realm.getInstance(folder, "../" + Realm.DEFAULT_REALM_NAME);
+        try {
+            assertSame(testRealm, newRealm);
+            assertTrue(testRealm.getCoordinator().getInstances().contains(testRealm));
+        } finally {
+            newRealm.close();
+        }
+    }
+
     public void testInternalRealmChangedHandlersRemoved() {
         final String REALM_NAME = "test-internalhandlers";
         Realm.deleteRealmFile(getContext(), REALM_NAME);
-        Realm.handlers.clear(); // Make sure that handlers from other unit tests doesn't interfere.
 
         // Open and close first instance of a Realm
         Realm realm = null;
         try {
             realm = Realm.getInstance(getContext(), REALM_NAME);
-            assertEquals(1, Realm.handlers.size());
+            RealmCoordinator coordinator = realm.getCoordinator();
+            assertEquals(1, coordinator.getHandlers().size());
             realm.close();
 
             // All Realms closed. No handlers should be alive.
-            assertEquals(0, Realm.handlers.size());
+            assertEquals(0, coordinator.getHandlers().size());
 
             // Open instance the 2nd time. Old handler should now be gone
             realm = Realm.getInstance(getContext(), REALM_NAME);
-            assertEquals(1, Realm.handlers.size());
+            assertEquals(1, coordinator.getHandlers().size());
             realm.close();
 
         } finally {
@@ -161,6 +176,114 @@ public class RealmTest extends AndroidTestCase {
         }
     }
 
+    public void testReadOnlyInstance() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Long> future = executorService.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Realm realm = Realm.getReadOnlyInstance(getContext(), Realm.DEFAULT_REALM_NAME);
+                try {
+                    assertTrue(realm.isReadOnly());
+                    try {
+                        realm.beginTransaction();
+                        fail("A read-only Realm should not allow write transactions");
+                    } catch (IllegalStateException ignored) {
+                    }
+                    return realm.where(AllTypes.class).count();
+                } finally {
+                    realm.close();
+                }
+            }
+        });
+        assertEquals(TEST_DATA_SIZE, future.get().longValue());
+        executorService.shutdown();
+    }
+
+    public void testReadOnlyInstanceMissingFile() {
+        Realm.deleteRealmFile(getContext(), "missing.realm");
+        try {
+            Realm.getReadOnlyInstance(getContext(), "missing.realm");
+            fail("A read-only Realm should not be created");
+        } catch (RealmIOException ignored) {
+        }
+    }
+
+    public void testReadOnlyInstanceOnThreadWithWriteableInstance() {
+        assertFalse(testRealm.isReadOnly());
+        try {
+            Realm.getReadOnlyInstance(getContext(), Realm.DEFAULT_REALM_NAME);
+            fail("The Realm is already open for writing on this thread");
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testHandlePool() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        final RealmCoordinator coordinator = testRealm.getCoordinator();
+        Realm.setHandlePoolSize(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 3; i++) {
+                Future<Long> future = executorService.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        Realm realm = Realm.getInstance(getContext());
+                        try {
+                            assertEquals(0, coordinator.getSharedGroupPool().size());
+                            return realm.where(AllTypes.class).count();
+                        } finally {
+                            realm.close();
+                        }
+                    }
+                });
+                assertEquals(TEST_DATA_SIZE, future.get().longValue());
+                assertEquals(1, coordinator.getSharedGroupPool().size());
+            }
+        } finally {
+            Realm.setHandlePoolSize(0);
+            coordinator.reset();
+            executorService.shutdown();
+        }
+        assertEquals(0, coordinator.getSharedGroupPool().size());
+    }
+
+    public void testHandlePoolPrewarmAndShrink() {
+        RealmCoordinator coordinator = testRealm.getCoordinator();
+        assertEquals(0, Realm.prewarmHandlePool(getContext(), 2)); // Pooling is disabled
+        Realm.setHandlePoolSize(3);
+        try {
+            assertEquals(2, Realm.prewarmHandlePool(getContext(), 2));
+            assertEquals(2, coordinator.getSharedGroupPool().size());
+            assertEquals(1, Realm.prewarmHandlePool(getContext(), 5)); // Up to the pool size
+            assertEquals(3, coordinator.getSharedGroupPool().size());
+
+            Realm.setHandlePoolSize(1);
+            assertEquals(1, coordinator.getSharedGroupPool().size());
+        } finally {
+            Realm.setHandlePoolSize(0);
+        }
+        assertEquals(0, coordinator.getSharedGroupPool().size());
+    }
+
+    public void testHandlePoolIdleTimeout() throws InterruptedException {
+        RealmCoordinator coordinator = testRealm.getCoordinator();
+        Realm.setHandlePoolSize(1);
+        Realm.setHandlePoolIdleTimeout(50);
+        try {
+            Realm.prewarmHandlePool(getContext(), 1);
+            assertEquals(1, coordinator.getSharedGroupPool().size());
+            // Closed by the timer, without the file being opened or closed again
+            for (int i = 0; i < 100 && coordinator.getSharedGroupPool().size() > 0; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, coordinator.getSharedGroupPool().size());
+        } finally {
+            Realm.setHandlePoolSize(0);
+            Realm.setHandlePoolIdleTimeout(60 * 1000);
+        }
+    }
+
     // Table getTable(Class<?> clazz)
     public void testShouldGetTable() {
         Table table = testRealm.getTable(AllTypes.class);
@@ -568,6 +691,22 @@ public class RealmTest extends AndroidTestCase {
     }
 
 
+    public void testClearRemovesOwnedObjects() {
+        testRealm.beginTransaction();
+        TreeNode node = testRealm.createObject(TreeNode.class);
+        node.setDog(testRealm.createObject(Dog.class));
+        node.getChildren().add(testRealm.createObject(TreeNode.class));
+        testRealm.createObject(Dog.class); // Not owned
+        testRealm.commitTransaction();
+
+        testRealm.beginTransaction();
+        testRealm.clear(TreeNode.class);
+        testRealm.commitTransaction();
+
+        assertEquals(0, testRealm.allObjects(TreeNode.class).size());
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+    }
+
     // void clear(Class<?> classSpec)
     public void testClear() {
         // ** clear non existing table should succeed
@@ -959,6 +1098,62 @@ public class RealmTest extends AndroidTestCase {
         assertEquals(dog2.getName(), copiedList.get(1).getName());
     }
 
+    public void testCopyToRealmSharedObjectsCopiedOnce() {
+        Dog dog = new Dog();
+        dog.setName("Fido");
+        List<Owner> owners = new ArrayList<Owner>();
+        for (int i = 0; i < 10; i++) {
+            Owner owner = new Owner();
+            owner.setName("Owner " + i);
+            owner.setDogs(new RealmList<Dog>());
+            owner.getDogs().add(dog);
+            owner.getDogs().add(dog);
+            owners.add(owner);
+        }
+
+        testRealm.beginTransaction();
+        List<Owner> copiedOwners = testRealm.copyToRealm(owners);
+        testRealm.commitTransaction();
+
+        assertEquals(10, copiedOwners.size());
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+        assertEquals(2, copiedOwners.get(9).getDogs().size());
+        assertEquals("Fido", copiedOwners.get(9).getDogs().get(1).getName());
+    }
+
+    public void testCopyToRealmCyclicObjects() {
+        CyclicType first = new CyclicType();
+        first.setName("first");
+        CyclicType second = new CyclicType();
+        second.setName("second");
+        first.setObject(second);
+        second.setObject(first);
+        first.setObjects(new RealmList<CyclicType>());
+        first.getObjects().add(first);
+
+        testRealm.beginTransaction();
+        CyclicType copy = testRealm.copyToRealm(first);
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.allObjects(CyclicType.class).size());
+        assertEquals("second", copy.getObject().getName());
+        assertEquals("first", copy.getObject().getObject().getName());
+        assertEquals(copy, copy.getObjects().first());
+    }
+
+    public void testCopyToRealmLinksToManagedObjects() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName("Fido");
+        Owner owner = new Owner();
+        owner.setDogs(new RealmList<Dog>());
+        owner.getDogs().add(dog);
+        testRealm.copyToRealm(owner);
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+    }
+
     private void fileCopy(File src, File dst) throws IOException {
         FileInputStream inStream = new FileInputStream(src);
         FileOutputStream outStream = new FileOutputStream(dst);
@@ -17,6 +17,7 @@
 package io.realm.entities;
 
 import io.realm.RealmObject;
+import io.realm.annotations.FullText;
 import io.realm.annotations.Ignore;
 import io.realm.annotations.Index;
 
@@ -26,6 +27,8 @@ public class AnnotationTypes extends RealmObject {
     private String notIndexString;
     @Ignore
     private String ignoreString;
+    @FullText
+    private String fullTextString;
 
     public String getIndexString() {
         return indexString;
@@ -51,5 +54,13 @@ public class AnnotationTypes extends RealmObject {
         this.ignoreString = ignoreString;
     }
 
+    public String getFullTextString() {
+        return fullTextString;
+    }
+
+    public void setFullTextString(String fullTextString) {
+        this.fullTextString = fullTextString;
+    }
+
 
 }
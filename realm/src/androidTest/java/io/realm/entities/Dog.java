@@ -20,7 +20,9 @@ package io.realm.entities;
 import java.util.Date;
 
 import io.realm.RealmObject;
+import io.realm.RealmResults;
 import io.realm.annotations.Index;
+import io.realm.annotations.LinkingObjects;
 
 public class Dog extends RealmObject {
 
@@ -32,6 +34,8 @@ public class Dog extends RealmObject {
     private boolean hasTail;
     private Date birthday;
     private Owner owner;
+    @LinkingObjects("dogs")
+    private RealmResults<Owner> owners;
 
     public Dog() {
     }
@@ -48,6 +52,10 @@ public class Dog extends RealmObject {
         this.owner = owner;
     }
 
+    public RealmResults<Owner> getOwners() {
+        return owners;
+    }
+
     public Date getBirthday() {
         return birthday;
     }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.entities;
+
+import io.realm.RealmObject;
+
+public class IntegerTypes extends RealmObject {
+    private int columnInt;
+    private short columnShort;
+    private byte columnByte;
+    private long columnLong;
+
+    public int getColumnInt() {
+        return columnInt;
+    }
+
+    public void setColumnInt(int columnInt) {
+        this.columnInt = columnInt;
+    }
+
+    public short getColumnShort() {
+        return columnShort;
+    }
+
+    public void setColumnShort(short columnShort) {
+        this.columnShort = columnShort;
+    }
+
+    public byte getColumnByte() {
+        return columnByte;
+    }
+
+    public void setColumnByte(byte columnByte) {
+        this.columnByte = columnByte;
+    }
+
+    public long getColumnLong() {
+        return columnLong;
+    }
+
+    public void setColumnLong(long columnLong) {
+        this.columnLong = columnLong;
+    }
+}
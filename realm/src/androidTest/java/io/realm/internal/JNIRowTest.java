@@ -56,6 +56,30 @@ public class JNIRowTest extends TestCase {
         MoreAsserts.assertEquals(newData, row.getBinaryByteArray(6));
     }
 
+    public void testAddLong() {
+        Table table = new Table();
+        table.addColumn(ColumnType.INTEGER, "integer");
+        table.add(Long.MAX_VALUE);
+        Row row = table.getRow(0);
+
+        row.addLong(0, 1);
+        assertEquals(Long.MIN_VALUE, row.getLong(0));
+
+        row.setLong(0, Integer.MAX_VALUE);
+        row.addLong(0, 1, Integer.SIZE);
+        assertEquals(Integer.MIN_VALUE, row.getLong(0));
+
+        row.setLong(0, Short.MIN_VALUE);
+        row.addLong(0, -1, Short.SIZE);
+        assertEquals(Short.MAX_VALUE, row.getLong(0));
+
+        row.setLong(0, 100);
+        row.addLong(0, 30, Byte.SIZE);
+        assertEquals((byte) 130, row.getLong(0));
+        row.addLong(0, -4, Byte.SIZE);
+        assertEquals(126, row.getLong(0));
+    }
+
     public void testMixed() {
         Table table = new Table();
 
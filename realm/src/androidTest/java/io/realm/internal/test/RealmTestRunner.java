@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.test;
+
+import android.os.Bundle;
+import android.test.InstrumentationTestRunner;
+import android.test.suitebuilder.annotation.LargeTest;
+
+/**
+ * Runs the functional tests, leaving out the benchmarks, which are annotated with {@link LargeTest}. The benchmarks
+ * only run when selected by size, annotation or class:
+ * <pre>
+ * adb shell am instrument -w -e size large io.realm.test/io.realm.internal.test.RealmTestRunner
+ * </pre>
+ */
+public class RealmTestRunner extends InstrumentationTestRunner {
+
+    // The arguments of InstrumentationTestRunner selecting tests
+    private static final String[] FILTER_ARGUMENTS = {"size", "annotation", "notAnnotation", "class", "package"};
+
+    @Override
+    public void onCreate(Bundle arguments) {
+        Bundle filtered = (arguments != null) ? new Bundle(arguments) : new Bundle();
+        for (String argument : FILTER_ARGUMENTS) {
+            if (filtered.containsKey(argument)) {
+                super.onCreate(arguments);
+                return;
+            }
+        }
+        filtered.putString("notAnnotation", LargeTest.class.getName());
+        super.onCreate(filtered);
+    }
+}
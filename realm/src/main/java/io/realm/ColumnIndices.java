@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.internal.ColumnInfo;
+
+/**
+ * An immutable snapshot of the column indices of the model classes in one Realm file, built when the schema is
+ * validated. As all fields are final, it can be shared between threads without locking.
+ */
+final class ColumnIndices {
+
+    private final long schemaVersion;
+    private final Map<Class<? extends RealmObject>, ColumnInfo> classes;
+    private final Map<String, long[]> ownedColumns;
+
+    ColumnIndices(long schemaVersion, Map<Class<? extends RealmObject>, ColumnInfo> classes) {
+        this.schemaVersion = schemaVersion;
+        this.classes = Collections.unmodifiableMap(new HashMap<Class<? extends RealmObject>, ColumnInfo>(classes));
+        Map<String, long[]> owned = new HashMap<String, long[]>();
+        for (Map.Entry<Class<? extends RealmObject>, ColumnInfo> entry : classes.entrySet()) {
+            long[] ownedColumnIndices = entry.getValue().getOwnedColumnIndices();
+            if (ownedColumnIndices.length > 0) {
+                owned.put(Realm.TABLE_PREFIX + entry.getKey().getSimpleName(), ownedColumnIndices);
+            }
+        }
+        this.ownedColumns = Collections.unmodifiableMap(owned);
+    }
+
+    /**
+     * Returns the version of the schema the column indices were validated against.
+     */
+    long getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    /**
+     * Returns the column indices of a model class, or {@code null} if the class was not validated.
+     */
+    ColumnInfo getColumnInfo(Class<? extends RealmObject> clazz) {
+        return classes.get(clazz);
+    }
+
+    /**
+     * Returns the indices of the owned columns of the tables having any, by table name.
+     */
+    Map<String, long[]> getOwnedColumns() {
+        return ownedColumns;
+    }
+
+    /**
+     * Returns a snapshot with the column indices of one more class.
+     */
+    ColumnIndices with(Class<? extends RealmObject> clazz, ColumnInfo columnInfo) {
+        Map<Class<? extends RealmObject>, ColumnInfo> copy
+                = new HashMap<Class<? extends RealmObject>, ColumnInfo>(classes);
+        copy.put(clazz, columnInfo);
+        return new ColumnIndices(schemaVersion, copy);
+    }
+}
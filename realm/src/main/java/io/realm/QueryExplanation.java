@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes how a {@link io.realm.RealmQuery} was run, see {@link RealmQuery#explain()}.
+ */
+public class QueryExplanation {
+
+    private final String conditions;
+    private final List<String> indexedConditions;
+    private final long estimatedRowsScanned;
+    private final long rowsFound;
+    private final long durationNanos;
+
+    QueryExplanation(String conditions, List<String> indexedConditions, long estimatedRowsScanned, long rowsFound,
+                     long durationNanos) {
+        this.conditions = conditions;
+        this.indexedConditions = Collections.unmodifiableList(indexedConditions);
+        this.estimatedRowsScanned = estimatedRowsScanned;
+        this.rowsFound = rowsFound;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the conditions of the query as a tree, one node on each line with children indented. Conditions using
+     * a search index are marked with [index].
+     * @return The condition tree.
+     */
+    public String getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Returns the conditions which look up their matches in a search index instead of scanning all objects,
+     * e.g. "matches(text)".
+     * @return The conditions using an index, in the order they were added.
+     */
+    public List<String> getIndexedConditions() {
+        return indexedConditions;
+    }
+
+    /**
+     * Returns the estimated number of objects tested by the query. This is the number of objects searched, unless a
+     * condition which must hold for all results uses a search index. Then it is the number of objects found in
+     * the index.
+     * @return The estimated number of objects tested.
+     */
+    public long getEstimatedRowsScanned() {
+        return estimatedRowsScanned;
+    }
+
+    /**
+     * Returns the number of objects found when running the query. Core does not count the objects it tests, so
+     * this is not the number of objects scanned, which can only be estimated, see {@link #getEstimatedRowsScanned()}.
+     * @return The number of objects found.
+     */
+    public long getRowsFound() {
+        return rowsFound;
+    }
+
+    /**
+     * Returns the time spent running the query.
+     * @return The time in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Conditions:\n").append(conditions).append('\n');
+        if (indexedConditions.isEmpty()) {
+            sb.append("No search index used.\n");
+        } else {
+            sb.append("Search index used by: ");
+            for (int i = 0; i < indexedConditions.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(indexedConditions.get(i));
+            }
+            sb.append('\n');
+        }
+        sb.append("Estimated rows scanned: ").append(estimatedRowsScanned).append('\n');
+        sb.append("Rows found: ").append(rowsFound).append('\n');
+        sb.append(String.format("Time: %.3f ms", durationNanos / 1000000.0));
+        return sb.toString();
+    }
+}
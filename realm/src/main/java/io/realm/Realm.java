@@ -16,7 +16,6 @@
 
 package io.realm;
 
-import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.os.Build;
@@ -40,19 +39,23 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.ColumnInfo;
 import io.realm.internal.ColumnType;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupPool;
 import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.android.DebugAndroidLogger;
 import io.realm.internal.android.ReleaseAndroidLogger;
@@ -92,36 +95,30 @@ public final class Realm implements Closeable {
     public static final String DEFAULT_REALM_NAME = "default.realm";
 
     private static final String TAG = "REALM";
-    private static final String TABLE_PREFIX = "class_";
-    protected static final ThreadLocal<Map<Integer, Realm>> realmsCache = new ThreadLocal<Map<Integer, Realm>>() {
-        @SuppressLint("UseSparseArrays")
+    static final String TABLE_PREFIX = "class_";
+    // The Realm instances open on this thread, by canonical path
+    protected static final ThreadLocal<Map<String, Realm>> realmsCache = new ThreadLocal<Map<String, Realm>>() {
         @Override
-        protected Map<Integer, Realm> initialValue() {
-            return new HashMap<Integer, Realm>(); // On Android we could use SparseArray<Realm> which is faster,
-                                                  // but incompatible with Java
-        }
-    };
-    private static final ThreadLocal<Map<Integer, Integer>> referenceCount
-            = new ThreadLocal<Map<Integer,Integer>>() {
-        @SuppressLint("UseSparseArrays")
-        @Override
-        protected Map<Integer, Integer> initialValue() {
-            return new HashMap<Integer, Integer>();
+        protected Map<String, Realm> initialValue() {
+            return new HashMap<String, Realm>();
         }
     };
     private static final int REALM_CHANGED = 14930352; // Just a nice big Fibonacci number. For no reason :)
-    protected static final Map<Handler, Integer> handlers = new ConcurrentHashMap<Handler, Integer>();
     private static final String APT_NOT_EXECUTED_MESSAGE = "Annotation processor may not have been executed.";
     private static final String INCORRECT_THREAD_MESSAGE = "Realm access from incorrect thread. Realm objects can only be accessed on the thread they where created.";
     private static final String CLOSED_REALM = "This Realm instance has already been closed, making it unusable.";
+    private static final String READ_ONLY_REALM = "This Realm instance was opened read-only, so it cannot be written to.";
 
     @SuppressWarnings("UnusedDeclaration")
     private static SharedGroup.Durability defaultDurability = SharedGroup.Durability.FULL;
     private boolean autoRefresh;
     private Handler handler;
 
-    private final int id;
     private final String path;
+    private final byte[] key;
+    private final RealmCoordinator coordinator;
+    private final boolean readOnly;
+    private int referenceCount; // Number of times this instance was returned by getInstance() and not closed
     private SharedGroup sharedGroup;
     private final ImplicitTransaction transaction;
     private final Map<Class<?>, String> simpleClassNames = new HashMap<Class<?>, String>(); // Map between original class and their class name
@@ -132,10 +129,16 @@ public final class Realm implements Closeable {
     private final Map<Class<?>, Constructor> generatedConstructors = new HashMap<Class<?>, Constructor>();
     private final List<RealmChangeListener> changeListeners = new ArrayList<RealmChangeListener>();
     private final Map<Class<?>, Table> tables = new HashMap<Class<?>, Table>();
+    private Table[] fullTextIndexes; // Found again when the number of tables changes
+    private long fullTextIndexesTableCount = -1;
     private static final long UNVERSIONED = -1;
 
-    // Package protected to be reachable by proxy classes
-    static final Map<String, Map<String, Long>> columnIndices = new HashMap<String, Map<String, Long>>();
+    private static volatile long initialFileSize = 0;
+    private static volatile long fileGrowthIncrement = 0;
+
+    // Column indices of the model classes in this file. Replaced, never modified, so it is a consistent snapshot.
+    private ColumnIndices columnIndices = new ColumnIndices(UNVERSIONED, new HashMap<Class<? extends RealmObject>, ColumnInfo>());
+
 
     static {
         RealmLog.add(BuildConfig.DEBUG ? new DebugAndroidLogger() : new ReleaseAndroidLogger());
@@ -148,18 +151,22 @@ public final class Realm implements Closeable {
         }
 
         // Check if we are in the right thread
-        Realm currentRealm = realmsCache.get().get(this.id);
+        Realm currentRealm = realmsCache.get().get(path);
         if (currentRealm != this) {
             throw new IllegalStateException(INCORRECT_THREAD_MESSAGE);
         }
     }
 
     // The constructor in private to enforce the use of the static one
-    private Realm(String absolutePath, byte[] key, boolean autoRefresh) {
-        this.sharedGroup = new SharedGroup(absolutePath, true, key);
+    private Realm(String canonicalPath, byte[] key, boolean autoRefresh, boolean readOnly) {
+        this.coordinator = RealmCoordinator.getCoordinator(canonicalPath);
+        SharedGroup pooledSharedGroup = coordinator.getSharedGroupPool().acquire(key);
+        this.sharedGroup = pooledSharedGroup != null ? pooledSharedGroup : new SharedGroup(canonicalPath, true, key);
         this.transaction = sharedGroup.beginImplicitTransaction();
-        this.path = absolutePath;
-        this.id = absolutePath.hashCode();
+        this.path = canonicalPath;
+        this.key = key;
+        this.readOnly = readOnly;
+        coordinator.addInstance(this);
         setAutoRefresh(autoRefresh);
     }
 
@@ -182,31 +189,47 @@ public final class Realm implements Closeable {
      */
     @Override
     public void close() {
-        Map<Integer, Integer> localRefCount = referenceCount.get();
-        Integer references = localRefCount.get(id);
-        if (references == null) {
-            references = 0;
-        }
-        if (sharedGroup != null && references == 1) {
-            realmsCache.get().remove(id);
-            sharedGroup.close();
-            sharedGroup = null;
-        }
-
-        int refCount = references - 1;
-        if (refCount < 0) {
+        if (referenceCount == 0) {
             RealmLog.w("Calling close() on a Realm that is already closed: " + getPath());
+        } else {
+            referenceCount--;
+        }
+        if (referenceCount > 0) {
+            return;
         }
-        localRefCount.put(id, Math.max(0, refCount));
 
-        if (handler != null && refCount <= 0) {
+        if (sharedGroup != null) {
+            Map<String, Realm> realms = realmsCache.get();
+            if (realms.get(path) == this) {
+                realms.remove(path);
+            }
+            coordinator.removeInstance(this);
+            releaseSharedGroup();
+            sharedGroup = null;
+        }
+        if (handler != null) {
             removeHandler(handler);
         }
     }
 
+    // Gives the SharedGroup to the pool of the file for reuse by the next instance, or closes it
+    private void releaseSharedGroup() {
+        if (SharedGroupPool.getMaxIdle() > 0 && !transaction.isInWriteTransaction()) {
+            try {
+                transaction.endRead();
+                coordinator.getSharedGroupPool().release(sharedGroup, key);
+                return;
+            } catch (RuntimeException e) {
+                RealmLog.w("Could not reuse the SharedGroup of " + path + ": " + e.getMessage());
+            }
+        }
+        sharedGroup.close();
+    }
+
     private void removeHandler(Handler handler) {
         handler.removeCallbacksAndMessages(null);
-        handlers.remove(handler);
+        coordinator.removeHandler(handler);
+        this.handler = null;
     }
 
     private class RealmCallback implements Handler.Callback {
@@ -220,6 +243,14 @@ public final class Realm implements Closeable {
         }
     }
 
+    /**
+     * Returns whether this Realm instance was opened read-only, with {@link #getReadOnlyInstance(Context, String)}.
+     * @return true if the Realm cannot be written to
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     /**
      * Retrieve the auto-refresh status of the Realm instance.
      * @return the auto-refresh status
@@ -245,7 +276,7 @@ public final class Realm implements Closeable {
 
         if (autoRefresh && !this.autoRefresh) { // Switch it on
             handler = new Handler(new RealmCallback());
-            handlers.put(handler, id);
+            coordinator.addHandler(handler);
         } else if (!autoRefresh && this.autoRefresh && handler != null) { // Switch it off
             removeHandler(handler);
         }
@@ -262,6 +293,61 @@ public final class Realm implements Closeable {
         return transaction.getTable(TABLE_PREFIX + simpleClassName);
     }
 
+    // Returns the name of the class stored in a table
+    static String getClassName(Table table) {
+        String tableName = table.getName();
+        return tableName.startsWith(TABLE_PREFIX) ? tableName.substring(TABLE_PREFIX.length()) : tableName;
+    }
+
+    boolean isInWriteTransaction() {
+        return transaction.isInWriteTransaction();
+    }
+
+    // Used by the proxy classes and queries for fields annotated with @FullText
+    Table getFullTextIndex(String simpleClassName, String fieldName) {
+        return transaction.getTable(FullTextIndex.getTableName(simpleClassName, fieldName));
+    }
+
+    boolean hasFullTextIndex(String simpleClassName, String fieldName) {
+        return transaction.hasTable(FullTextIndex.getTableName(simpleClassName, fieldName));
+    }
+
+    // Returns the full text index tables of all classes, whose entries are removed together with their objects
+    Table[] getFullTextIndexes() {
+        long tableCount = transaction.size();
+        if (tableCount != fullTextIndexesTableCount) {
+            List<Table> indexes = new ArrayList<Table>();
+            for (int i = 0; i < tableCount; i++) {
+                String tableName = transaction.getTableName(i);
+                if (tableName.startsWith(FullTextIndex.TABLE_PREFIX)) {
+                    indexes.add(transaction.getTable(tableName));
+                }
+            }
+            fullTextIndexes = indexes.toArray(new Table[indexes.size()]);
+            fullTextIndexesTableCount = tableCount;
+        }
+        return fullTextIndexes;
+    }
+
+    /**
+     * Creates the full text index for a String field and indexes the existing objects. This is needed in a
+     * migration when the {@link io.realm.annotations.FullText} annotation is added to an existing field.
+     *
+     * @param clazz the class of the field.
+     * @param fieldName the name of the String field.
+     * @throws java.lang.IllegalArgumentException if the field is not a String field.
+     */
+    // Public because of migrations
+    public void addFullTextIndex(Class<? extends RealmObject> clazz, String fieldName) {
+        checkIfValid();
+        Table table = getTable(clazz);
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0 || table.getColumnType(columnIndex) != ColumnType.STRING) {
+            throw new IllegalArgumentException(String.format("Field '%s' is not a String field.", fieldName));
+        }
+        FullTextIndex.initTable(transaction, table, clazz.getSimpleName(), fieldName);
+    }
+
     /**
      * Realm static constructor for the default realm "default.realm".
      * {link io.realm.close} must be called when you are done using the Realm instance.
@@ -333,7 +419,7 @@ public final class Realm implements Closeable {
      */
     @SuppressWarnings("UnusedDeclaration")
     public static Realm getInstance(Context context, String fileName, byte[] key) {
-        return Realm.create(context.getFilesDir(), fileName, key);
+        return Realm.create(context.getFilesDir(), fileName, key, false);
     }
 
     /**
@@ -351,7 +437,7 @@ public final class Realm implements Closeable {
      */
     @SuppressWarnings("UnusedDeclaration")
     public static Realm getInstance(File writeableFolder) {
-        return Realm.create(writeableFolder, DEFAULT_REALM_NAME, null);
+        return Realm.create(writeableFolder, DEFAULT_REALM_NAME, null, false);
     }
 
     /**
@@ -370,7 +456,7 @@ public final class Realm implements Closeable {
      */
     @SuppressWarnings("UnusedDeclaration")
     public static Realm getInstance(File writeableFolder, String fileName) {
-        return Realm.create(writeableFolder, fileName, null);
+        return Realm.create(writeableFolder, fileName, null, false);
     }
 
     /**
@@ -389,7 +475,7 @@ public final class Realm implements Closeable {
      */
     @SuppressWarnings("UnusedDeclaration")
     public static Realm getInstance(File writeableFolder, byte[] key) {
-        return Realm.create(writeableFolder, DEFAULT_REALM_NAME, key);
+        return Realm.create(writeableFolder, DEFAULT_REALM_NAME, key, false);
     }
 
     /**
@@ -409,39 +495,171 @@ public final class Realm implements Closeable {
      */
     @SuppressWarnings("UnusedDeclaration")
     public static Realm getInstance(File writeableFolder, String fileName, byte[] key) {
-        return Realm.create(writeableFolder, fileName, key);
+        return Realm.create(writeableFolder, fileName, key, false);
+    }
+
+    /**
+     * Realm static constructor for a Realm which can only be read. It never takes the write lock, neither to
+     * validate the schema nor later, so any number of threads and processes can open it without waiting for each
+     * other or for writers. Changes committed by other Realm instances are still seen after a refresh.
+     * {link io.realm.close} must be called when you are done using the Realm instance.
+     *
+     * The file must already exist and contain the tables of all model classes. Realm still needs write access to the
+     * folder for its lock file, so a Realm bundled in the assets must be copied to a writeable folder first.
+     *
+     * It sets auto-refresh on if the current thread has a Looper, off otherwise.
+     *
+     * @param context  an Android {@link android.content.Context}
+     * @param fileName the name of the Realm file
+     * @return an instance of the Realm class which cannot be written to
+     * @throws RealmMigrationNeededException The model classes have been changed and the Realm
+     *                                       must be migrated
+     * @throws RealmIOException              The file does not exist or could not be accessed
+     * @throws RealmException                Other errors
+     */
+    public static Realm getReadOnlyInstance(Context context, String fileName) {
+        return Realm.getReadOnlyInstance(context.getFilesDir(), fileName, null);
+    }
+
+    /**
+     * Realm static constructor for a Realm which can only be read.
+     * {link io.realm.close} must be called when you are done using the Realm instance.
+     *
+     * @param writeableFolder a File object representing a writeable folder
+     * @param fileName the name of the Realm file
+     * @param key     a 64-byte encryption key, or {@code null} if the Realm is not encrypted
+     * @return an instance of the Realm class which cannot be written to
+     * @throws RealmMigrationNeededException The model classes have been changed and the Realm
+     *                                       must be migrated
+     * @throws RealmIOException              The file does not exist or could not be accessed
+     * @throws RealmException                Other errors
+     * @see #getReadOnlyInstance(android.content.Context, String)
+     */
+    public static Realm getReadOnlyInstance(File writeableFolder, String fileName, byte[] key) {
+        File file = new File(writeableFolder, fileName);
+        if (!file.exists()) {
+            throw new RealmIOException("A read-only Realm cannot be created: " + file.getAbsolutePath() + " does not exist.");
+        }
+        return Realm.create(writeableFolder, fileName, key, true);
+    }
+
+    /**
+     * Sets how many native handles of closed Realm instances are kept per file, to be reused by the next instance
+     * opened on the file on any thread. This makes opening a Realm much cheaper for threads which only open it
+     * briefly, like the tasks of an executor, at the cost of keeping the file mapped. The default is 0, which closes
+     * the handle with the last instance on a thread. Lowering the size closes the handles over it right away.
+     *
+     * While handles are kept, Realm files must only be deleted with {@link #deleteRealmFile(Context, String)}.
+     *
+     * @param size the maximum number of idle handles per file
+     * @throws IllegalArgumentException if the size is negative
+     * @see #setHandlePoolIdleTimeout(long)
+     * @see #prewarmHandlePool(Context, String, byte[], int)
+     */
+    public static void setHandlePoolSize(int size) {
+        SharedGroupPool.setMaxIdle(size);
+    }
+
+    /**
+     * Opens native handles on the default Realm file ahead of time, see
+     * {@link #prewarmHandlePool(Context, String, byte[], int)}.
+     */
+    public static int prewarmHandlePool(Context context, int count) {
+        return prewarmHandlePool(context, DEFAULT_REALM_NAME, null, count);
+    }
+
+    /**
+     * Opens native handles on a Realm file ahead of time and keeps them in the handle pool, so the first instances
+     * opened on other threads, e.g. by the tasks of an executor, reuse them instead of opening the file. At most
+     * {@link #setHandlePoolSize(int)} handles are kept, so nothing is opened while the pool size is 0. The file is
+     * created if it does not exist, but its schema is only created or validated by {@code getInstance()}.
+     *
+     * @param context an Android {@link android.content.Context}
+     * @param fileName the name of the Realm file
+     * @param key the encryption key, or {@code null}
+     * @param count the number of idle handles wanted
+     * @return the number of handles opened
+     * @throws IllegalArgumentException if the count is negative
+     * @throws RealmIOException if the file could not be opened
+     */
+    public static int prewarmHandlePool(Context context, String fileName, byte[] key, int count) {
+        String canonicalPath = RealmCoordinator.getCanonicalPath(new File(context.getFilesDir(), fileName));
+        return RealmCoordinator.getCoordinator(canonicalPath).getSharedGroupPool().prewarm(canonicalPath, key, count);
+    }
+
+    /**
+     * Sets how long the native handle of a closed Realm instance is kept for reuse, see
+     * {@link #setHandlePoolSize(int)}. Handles idle for longer are closed in the background. The default is one
+     * minute.
+     *
+     * @param millis the timeout in milliseconds
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public static void setHandlePoolIdleTimeout(long millis) {
+        SharedGroupPool.setIdleTimeout(millis);
+    }
+
+    /**
+     * Sets the size Realm files are grown to when they are opened, so filling a new Realm does not have to grow the
+     * file and map it into memory again many times. The default is 0, which leaves the file as it is.
+     *
+     * @param bytes the minimum size of Realm files opened for writing, in bytes
+     * @throws IllegalArgumentException if the size is negative
+     * @see #reserve(long)
+     */
+    public static void setInitialFileSize(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("The initial file size cannot be negative: " + bytes);
+        }
+        initialFileSize = bytes;
     }
 
-    private static Realm create(File writableFolder, String filename, byte[] key) {
+    /**
+     * Sets how much space is reserved ahead each time a commit has grown a Realm file, so the following commits of a
+     * large import fit in the file without growing and mapping it again. The default is 0, which only grows the file
+     * as needed.
+     *
+     * @param bytes the number of bytes to reserve beyond the size of the file after a commit has grown it
+     * @throws IllegalArgumentException if the increment is negative
+     * @see #reserve(long)
+     */
+    public static void setFileGrowthIncrement(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("The file growth increment cannot be negative: " + bytes);
+        }
+        fileGrowthIncrement = bytes;
+    }
+
+    private static Realm create(File writableFolder, String filename, byte[] key, boolean readOnly) {
         String absolutePath = new File(writableFolder, filename).getAbsolutePath();
         if (Looper.myLooper() != null) {
-            return createAndValidate(absolutePath, key, true, true);
+            return createAndValidate(absolutePath, key, true, true, readOnly);
         } else {
-            return createAndValidate(absolutePath, key, true, false);
+            return createAndValidate(absolutePath, key, true, false, readOnly);
         }
     }
 
-    private static Realm createAndValidate(String absolutePath, byte[] key, boolean validateSchema, boolean autoRefresh) {
-        int id = absolutePath.hashCode();
-        Map<Integer, Integer> localRefCount = referenceCount.get();
-        Integer references = localRefCount.get(id);
-        if (references == null) {
-            references = 0;
-        }
-        Map<Integer, Realm> realms = realmsCache.get();
-        Realm realm = realms.get(absolutePath.hashCode());
+    private static Realm createAndValidate(String path, byte[] key, boolean validateSchema, boolean autoRefresh,
+                                           boolean readOnly) {
+        String canonicalPath = RealmCoordinator.getCanonicalPath(new File(path));
+        Map<String, Realm> realms = realmsCache.get();
+        Realm realm = realms.get(canonicalPath);
 
         if (realm != null) {
-            localRefCount.put(id, references + 1);
+            if (realm.readOnly != readOnly) {
+                throw new IllegalStateException("The Realm at " + canonicalPath + " is already open on this thread "
+                        + (realm.readOnly ? "read-only" : "for writing") + ". Close it before opening it "
+                        + (readOnly ? "read-only." : "for writing."));
+            }
+            realm.referenceCount++;
             return realm;
         }
 
         // Create new Realm and cache it. All exception code paths must close the Realm otherwise
         // we risk serving faulty cache data.
-        realm = new Realm(absolutePath, key, autoRefresh);
-        realms.put(absolutePath.hashCode(), realm);
-        realmsCache.set(realms);
-        localRefCount.put(id, references + 1);
+        realm = new Realm(canonicalPath, key, autoRefresh, readOnly);
+        realms.put(canonicalPath, realm);
+        realm.referenceCount = 1;
 
         if (validateSchema) {
             try {
@@ -451,39 +669,43 @@ public final class Realm implements Closeable {
                 throw e;
             }
         }
+        long initialSize = initialFileSize;
+        if (initialSize > 0 && !readOnly && new File(canonicalPath).length() < initialSize) {
+            realm.reserve(initialSize);
+        }
 
         return realm;
     }
 
     private static void initializeRealm(Realm realm) {
-        Class<?> validationClass;
-        try {
-            validationClass = Class.forName("io.realm.ValidationList");
-        } catch (ClassNotFoundException e) {
-            throw new RealmException("Could not find the generated ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
-        }
-        Method getProxyClassesMethod;
-        try {
-            getProxyClassesMethod = validationClass.getMethod("getProxyClasses");
-        } catch (NoSuchMethodException e) {
-            throw new RealmException("Could not find the getProxyClasses method in the ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
-        }
-        List<String> proxyClasses;
-        try {
-            //noinspection unchecked
-            proxyClasses = (List<String>) getProxyClassesMethod.invoke(null);
-        } catch (IllegalAccessException e) {
-            throw new RealmException("Could not execute the getProxyClasses method in the ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
-        } catch (InvocationTargetException e) {
-            throw new RealmException("An exception was thrown in the getProxyClasses method in the ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
+        long version = realm.getVersion();
+        ColumnIndices validated = realm.coordinator.getColumnIndices();
+        if (validated != null && validated.getSchemaVersion() == version) {
+            realm.columnIndices = validated;
+            return;
         }
 
-        long version = realm.getVersion();
+        List<String> proxyClasses = getProxyClasses();
+
+        // Only an unversioned file needs the write lock, to create the tables. Otherwise the schema is validated in
+        // the read transaction.
+        if (version == UNVERSIONED && realm.readOnly) {
+            throw new RealmMigrationNeededException("The schema of the read-only Realm at " + realm.path
+                    + " has not been created.");
+        }
+        boolean writeNeeded = version == UNVERSIONED;
         boolean commitNeeded = false;
+        Map<Class<? extends RealmObject>, ColumnInfo> columnInfos = new HashMap<Class<? extends RealmObject>, ColumnInfo>();
         try {
-            realm.beginTransaction();
-            if (version == UNVERSIONED) {
-                realm.setVersion(0);
+            if (writeNeeded) {
+                realm.beginTransaction();
+                // Another thread or process may have created the tables while we waited for the write lock
+                version = realm.getVersion();
+            }
+            boolean createTables = version == UNVERSIONED;
+            if (createTables) {
+                version = 0;
+                realm.setVersion(version);
                 commitNeeded = true;
             }
 
@@ -499,7 +721,7 @@ public final class Realm implements Closeable {
                 }
 
                 // if not versioned, create table
-                if (version == UNVERSIONED) {
+                if (createTables) {
                     Method initTableMethod;
                     try {
                         initTableMethod = generatedClass.getMethod("initTable", new Class[]{ImplicitTransaction.class});
@@ -508,7 +730,6 @@ public final class Realm implements Closeable {
                     }
                     try {
                         initTableMethod.invoke(null, realm.transaction);
-                        commitNeeded = true;
                     } catch (IllegalAccessException e) {
                         throw new RealmException("Could not execute the initTable method in the " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
                     } catch (InvocationTargetException e) {
@@ -516,58 +737,71 @@ public final class Realm implements Closeable {
                     }
                 }
 
-                // validate created table
-                Method validateMethod;
-                try {
-                    validateMethod = generatedClass.getMethod("validateTable", new Class[]{ImplicitTransaction.class});
-                } catch (NoSuchMethodException e) {
-                    throw new RealmException("Could not find the validateTable method in the generated " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
-                }
-                try {
-                    validateMethod.invoke(null, realm.transaction);
-                } catch (IllegalAccessException e) {
-                    throw new RealmException("Could not execute the validateTable method in the " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
-                } catch (InvocationTargetException e) {
-                    throw new RealmMigrationNeededException(e.getMessage(), e);
-                }
-
-                // Populate the columnIndices table
-                Method fieldNamesMethod;
-                try {
-                    fieldNamesMethod = generatedClass.getMethod("getFieldNames");
-                } catch (NoSuchMethodException e) {
-                    throw new RealmException("Could not find the getFieldNames method in the generated " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
-                }
-                List<String> fieldNames;
-                try {
-                    //noinspection unchecked
-                    fieldNames = (List<String>) fieldNamesMethod.invoke(null);
-                } catch (IllegalAccessException e) {
-                    throw new RealmException("Could not execute the getFieldNames method in the generated " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
-                } catch (InvocationTargetException e) {
-                    throw new RealmException("An exception was thrown in the getFieldNames method in the generated " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
-                }
-                Table table = realm.transaction.getTable(TABLE_PREFIX + modelClassName);
-                for (String fieldName : fieldNames) {
-                    long columnIndex = table.getColumnIndex(fieldName);
-                    if (columnIndex == -1) {
-                        throw new RealmMigrationNeededException("Field '" + fieldName + "' not found for type '" + modelClassName + "'");
-                    }
-                    Map<String, Long> innerMap = columnIndices.get(modelClassName);
-                    if (innerMap == null) {
-                        innerMap = new HashMap<String, Long>();
-                    }
-                    innerMap.put(fieldName, columnIndex);
-                    columnIndices.put(modelClassName, innerMap);
-                }
+                // validate created table and look up the column indices
+                //noinspection unchecked
+                columnInfos.put((Class<? extends RealmObject>) generatedClass.getSuperclass(),
+                        validateTable(generatedClass, realm.transaction));
             }
+            realm.columnIndices = new ColumnIndices(version, columnInfos);
         } finally {
             if (commitNeeded) {
                 realm.commitTransaction();
-            } else {
+            } else if (writeNeeded) {
                 realm.cancelTransaction();
             }
         }
+        realm.coordinator.setColumnIndices(realm.columnIndices);
+    }
+
+    private static List<String> getProxyClasses() {
+        Class<?> validationClass;
+        try {
+            validationClass = Class.forName("io.realm.ValidationList");
+        } catch (ClassNotFoundException e) {
+            throw new RealmException("Could not find the generated ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
+        }
+        Method getProxyClassesMethod;
+        try {
+            getProxyClassesMethod = validationClass.getMethod("getProxyClasses");
+        } catch (NoSuchMethodException e) {
+            throw new RealmException("Could not find the getProxyClasses method in the ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
+        }
+        try {
+            //noinspection unchecked
+            return (List<String>) getProxyClassesMethod.invoke(null);
+        } catch (IllegalAccessException e) {
+            throw new RealmException("Could not execute the getProxyClasses method in the ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
+        } catch (InvocationTargetException e) {
+            throw new RealmException("An exception was thrown in the getProxyClasses method in the ValidationList class: " + APT_NOT_EXECUTED_MESSAGE);
+        }
+    }
+
+    private static ColumnInfo validateTable(Class<?> generatedClass, ImplicitTransaction transaction) {
+        String generatedClassName = generatedClass.getName();
+        Method validateMethod;
+        try {
+            validateMethod = generatedClass.getMethod("validateTable", new Class[]{ImplicitTransaction.class});
+        } catch (NoSuchMethodException e) {
+            throw new RealmException("Could not find the validateTable method in the generated " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
+        }
+        try {
+            return (ColumnInfo) validateMethod.invoke(null, transaction);
+        } catch (IllegalAccessException e) {
+            throw new RealmException("Could not execute the validateTable method in the " + generatedClassName + " class: " + APT_NOT_EXECUTED_MESSAGE);
+        } catch (InvocationTargetException e) {
+            throw new RealmMigrationNeededException(e.getMessage(), e);
+        }
+    }
+
+    // Returns the column indices of a class, validating its table if this instance was opened without validation,
+    // e.g. for a migration
+    ColumnInfo getColumnInfo(Class<? extends RealmObject> clazz) {
+        ColumnInfo columnInfo = columnIndices.getColumnInfo(clazz);
+        if (columnInfo == null) {
+            columnInfo = validateTable(getProxyClass(clazz), transaction);
+            columnIndices = columnIndices.with(clazz, columnInfo);
+        }
+        return columnInfo;
     }
 
     /**
@@ -627,6 +861,7 @@ public final class Realm implements Closeable {
      *
      * @throws RealmException if mapping from JSON fails.
      * @throws IOException if something was wrong with the input stream.
+     * @see RealmJsonImporter for parsing large arrays on several threads.
      */
     @TargetApi(Build.VERSION_CODES.HONEYCOMB)
     public <E extends RealmObject> void createAllFromJson(Class<E> clazz, InputStream inputStream) throws IOException {
@@ -815,7 +1050,42 @@ public final class Realm implements Closeable {
     }
 
     <E> void remove(Class<E> clazz, long objectIndex) {
-        getTable(clazz).moveLastOver(objectIndex);
+        removeObject(getTable(clazz), objectIndex);
+    }
+
+    // Returns the owned columns of the tables of the classes with @Owned fields, by table name
+    Map<String, long[]> getOwnedColumns() {
+        return columnIndices.getOwnedColumns();
+    }
+
+    // Removes an object and, if any classes have @Owned or @FullText fields, the objects it owns and its full text
+    // index entries in one native call
+    void removeObject(Table table, long rowIndex) {
+        Map<String, long[]> ownedColumns = getOwnedColumns();
+        Table[] fullTextIndexes = getFullTextIndexes();
+        if (ownedColumns.isEmpty() && fullTextIndexes.length == 0) {
+            table.moveLastOver(rowIndex);
+        } else {
+            table.removeCascade(new long[] {rowIndex}, ownedColumns, fullTextIndexes);
+        }
+    }
+
+    // Removes all objects of a table like removeObject(), and returns the number of objects of the table removed
+    long removeAllObjects(Table table) {
+        Map<String, long[]> ownedColumns = getOwnedColumns();
+        Table[] fullTextIndexes = getFullTextIndexes();
+        if (!ownedColumns.containsKey(table.getName())) {
+            long size = table.size();
+            table.clear();
+            FullTextIndex.clear(fullTextIndexes, table);
+            return size;
+        }
+        TableQuery query = table.where();
+        try {
+            return query.removeCascade(ownedColumns, fullTextIndexes);
+        } finally {
+            query.close();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -859,7 +1129,7 @@ public final class Realm implements Closeable {
             constructor = constructors.get(generatedClass);
             if (constructor == null) {
                 try {
-                    constructor = generatedClass.getConstructor();
+                    constructor = generatedClass.getDeclaredConstructor(ColumnInfo.class);
                 } catch (NoSuchMethodException e) {
                     throw new RealmException("Could not find the constructor in generated proxy class: " + APT_NOT_EXECUTED_MESSAGE);
                 }
@@ -870,7 +1140,7 @@ public final class Realm implements Closeable {
 
         try {
             // We are know the casted type since we generated the class
-            result = (E) constructor.newInstance();
+            result = (E) constructor.newInstance(getColumnInfo(clazz));
         } catch (InstantiationException e) {
             throw new RealmException("Could not instantiate the proxy class");
         } catch (IllegalAccessException e) {
@@ -881,12 +1151,20 @@ public final class Realm implements Closeable {
         }
         result.row = row;
         result.realm = this;
+        RealmMetrics.Listener metrics = RealmMetrics.getListener();
+        if (metrics != null) {
+            metrics.onObjectMaterialized(clazz);
+        }
         return result;
     }
 
     /**
      * Copies a RealmObject to the Realm instance and returns the copy. It is important to notice
      * that any further changes to the original RealmObject will not be reflected in the Realm copy.
+     * <br>
+     * The objects it links to are copied as well. Each object in the graph is copied only once, so
+     * objects referenced several times, or in cycles, are referenced the same way by the copies.
+     * Linked objects which are already in this Realm are linked to instead of copied.
      *
      * @param object {@link io.realm.RealmObject} to copy to the Realm.
      * @return A managed RealmObject with its properties backed by the Realm.
@@ -895,12 +1173,46 @@ public final class Realm implements Closeable {
      * @throws java.lang.IllegalArgumentException if RealmObject is {@code null}.
      */
     public <E extends RealmObject> E copyToRealm(E object) {
+        return copyToRealm(object, new IdentityHashMap<RealmObject, RealmObject>());
+    }
+
+    /**
+     * Copies a collection of RealmObjects to the Realm instance and returns their copy. It is
+     * important to notice that any further changes to the original RealmObjects will not be
+     * reflected in the Realm copies.
+     * <br>
+     * Each object is copied only once, even if it is in the collection several times or is
+     * linked to by several of the objects, see {@link #copyToRealm(RealmObject)}.
+     *
+     * @param objects RealmObjects to copy to the Realm.
+     * @return A list of the the converted RealmObjects that all has their properties managed by the Realm.
+     *
+     * @throws io.realm.exceptions.RealmException if any of the objects has already been added to Realm.
+     * @throws java.lang.IllegalArgumentException if any of the elements in the input collection is {@code null}.
+     */
+    public <E extends RealmObject> List<E> copyToRealm(Iterable<E> objects) {
+        if (objects == null) {
+            return new ArrayList<E>();
+        }
+
+        // Standalone objects and their copies, by identity as the same data may be in several objects
+        Map<RealmObject, RealmObject> cache = new IdentityHashMap<RealmObject, RealmObject>();
+        ArrayList<E> realmObjects = new ArrayList<E>();
+        for (E object : objects) {
+            realmObjects.add(copyToRealm(object, cache));
+        }
+
+        return realmObjects;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends RealmObject> E copyToRealm(E object, Map<RealmObject, RealmObject> cache) {
         if (object == null) {
             throw new IllegalArgumentException("Null objects cannot be copied into Realm.");
         }
 
         // Object is already in this Realm
-        if (object.realm != null && object.realm.id == this.id) {
+        if (object.realm != null && object.realm.path.equals(path)) {
             return object;
         }
 
@@ -918,7 +1230,7 @@ public final class Realm implements Closeable {
         Method method = copyObjectMethods.get(generatedClass);
         if (method == null) {
             try {
-                method = generatedClass.getMethod("copyToRealm", new Class[] {Realm.class, objectClass});
+                method = generatedClass.getMethod("copyToRealm", new Class[] {Realm.class, objectClass, Map.class});
             } catch (NoSuchMethodException e) {
                 throw new RealmException("Could not find the copyToRealm() method in generated proxy class " + generatedClass.getName() + ": " + APT_NOT_EXECUTED_MESSAGE, e);
             }
@@ -926,7 +1238,7 @@ public final class Realm implements Closeable {
         }
 
         try {
-            Object result = method.invoke(null, this, object);
+            Object result = method.invoke(null, this, object, cache);
             return (E) result;
         } catch (IllegalAccessException e) {
             throw new RealmException("Could not execute the copyToRealm method : " + APT_NOT_EXECUTED_MESSAGE, e);
@@ -935,28 +1247,6 @@ public final class Realm implements Closeable {
         }
     }
 
-    /**
-     * Copies a collection of RealmObjects to the Realm instance and returns their copy. It is
-     * important to notice that any further changes to the original RealmObjects will not be
-     * reflected in the Realm copies.
-     *
-     * @param objects RealmObjects to copy to the Realm.
-     * @return A list of the the converted RealmObjects that all has their properties managed by the Realm.
-     *
-     * @throws io.realm.exceptions.RealmException if any of the objects has already been added to Realm.
-     * @throws java.lang.IllegalArgumentException if any of the elements in the input collection is {@code null}.
-     */
-    public <E extends RealmObject> List<E> copyToRealm(Iterable<E> objects) {
-        if (objects == null) new ArrayList<E>();
-
-        ArrayList<E> realmObjects = new ArrayList<E>();
-        for (E object : objects) {
-            realmObjects.add(copyToRealm(object));
-        }
-
-        return realmObjects;
-    }
-
 
     private static String getProxyClassName(String simpleClassName) {
         return "io.realm." + simpleClassName + "RealmProxy";
@@ -1010,7 +1300,7 @@ public final class Realm implements Closeable {
         checkIfValid();
         Table table = getTable(clazz);
         TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
-        Long columnIndex = columnIndices.get(simpleClassNames.get(clazz)).get(fieldName);
+        Long columnIndex = getColumnInfo(clazz).getIndicesMap().get(fieldName);
         if (columnIndex == null || columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
@@ -1031,9 +1321,14 @@ public final class Realm implements Closeable {
     public <E extends RealmObject> RealmResults<E> allObjectsSorted(Class<E> clazz, String fieldName,
                                                                boolean sortAscending) {
         checkIfValid();
+        if (fieldName.contains(".")) {
+            RealmResults<E> results = allObjects(clazz);
+            results.sort(fieldName, sortAscending);
+            return results;
+        }
         Table table = getTable(clazz);
         TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
-        Long columnIndex = columnIndices.get(simpleClassNames.get(clazz)).get(fieldName);
+        Long columnIndex = getColumnInfo(clazz).getIndicesMap().get(fieldName);
         if (columnIndex == null || columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
@@ -1189,10 +1484,19 @@ public final class Realm implements Closeable {
     }
 
     void sendNotifications() {
+        sendNotifications(0);
+    }
+
+    private void sendNotifications(int threadsNotified) {
+        RealmMetrics.Listener metrics = RealmMetrics.getListener();
+        long start = (metrics != null) ? System.nanoTime() : 0;
         List<RealmChangeListener> defensiveCopy = new ArrayList<RealmChangeListener>(changeListeners);
         for (RealmChangeListener listener : defensiveCopy) {
             listener.onChange();
         }
+        if (metrics != null) {
+            metrics.onNotificationsSent(path, threadsNotified, defensiveCopy.size(), System.nanoTime() - start);
+        }
     }
 
     @SuppressWarnings("UnusedDeclaration")
@@ -1213,6 +1517,41 @@ public final class Realm implements Closeable {
         transaction.advanceRead();
     }
 
+    /**
+     * Grows the Realm file to at least the given size and allocates the space on the device, so the following
+     * commits fit in the file. Importing a lot of data into a Realm grows the file many times, each time mapping it
+     * into memory again; reserving the expected size first avoids that.
+     *
+     * @param bytes the minimum size of the file in bytes
+     * @throws java.lang.IllegalArgumentException if the size is not positive.
+     * @throws java.lang.IllegalStateException if the Realm is read-only or on an incorrect thread.
+     * @see #setInitialFileSize(long)
+     * @see #setFileGrowthIncrement(long)
+     */
+    public void reserve(long bytes) {
+        checkIfValid();
+        if (readOnly) {
+            throw new IllegalStateException(READ_ONLY_REALM);
+        }
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("The number of bytes must be positive: " + bytes);
+        }
+        RealmMetrics.Listener metrics = RealmMetrics.getListener();
+        if (metrics == null) {
+            sharedGroup.reserve(bytes);
+        } else {
+            File file = new File(path);
+            long oldSize = file.length();
+            long start = System.nanoTime();
+            sharedGroup.reserve(bytes);
+            long duration = System.nanoTime() - start;
+            long newSize = file.length();
+            if (newSize > oldSize) {
+                metrics.onFileGrown(path, oldSize, newSize, duration);
+            }
+        }
+    }
+
     /**
      * Starts a write transaction, this must be closed with {@link io.realm.Realm#commitTransaction()}
      * or aborted by @{link io.realm.Realm#cancelTransaction()}. Write transactions are used to
@@ -1224,12 +1563,22 @@ public final class Realm implements Closeable {
      * Notice: it is not possible to nest write transactions. If you start a write
      * transaction within a write transaction an exception is thrown.
      * <br>
-     * @throws java.lang.IllegalStateException If already in a write transaction or incorrect thread.
+     * @throws java.lang.IllegalStateException If already in a write transaction, incorrect thread or the Realm is read-only.
      *
      */
     public void beginTransaction() {
         checkIfValid();
-        transaction.promoteToWrite();
+        if (readOnly) {
+            throw new IllegalStateException(READ_ONLY_REALM);
+        }
+        RealmMetrics.Listener metrics = RealmMetrics.getListener();
+        if (metrics == null) {
+            transaction.promoteToWrite();
+        } else {
+            long start = System.nanoTime();
+            transaction.promoteToWrite();
+            metrics.onBeginTransaction(path, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -1243,21 +1592,40 @@ public final class Realm implements Closeable {
      */
     public void commitTransaction() {
         checkIfValid();
-        transaction.commitAndContinueAsRead();
+        RealmMetrics.Listener metrics = RealmMetrics.getListener();
+        long growthIncrement = fileGrowthIncrement;
+        if (metrics == null && growthIncrement == 0) {
+            transaction.commitAndContinueAsRead();
+        } else {
+            File file = new File(path);
+            long oldSize = file.length();
+            long start = System.nanoTime();
+            transaction.commitAndContinueAsRead();
+            long duration = System.nanoTime() - start;
+            long newSize = file.length();
+            if (metrics != null) {
+                metrics.onCommitTransaction(path, duration, newSize);
+                if (newSize > oldSize) {
+                    metrics.onFileGrown(path, oldSize, newSize, duration);
+                }
+            }
+            if (growthIncrement > 0 && newSize > oldSize) {
+                reserve(newSize + growthIncrement);
+            }
+        }
 
-        for (Map.Entry<Handler, Integer> handlerIntegerEntry : handlers.entrySet()) {
-            Handler handler = handlerIntegerEntry.getKey();
-            int realmId = handlerIntegerEntry.getValue();
+        int threadsNotified = 0;
+        for (Handler handler : coordinator.getHandlers()) {
             if (
-                    realmId == id                                // It's the right realm
-                    && !handler.hasMessages(REALM_CHANGED)       // The right message
+                    !handler.hasMessages(REALM_CHANGED)          // The right message
                     && handler.getLooper().getThread().isAlive() // The receiving thread is alive
                     && !handler.equals(this.handler)             // Don't notify yourself
             ) {
                 handler.sendEmptyMessage(REALM_CHANGED);
+                threadsNotified++;
             }
         }
-        sendNotifications();
+        sendNotifications(threadsNotified);
     }
 
     /**
@@ -1307,21 +1675,16 @@ public final class Realm implements Closeable {
      * @throws java.lang.RuntimeException Any other error
      */
     public void clear(Class<?> classSpec) {
-        getTable(classSpec).clear();
+        removeAllObjects(getTable(classSpec));
     }
 
-    int getId() {
-        return id;
+    RealmCoordinator getCoordinator() {
+        return coordinator;
     }
 
     // Returns the Handler for this Realm on the calling thread
     Handler getHandler() {
-        for (Map.Entry<Handler, Integer> entry : handlers.entrySet()) {
-            if (entry.getValue() == id) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return handler;
     }
 
     // package protected so unit tests can access it
@@ -1358,10 +1721,11 @@ public final class Realm implements Closeable {
     }
 
     public static void migrateRealmAtPath(String realmPath, byte[] key, RealmMigration migration, boolean autoUpdate) {
-        Realm realm = Realm.createAndValidate(realmPath, key, false, autoUpdate);
+        Realm realm = Realm.createAndValidate(realmPath, key, false, autoUpdate, false);
         realm.beginTransaction();
         realm.setVersion(migration.execute(realm, realm.getVersion()));
         realm.commitTransaction();
+        realm.coordinator.setColumnIndices(null);
         realm.close();
 
         realmsCache.remove();
@@ -1391,6 +1755,8 @@ public final class Realm implements Closeable {
     public static boolean deleteRealmFile(Context context, String fileName) {
         boolean result = true;
         File writableFolder = context.getFilesDir();
+        String canonicalPath = RealmCoordinator.getCanonicalPath(new File(writableFolder, fileName));
+        RealmCoordinator.getCoordinator(canonicalPath).reset();
         List<File> filesToDelete = Arrays.asList(
                 new File(writableFolder, fileName),
                 new File(writableFolder, fileName + ".lock"));
@@ -1429,6 +1795,9 @@ public final class Realm implements Closeable {
         try {
             realm = Realm.getInstance(context, fileName);
             realm.writeCopyTo(tmpFile);
+            realm.close();
+            realm.getCoordinator().reset();
+            realm = null;
             if (!realmFile.delete()) {
                 return false;
             }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.realm.exceptions.RealmIOException;
+import io.realm.internal.SharedGroupPool;
+
+/**
+ * Keeps track of the Realm instances open on one Realm file in this process, on any thread. There is one coordinator
+ * per canonical path, holding the open instances, the Handlers to notify when one of them commits, the column
+ * indices of the validated schema and the SharedGroups closed instances left for reuse, so none of these have to be
+ * searched for.
+ * <p>
+ * Coordinators are never removed, as there is only one per file. All methods are thread-safe.
+ */
+final class RealmCoordinator {
+
+    private static final ConcurrentMap<String, RealmCoordinator> coordinators
+            = new ConcurrentHashMap<String, RealmCoordinator>();
+
+    private final String path;
+    private final Set<Realm> instances = Collections.newSetFromMap(new ConcurrentHashMap<Realm, Boolean>());
+    private final Set<Handler> handlers = Collections.newSetFromMap(new ConcurrentHashMap<Handler, Boolean>());
+    private final SharedGroupPool sharedGroupPool = new SharedGroupPool();
+    private volatile ColumnIndices columnIndices;
+
+    private RealmCoordinator(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the coordinator of a Realm file, creating it if needed.
+     *
+     * @param canonicalPath the canonical path of the file, see {@link #getCanonicalPath(File)}.
+     */
+    static RealmCoordinator getCoordinator(String canonicalPath) {
+        RealmCoordinator coordinator = coordinators.get(canonicalPath);
+        if (coordinator == null) {
+            coordinator = new RealmCoordinator(canonicalPath);
+            RealmCoordinator existing = coordinators.putIfAbsent(canonicalPath, coordinator);
+            if (existing != null) {
+                coordinator = existing;
+            }
+        }
+        return coordinator;
+    }
+
+    /**
+     * Returns the path used to identify a Realm file, which is the same for all paths to the file.
+     *
+     * @throws RealmIOException if the path could not be resolved.
+     */
+    static String getCanonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            throw new RealmIOException("Could not resolve the path of " + file, e);
+        }
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    void addInstance(Realm realm) {
+        instances.add(realm);
+    }
+
+    void removeInstance(Realm realm) {
+        instances.remove(realm);
+    }
+
+    /**
+     * Returns the instances open on the file, on all threads.
+     */
+    Set<Realm> getInstances() {
+        return Collections.unmodifiableSet(instances);
+    }
+
+    void addHandler(Handler handler) {
+        handlers.add(handler);
+    }
+
+    void removeHandler(Handler handler) {
+        handlers.remove(handler);
+    }
+
+    /**
+     * Returns the Handlers of the instances with auto-refresh enabled, on all threads.
+     */
+    Set<Handler> getHandlers() {
+        return Collections.unmodifiableSet(handlers);
+    }
+
+    /**
+     * Returns the column indices of the validated schema, or {@code null} if the schema has not been validated.
+     */
+    ColumnIndices getColumnIndices() {
+        return columnIndices;
+    }
+
+    void setColumnIndices(ColumnIndices columnIndices) {
+        this.columnIndices = columnIndices;
+    }
+
+    SharedGroupPool getSharedGroupPool() {
+        return sharedGroupPool;
+    }
+
+    /**
+     * Forgets everything known about the file, as it is about to be deleted or replaced.
+     */
+    void reset() {
+        columnIndices = null;
+        sharedGroupPool.clear();
+    }
+}
@@ -0,0 +1,660 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.ColumnInfo;
+import io.realm.internal.ColumnType;
+import io.realm.internal.FullTextIndex;
+import io.realm.internal.Table;
+import io.realm.internal.android.JsonUtils;
+
+/**
+ * Creates Realm objects from a JSON array like {@link Realm#createAllFromJson(Class, InputStream)}, but parses the
+ * JSON on several threads. The thread calling {@link #createAllFromJson(Class, InputStream)} splits the array into
+ * chunks of objects, the parser threads turn each chunk into a batch holding the values of each column, and the
+ * calling thread then writes the batches to the Realm in their original order, one column at a time. It is the only
+ * thread writing, so the Realm instance is only used on its own thread.
+ * <p>
+ * At most {@link #setMaxPendingBatches(int)} chunks are parsed or waiting to be written at any time. When the
+ * parser threads are ahead of the writer, the input is not read further until a batch has been written, so the
+ * memory used does not depend on the size of the input.
+ * <p>
+ * Only fields which are stored in the table of the class are supported, i.e. not objects or lists of objects.
+ * JSON properties with a null value map to the default value for the data type in Realm and unknown properties are
+ * ignored, as for {@link Realm#createAllFromJson(Class, InputStream)}.
+ * <pre>
+ * realm.beginTransaction();
+ * RealmJsonImporter.Statistics statistics = new RealmJsonImporter(realm).createAllFromJson(Message.class, in);
+ * realm.commitTransaction();
+ * Log.i(TAG, statistics.getObjectsPerSecond() + " messages/s");
+ * </pre>
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+public final class RealmJsonImporter {
+
+    private final Realm realm;
+    private int parserThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private int batchSize = 500;
+    private int maxPendingBatches = 2 * parserThreads;
+
+    /**
+     * Creates an importer writing to a Realm. It must be used on the thread of the Realm instance.
+     *
+     * @param realm the Realm to create the objects in.
+     */
+    public RealmJsonImporter(Realm realm) {
+        if (realm == null) {
+            throw new IllegalArgumentException("A Realm is required.");
+        }
+        this.realm = realm;
+    }
+
+    /**
+     * Sets the number of threads parsing the JSON. By default this is the number of processors minus one, as the
+     * calling thread writes the objects, but at least one.
+     *
+     * @param parserThreads the number of threads.
+     * @return the importer.
+     */
+    public RealmJsonImporter setParserThreads(int parserThreads) {
+        if (parserThreads < 1) {
+            throw new IllegalArgumentException("At least one parser thread is required: " + parserThreads);
+        }
+        this.parserThreads = parserThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of objects parsed and written together. Larger batches need fewer native calls to write,
+     * smaller batches let the parsing and the writing overlap sooner. The default is 500.
+     *
+     * @param batchSize the number of objects in a batch.
+     * @return the importer.
+     */
+    public RealmJsonImporter setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("A batch must hold at least one object: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of batches which can be parsed or waiting to be written before the input is not read any
+     * further. The default is twice the number of parser threads.
+     *
+     * @param maxPendingBatches the maximum number of batches in memory.
+     * @return the importer.
+     */
+    public RealmJsonImporter setMaxPendingBatches(int maxPendingBatches) {
+        if (maxPendingBatches < 1) {
+            throw new IllegalArgumentException("At least one pending batch is required: " + maxPendingBatches);
+        }
+        this.maxPendingBatches = maxPendingBatches;
+        return this;
+    }
+
+    /**
+     * Creates a Realm object for each object in a JSON array. This must be done inside a transaction. If an
+     * exception is thrown, some of the objects may have been created, so the transaction should be cancelled.
+     *
+     * @param clazz         Type of Realm objects created.
+     * @param inputStream   JSON array as a InputStream. All objects in the array must be of the specified class.
+     * @return the number of objects created and the time spent in each stage.
+     *
+     * @throws IllegalArgumentException if the class has fields of a type which is not supported.
+     * @throws IllegalStateException if the Realm is not in a write transaction.
+     * @throws RealmException if mapping from JSON fails.
+     * @throws IOException if something was wrong with the input stream or the JSON is malformed.
+     */
+    public <E extends RealmObject> Statistics createAllFromJson(Class<E> clazz, InputStream inputStream)
+            throws IOException {
+        realm.checkIfValid();
+        if (!realm.isInWriteTransaction()) {
+            throw new IllegalStateException("Objects can only be created inside a write transaction.");
+        }
+        Statistics statistics = new Statistics();
+        if (clazz == null || inputStream == null) {
+            return statistics;
+        }
+
+        long start = System.nanoTime();
+        Table table = realm.getTable(clazz);
+        Schema schema = new Schema(realm, clazz, table);
+        ChunkReader chunks = new ChunkReader(new InputStreamReader(inputStream, "UTF-8"));
+        ExecutorService executor = Executors.newFixedThreadPool(parserThreads);
+        LinkedList<Future<Batch>> pending = new LinkedList<Future<Batch>>();
+        try {
+            while (true) {
+                long readStart = System.nanoTime();
+                Chunk chunk = chunks.next(batchSize);
+                statistics.readNanos += System.nanoTime() - readStart;
+                if (chunk == null) {
+                    break;
+                }
+                // Back-pressure: the oldest batch is written before more of the input is read
+                if (pending.size() >= maxPendingBatches) {
+                    write(table, schema, pending.removeFirst(), statistics);
+                }
+                pending.addLast(executor.submit(new ParseTask(schema, chunk)));
+            }
+            while (!pending.isEmpty()) {
+                write(table, schema, pending.removeFirst(), statistics);
+            }
+        } finally {
+            for (Future<Batch> future : pending) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+            chunks.close();
+        }
+        statistics.characters = chunks.characters;
+        statistics.durationNanos = System.nanoTime() - start;
+        return statistics;
+    }
+
+    // Waits for a batch to be parsed and writes it, one native call for each column
+    private static void write(Table table, Schema schema, Future<Batch> future, Statistics statistics)
+            throws IOException {
+        long waitStart = System.nanoTime();
+        Batch batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the JSON to be parsed.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RealmException("Could not map Json", cause);
+        }
+        long writeStart = System.nanoTime();
+        statistics.writerWaitNanos += writeStart - waitStart;
+        statistics.parseNanos += batch.parseNanos;
+
+        long rowIndex = table.addEmptyRows(batch.size);
+        for (int column = 0; column < schema.columnCount; column++) {
+            if (!batch.present[column]) {
+                continue; // The empty rows already have the default values
+            }
+            Object values = batch.values[column];
+            switch (schema.types[column]) {
+                case INTEGER:
+                    table.setLongs(column, rowIndex, (long[]) values);
+                    break;
+                case FLOAT:
+                    table.setFloats(column, rowIndex, (float[]) values);
+                    break;
+                case DOUBLE:
+                    table.setDoubles(column, rowIndex, (double[]) values);
+                    break;
+                case BOOLEAN:
+                    table.setBooleans(column, rowIndex, (boolean[]) values);
+                    break;
+                case DATE:
+                    table.setDates(column, rowIndex, (long[]) values);
+                    break;
+                case BINARY:
+                    table.setBinaryByteArrays(column, rowIndex, (byte[][]) values);
+                    break;
+                case STRING:
+                    String[] strings = (String[]) values;
+                    table.setStrings(column, rowIndex, strings);
+                    Table indexTable = schema.fullTextIndexes[column];
+                    if (indexTable != null) {
+                        for (int i = 0; i < strings.length; i++) {
+                            FullTextIndex.update(indexTable, rowIndex + i, "", strings[i]);
+                        }
+                    }
+                    break;
+            }
+        }
+        statistics.writeNanos += System.nanoTime() - writeStart;
+        statistics.objects += batch.size;
+        statistics.batches++;
+    }
+
+    /**
+     * The number of objects created by {@link #createAllFromJson(Class, InputStream)} and the time spent in each
+     * stage. Reading and writing are done by the calling thread, so their sum and the time it waited for the parser
+     * threads make up the duration. The parse time is summed over all parser threads. When the writer waits most of
+     * the time, more parser threads may help; when it hardly waits, the import is limited by the writing.
+     */
+    public static final class Statistics {
+
+        private long objects;
+        private long batches;
+        private long characters;
+        private long durationNanos;
+        private long readNanos;
+        private long parseNanos;
+        private long writeNanos;
+        private long writerWaitNanos;
+
+        private Statistics() {
+        }
+
+        public long getObjectCount() {
+            return objects;
+        }
+
+        public long getBatchCount() {
+            return batches;
+        }
+
+        /**
+         * Returns the number of characters of JSON read.
+         */
+        public long getCharacterCount() {
+            return characters;
+        }
+
+        /**
+         * Returns the time spent in {@link #createAllFromJson(Class, InputStream)}, from the start of the reading to
+         * the end of the writing.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns the time spent reading the input and splitting it into chunks.
+         */
+        public long getReadNanos() {
+            return readNanos;
+        }
+
+        /**
+         * Returns the time spent parsing the chunks, summed over all parser threads.
+         */
+        public long getParseNanos() {
+            return parseNanos;
+        }
+
+        /**
+         * Returns the time spent writing the batches to the Realm.
+         */
+        public long getWriteNanos() {
+            return writeNanos;
+        }
+
+        /**
+         * Returns the time the writing thread waited for the parser threads.
+         */
+        public long getWriterWaitNanos() {
+            return writerWaitNanos;
+        }
+
+        /**
+         * Returns the number of objects created per second over the whole import.
+         */
+        public double getObjectsPerSecond() {
+            return durationNanos == 0 ? 0 : objects * 1000000000d / durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d objects in %d batches, %.1f ms (read %.1f ms, parse %.1f ms, write %.1f ms, " +
+                            "writer waited %.1f ms), %.0f objects/s",
+                    objects, batches, durationNanos / 1e6, readNanos / 1e6, parseNanos / 1e6, writeNanos / 1e6,
+                    writerWaitNanos / 1e6, getObjectsPerSecond());
+        }
+    }
+
+    // The columns of the table, read on the writing thread so the parser threads never use the Realm
+    private static class Schema {
+        final int columnCount;
+        final String[] names;
+        final ColumnType[] types;
+        final int[] integerSizes; // The size of the Java type of the INTEGER columns, see ColumnInfo
+        final Map<String, Integer> columns = new HashMap<String, Integer>();
+        final Table[] fullTextIndexes;
+
+        Schema(Realm realm, Class<? extends RealmObject> clazz, Table table) {
+            String simpleClassName = clazz.getSimpleName();
+            ColumnInfo columnInfo = realm.getColumnInfo(clazz);
+            columnCount = (int) table.getColumnCount();
+            names = new String[columnCount];
+            types = new ColumnType[columnCount];
+            integerSizes = new int[columnCount];
+            fullTextIndexes = new Table[columnCount];
+            for (int column = 0; column < columnCount; column++) {
+                String fieldName = table.getColumnName(column);
+                ColumnType type = table.getColumnType(column);
+                switch (type) {
+                    case INTEGER:
+                        integerSizes[column] = columnInfo.getIntegerSize(column);
+                        break;
+                    case FLOAT:
+                    case DOUBLE:
+                    case BOOLEAN:
+                    case DATE:
+                    case BINARY:
+                    case LINK: // Only an error if an object has a value for it, see ParseTask
+                    case LINK_LIST:
+                        break;
+                    case STRING:
+                        if (realm.hasFullTextIndex(simpleClassName, fieldName)) {
+                            fullTextIndexes[column] = realm.getFullTextIndex(simpleClassName, fieldName);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException(String.format(
+                                "Field '%s' of type %s is not supported.", fieldName, type));
+                }
+                names[column] = fieldName;
+                types[column] = type;
+                columns.put(fieldName, column);
+            }
+        }
+    }
+
+    // Splits the JSON array into chunks of objects. Only the boundaries of the objects are looked for, by counting
+    // brackets outside of strings, so this is much faster than parsing and the parsing is left to the parser threads.
+    private static class ChunkReader {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private boolean started;
+        private boolean finished;
+        long characters;
+
+        ChunkReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Returns the next chunk of up to maxObjects objects, or null at the end of the array
+        Chunk next(int maxObjects) throws IOException {
+            if (finished) {
+                return null;
+            }
+            StringBuilder json = new StringBuilder().append('[');
+            int size = 0;
+            while (size < maxObjects) {
+                int c = nextNonWhitespace();
+                if (!started) {
+                    if (c != '[') {
+                        throw new MalformedJsonException("Expected a JSON array at character " + characters);
+                    }
+                    started = true;
+                    c = nextNonWhitespace();
+                    if (c == ']') {
+                        finished = true;
+                        break;
+                    }
+                } else if (c == ']') {
+                    finished = true;
+                    break;
+                } else if (c == ',') {
+                    c = nextNonWhitespace();
+                } else {
+                    throw new MalformedJsonException("Expected ',' or ']' at character " + characters);
+                }
+                if (size > 0) {
+                    json.append(',');
+                }
+                copyObject(c, json);
+                size++;
+            }
+            return size == 0 ? null : new Chunk(json.append(']').toString(), size);
+        }
+
+        private void copyObject(int c, StringBuilder json) throws IOException {
+            if (c != '{') {
+                throw new MalformedJsonException("Expected a JSON object at character " + characters);
+            }
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            while (true) {
+                json.append((char) c);
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return;
+                    }
+                }
+                c = read();
+                if (c == -1) {
+                    throw new MalformedJsonException("Unterminated object at character " + characters);
+                }
+            }
+        }
+
+        private int nextNonWhitespace() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+            if (c == -1) {
+                throw new MalformedJsonException("Unterminated array at character " + characters);
+            }
+            return c;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            characters++;
+            return buffer[position++];
+        }
+
+        void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // A JSON array of up to batchSize objects, cut out of the input
+    private static class Chunk {
+        final String json;
+        final int size;
+
+        Chunk(String json, int size) {
+            this.json = json;
+            this.size = size;
+        }
+    }
+
+    // The values of the objects of a chunk, with an array for each column
+    private static class Batch {
+        final int size;
+        final Object[] values;
+        final boolean[] present;
+        long parseNanos;
+
+        Batch(Schema schema, int size) {
+            this.size = size;
+            values = new Object[schema.columnCount];
+            present = new boolean[schema.columnCount];
+        }
+
+        // Creates the array of a column the first time one of the objects has a value for it
+        Object getValues(Schema schema, int column) {
+            if (present[column]) {
+                return values[column];
+            }
+            Object array;
+            switch (schema.types[column]) {
+                case INTEGER:
+                case DATE:
+                    array = new long[size];
+                    break;
+                case FLOAT:
+                    array = new float[size];
+                    break;
+                case DOUBLE:
+                    array = new double[size];
+                    break;
+                case BOOLEAN:
+                    array = new boolean[size];
+                    break;
+                case STRING:
+                    String[] strings = new String[size];
+                    Arrays.fill(strings, "");
+                    array = strings;
+                    break;
+                case BINARY:
+                    byte[][] bytes = new byte[size][];
+                    Arrays.fill(bytes, new byte[0]);
+                    array = bytes;
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected column type " + schema.types[column]);
+            }
+            values[column] = array;
+            present[column] = true;
+            return array;
+        }
+    }
+
+    // Parses a chunk on a parser thread
+    private static class ParseTask implements Callable<Batch> {
+        private final Schema schema;
+        private final Chunk chunk;
+
+        ParseTask(Schema schema, Chunk chunk) {
+            this.schema = schema;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public Batch call() throws IOException {
+            long start = System.nanoTime();
+            Batch batch = new Batch(schema, chunk.size);
+            JsonReader reader = new JsonReader(new StringReader(chunk.json));
+            try {
+                reader.beginArray();
+                for (int row = 0; row < chunk.size; row++) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        Integer column = schema.columns.get(reader.nextName());
+                        if (column == null || reader.peek() == JsonToken.NULL) {
+                            reader.skipValue();
+                        } else {
+                            parseValue(reader, batch, column, row);
+                        }
+                    }
+                    reader.endObject();
+                }
+                reader.endArray();
+            } finally {
+                reader.close();
+            }
+            batch.parseNanos = System.nanoTime() - start;
+            return batch;
+        }
+
+        // Reads a value of an INTEGER column, which must fit in the int, short or byte field the column holds
+        private long nextInteger(JsonReader reader, int column) throws IOException {
+            long value = reader.nextLong();
+            int shift = Long.SIZE - schema.integerSizes[column];
+            if (((value << shift) >> shift) != value) {
+                throw new NumberFormatException(String.format("Value %d of field '%s' is out of range.",
+                        value, schema.names[column]));
+            }
+            return value;
+        }
+
+        private void parseValue(JsonReader reader, Batch batch, int column, int row) throws IOException {
+            switch (schema.types[column]) {
+                case INTEGER:
+                    ((long[]) batch.getValues(schema, column))[row] = nextInteger(reader, column);
+                    break;
+                case FLOAT:
+                    ((float[]) batch.getValues(schema, column))[row] = (float) reader.nextDouble();
+                    break;
+                case DOUBLE:
+                    ((double[]) batch.getValues(schema, column))[row] = reader.nextDouble();
+                    break;
+                case BOOLEAN:
+                    ((boolean[]) batch.getValues(schema, column))[row] = reader.nextBoolean();
+                    break;
+                case STRING:
+                    ((String[]) batch.getValues(schema, column))[row] = reader.nextString();
+                    break;
+                case DATE:
+                    // Stored in seconds, see Table.setDate()
+                    if (reader.peek() == JsonToken.NUMBER) {
+                        long timestamp = reader.nextLong();
+                        if (timestamp > -1) {
+                            ((long[]) batch.getValues(schema, column))[row] = timestamp / 1000;
+                        }
+                    } else {
+                        Date date = JsonUtils.stringToDate(reader.nextString());
+                        if (date != null) {
+                            ((long[]) batch.getValues(schema, column))[row] = date.getTime() / 1000;
+                        }
+                    }
+                    break;
+                case BINARY:
+                    ((byte[][]) batch.getValues(schema, column))[row] = JsonUtils.stringToBytes(reader.nextString());
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format(
+                            "Field '%s' links to other objects, which is only supported by Realm.createAllFromJson().",
+                            schema.names[column]));
+            }
+        }
+    }
+}
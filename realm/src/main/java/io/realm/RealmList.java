@@ -18,6 +18,7 @@ package io.realm;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import io.realm.exceptions.RealmException;
@@ -98,6 +99,65 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         return true;
     }
 
+    /**
+     * Adds all the objects to the end of the list. In managed mode this is done with a single native call, which is
+     * much faster than adding the objects one by one.
+     *
+     * @param objects the objects to add.
+     * @return true if the list was changed.
+     * @throws IllegalArgumentException if any of the objects is {@code null}. Then no objects are added.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> objects) {
+        if (managedMode) {
+            view.addAll(getRowIndexes(objects));
+        } else {
+            for (E object : objects) {
+                assertValidObject(object);
+            }
+            nonManagedList.addAll(objects);
+        }
+        return !objects.isEmpty();
+    }
+
+    /**
+     * Replaces the contents of the list with the objects. In managed mode this is done with a single native call.
+     *
+     * @param objects the new contents of the list.
+     * @throws IllegalArgumentException if any of the objects is {@code null}. Then the list is unchanged.
+     */
+    public void setAll(Collection<? extends E> objects) {
+        if (managedMode) {
+            view.setAll(getRowIndexes(objects));
+        } else {
+            for (E object : objects) {
+                assertValidObject(object);
+            }
+            nonManagedList.clear();
+            nonManagedList.addAll(objects);
+        }
+    }
+
+    /**
+     * Removes the objects from position fromIndex, inclusive, to toIndex, exclusive. In managed mode this is done
+     * with a single native call.
+     *
+     * @param fromIndex the position of the first object to remove.
+     * @param toIndex the position after the last object to remove.
+     * @throws IndexOutOfBoundsException if the range is not within the list.
+     */
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex < fromIndex || toIndex > size()) {
+            throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + "[, size is " + size());
+        }
+        if (managedMode) {
+            view.removeRange(fromIndex, toIndex);
+        } else {
+            nonManagedList.subList(fromIndex, toIndex).clear();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -166,6 +226,63 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    /**
+     * Removes the first occurrence of an object from the list. In managed mode the object is searched for in native
+     * memory, see {@link #indexOf(Object)}.
+     *
+     * @param object the object to remove.
+     * @return true if the list contained the object.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (managedMode) {
+            int location = indexOf(object);
+            if (location == -1) {
+                return false;
+            }
+            view.remove(location);
+            return true;
+        } else {
+            return nonManagedList.remove(object);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) != -1;
+    }
+
+    /**
+     * Returns the position of the first occurrence of an object in the list. In managed mode the links are searched
+     * for the row of the object in native memory, without creating any objects.
+     *
+     * @param object the object to search for.
+     * @return the position, or -1 if the list does not contain the object.
+     */
+    @Override
+    public int indexOf(Object object) {
+        if (managedMode) {
+            if (!isManagedBySameRealm(object)) {
+                return -1;
+            }
+            return (int) view.find(((RealmObject) object).row.getIndex());
+        } else {
+            return nonManagedList.indexOf(object);
+        }
+    }
+
+    // Only valid objects of the class of the list, in the same Realm, can be in a managed list
+    private boolean isManagedBySameRealm(Object object) {
+        if (!clazz.isInstance(object)) {
+            return false;
+        }
+        RealmObject realmObject = (RealmObject) object;
+        return realmObject.isValid() && realmObject.realm.getPath().equals(realm.getPath());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -234,6 +351,16 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    private long[] getRowIndexes(Collection<? extends E> objects) {
+        long[] rowIndexes = new long[objects.size()];
+        int i = 0;
+        for (E object : objects) {
+            assertValidObject(object);
+            rowIndexes[i++] = object.row.getIndex();
+        }
+        return rowIndexes;
+    }
+
     private void assertValidObject(E object) {
         if (object == null) {
             throw new IllegalArgumentException(NULL_OBJECTS_NOT_ALLOWED_MESSAGE);
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.realm.internal.Metrics;
+import io.realm.internal.Table;
+
+/**
+ * Metrics about the use of Realms in this process. A {@link Listener} receives events from all threads as they
+ * happen, e.g. the time spent committing a write transaction. {@link Counters} is a listener which sums the events
+ * up, including histograms of the time spent.
+ * <p>
+ * Metrics are disabled by default. Then nothing is measured, which only costs a check of a field for each event.
+ * <pre>
+ * RealmMetrics.Counters counters = new RealmMetrics.Counters();
+ * RealmMetrics.setListener(counters);
+ * ...
+ * long commits = counters.getCommitLatency().getCount();
+ * </pre>
+ */
+public final class RealmMetrics {
+
+    /**
+     * Receives metrics events. The methods are called on the thread where the event happened, so they should return
+     * quickly and must be thread safe.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a write transaction has been started.
+         * @param path The path of the Realm file.
+         * @param waitNanos The time spent waiting for the write lock and updating to the latest version.
+         */
+        public void onBeginTransaction(String path, long waitNanos);
+
+        /**
+         * Called when a write transaction has been committed.
+         * @param path The path of the Realm file.
+         * @param durationNanos The time spent writing the changes.
+         * @param fileSize The size of the Realm file in bytes after the commit.
+         */
+        public void onCommitTransaction(String path, long durationNanos, long fileSize);
+
+        /**
+         * Called when a commit or {@link Realm#reserve(long)} has made the Realm file bigger, which makes Realm map
+         * the file into memory again.
+         * @param path The path of the Realm file.
+         * @param oldSize The size of the file in bytes before.
+         * @param newSize The size of the file in bytes after.
+         * @param durationNanos The time spent in the commit or reserve, including growing and mapping the file.
+         */
+        public void onFileGrown(String path, long oldSize, long newSize, long durationNanos);
+
+        /**
+         * Called when a query has been run, e.g. by {@link RealmQuery#findAll()} or {@link RealmQuery#count()}.
+         * @param className The name of the class queried.
+         * @param operation The kind of query: "find", "findAll" or "count".
+         * @param durationNanos The time spent running the query.
+         */
+        public void onQuery(String className, String operation, long durationNanos);
+
+        /**
+         * Called when an object has been read from a Realm, e.g. by {@link RealmResults#get(int)}.
+         * @param clazz The class of the object.
+         */
+        public void onObjectMaterialized(Class<? extends RealmObject> clazz);
+
+        /**
+         * Called when the {@link RealmChangeListener}s of a Realm instance have been notified of a change.
+         * @param path The path of the Realm file.
+         * @param threadsNotified The number of other threads which are told about the change, if the change was
+         *                        committed by this instance. Otherwise 0.
+         * @param listenersCalled The number of listeners of this instance which have been called.
+         * @param durationNanos The time spent in the listeners.
+         */
+        public void onNotificationsSent(String path, int threadsNotified, int listenersCalled, long durationNanos);
+    }
+
+    private static volatile Listener listener;
+
+    private RealmMetrics() {
+    }
+
+    /**
+     * Set the listener receiving metrics events from all threads.
+     * @param listener The listener, or {@code null} to disable metrics.
+     */
+    public static void setListener(final Listener listener) {
+        RealmMetrics.listener = listener;
+        if (listener == null) {
+            Metrics.setQueryListener(null);
+        } else {
+            Metrics.setQueryListener(new Metrics.QueryListener() {
+                @Override
+                public void onQuery(Table table, String operation, long durationNanos) {
+                    listener.onQuery(Realm.getClassName(table), operation, durationNanos);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the listener receiving metrics events.
+     * @return The listener, or {@code null} if metrics are disabled.
+     */
+    public static Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Returns the number of native accessors (objects, query results and queries) which have not been closed or
+     * garbage collected yet. Only accessors created while metrics are enabled are counted.
+     * @return The number of native accessors alive.
+     */
+    public static long getLiveNativeAccessors() {
+        return Metrics.getLiveNativeObjects();
+    }
+
+    /**
+     * A histogram of durations, with buckets for each power of two nanoseconds.
+     */
+    public static class Histogram {
+
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        /**
+         * Add a duration to the histogram.
+         * @param nanos The duration in nanoseconds.
+         */
+        public void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            buckets.incrementAndGet(nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos));
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns an upper bound of a percentile of the durations, e.g. 0.99 for the 99th percentile.
+         * @param percentile The percentile, between 0 and 1.
+         * @return The upper bound of the bucket holding the percentile in nanoseconds, or 0 if empty.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("The percentile must be between 0 and 1: " + percentile);
+            }
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && seen > 0) {
+                    return (i == BUCKETS - 2) ? Long.MAX_VALUE : (2L << i) - 1;
+                }
+            }
+            return getMaxNanos();
+        }
+
+        /**
+         * Returns the number of durations in a bucket.
+         * @param bucket The bucket, holding durations from 2^bucket to 2^(bucket+1)-1 nanoseconds.
+         *               Bucket 0 also holds durations of 0.
+         * @return The number of durations in the bucket.
+         */
+        public long getBucketCount(int bucket) {
+            return buckets.get(bucket);
+        }
+    }
+
+    /**
+     * A listener summing up the events.
+     */
+    public static class Counters implements Listener {
+
+        private final Histogram writeLockWait = new Histogram();
+        private final Histogram commitLatency = new Histogram();
+        private final Histogram queryLatency = new Histogram();
+        private final Histogram fileGrowth = new Histogram();
+        private final AtomicLong objectsMaterialized = new AtomicLong();
+        private final AtomicLong threadsNotified = new AtomicLong();
+        private final AtomicLong listenersCalled = new AtomicLong();
+        private volatile long fileSize;
+
+        @Override
+        public void onBeginTransaction(String path, long waitNanos) {
+            writeLockWait.record(waitNanos);
+        }
+
+        @Override
+        public void onCommitTransaction(String path, long durationNanos, long fileSize) {
+            commitLatency.record(durationNanos);
+            this.fileSize = fileSize;
+        }
+
+        @Override
+        public void onFileGrown(String path, long oldSize, long newSize, long durationNanos) {
+            fileGrowth.record(durationNanos);
+        }
+
+        @Override
+        public void onQuery(String className, String operation, long durationNanos) {
+            queryLatency.record(durationNanos);
+        }
+
+        @Override
+        public void onObjectMaterialized(Class<? extends RealmObject> clazz) {
+            objectsMaterialized.incrementAndGet();
+        }
+
+        @Override
+        public void onNotificationsSent(String path, int threadsNotified, int listenersCalled, long durationNanos) {
+            this.threadsNotified.addAndGet(threadsNotified);
+            this.listenersCalled.addAndGet(listenersCalled);
+        }
+
+        public Histogram getWriteLockWait() {
+            return writeLockWait;
+        }
+
+        public Histogram getCommitLatency() {
+            return commitLatency;
+        }
+
+        public Histogram getQueryLatency() {
+            return queryLatency;
+        }
+
+        /**
+         * Returns the durations of the commits and {@link Realm#reserve(long)} calls which made a Realm file bigger.
+         * Its count is the number of times a file had to be mapped again.
+         * @return The histogram of file growths.
+         */
+        public Histogram getFileGrowth() {
+            return fileGrowth;
+        }
+
+        public long getObjectsMaterialized() {
+            return objectsMaterialized.get();
+        }
+
+        /**
+         * Returns the number of times other threads have been told about a commit.
+         * @return The number of threads notified, summed over all commits.
+         */
+        public long getThreadsNotified() {
+            return threadsNotified.get();
+        }
+
+        /**
+         * Returns the number of times a {@link RealmChangeListener} has been called.
+         * @return The number of listener calls.
+         */
+        public long getListenersCalled() {
+            return listenersCalled.get();
+        }
+
+        /**
+         * Returns the size of the Realm file after the latest commit.
+         * @return The file size in bytes, or 0 if nothing has been committed.
+         */
+        public long getFileSize() {
+            return fileSize;
+        }
+    }
+}
@@ -46,7 +46,8 @@ public abstract class RealmObject {
     protected Realm realm;
 
     /**
-     * Removes the object from the Realm it is currently associated to.
+     * Removes the object from the Realm it is currently associated to. The objects linked from fields annotated
+     * with {@link io.realm.annotations.Owned} are removed as well, recursively.
      *
      * After this method is called the object will be invalid and any operation (read or write)
      * performed on it will fail with an IllegalStateException
@@ -58,7 +59,21 @@ public abstract class RealmObject {
         if (realm == null) {
             throw new IllegalStateException("Object malformed: missing Realm. Make sure to instantiate RealmObjects with Realm.createObject()");
         }
-        row.getTable().moveLastOver(row.getIndex());
+        realm.removeObject(row.getTable(), row.getIndex());
+    }
+
+    /**
+     * Adds a delta to an int, short, byte or long field of the object. The value is read and written with a single
+     * native call, instead of one call for the getter and one for the setter. The value of the field wraps around
+     * like a Java integer of its type when it overflows.
+     *
+     * @param fieldName the name of the field.
+     * @param delta the value to add, which may be negative.
+     * @throws IllegalArgumentException if the object has no integer field with this name.
+     * @throws IllegalStateException if the object is not in a Realm or is not in a write transaction.
+     */
+    public void increment(String fieldName, long delta) {
+        throw new IllegalStateException("Only use this method on objects created or fetched in a Realm, Realm.createObject() or Realm.where()");
     }
 
     void populateUsingJsonObject(JSONObject json) throws JSONException {
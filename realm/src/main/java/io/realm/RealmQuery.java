@@ -17,13 +17,16 @@
 package io.realm;
 
 
+import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import io.realm.internal.ColumnType;
+import io.realm.internal.FullTextIndex;
+import io.realm.internal.QueryDescription;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
@@ -37,8 +40,10 @@ public class RealmQuery<E extends RealmObject> {
     private Realm realm;
     private Table table;
     private TableQuery query;
-    private Map<String, Long> columns = new HashMap<String, Long>();
+    private Map<String, Long> columns;
     private Class<E> clazz;
+    // The conditions added, for explain() and the slow query log
+    private final QueryDescription description;
 
     private static final String LINK_NOT_SUPPORTED_METHOD = "'%s' is not supported for link queries";
 
@@ -57,7 +62,9 @@ public class RealmQuery<E extends RealmObject> {
         this.clazz = clazz;
         this.table = realm.getTable(clazz);
         this.query = table.where();
-        this.columns = Realm.columnIndices.get(clazz.getSimpleName());
+        this.columns = realm.getColumnInfo(clazz).getIndicesMap();
+        this.description = new QueryDescription(table);
+        this.query.setDescription(description);
     }
 
     /**
@@ -72,7 +79,9 @@ public class RealmQuery<E extends RealmObject> {
         this.clazz = clazz;
         this.table = realm.getTable(clazz);
         this.query = realmList.getTable().where();
-        this.columns = Realm.columnIndices.get(clazz.getSimpleName());
+        this.columns = realm.getColumnInfo(clazz).getIndicesMap();
+        this.description = new QueryDescription(table);
+        this.query.setDescription(description);
     }
 
     RealmQuery(Realm realm, TableQuery query, Class<E> clazz) {
@@ -80,7 +89,9 @@ public class RealmQuery<E extends RealmObject> {
         this.clazz = clazz;
         this.query = query;
         this.table = realm.getTable(clazz);
-        this.columns = Realm.columnIndices.get(clazz.getSimpleName());
+        this.columns = realm.getColumnInfo(clazz).getIndicesMap();
+        this.description = new QueryDescription(table);
+        this.query.setDescription(description);
     }
 
     private boolean containsDot(String s) {
@@ -183,6 +194,7 @@ public class RealmQuery<E extends RealmObject> {
             throw new IllegalArgumentException("Link queries cannot be case insensitive - coming soon.");
         }
         this.query.equalTo(columnIndices, value, caseSensitive);
+        description.addCondition("==", columnIndices, new Object[] {value}, caseSensitive);
         return this;
     }
 
@@ -198,6 +210,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.equalTo(columnIndices, value);
+        description.addCondition("==", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -213,6 +226,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, long value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.equalTo(columnIndices, value);
+        description.addCondition("==", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -228,6 +242,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.equalTo(columnIndices, value);
+        description.addCondition("==", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -243,6 +258,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.equalTo(columnIndices, value);
+        description.addCondition("==", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -258,6 +274,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, boolean value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.BOOLEAN);
         this.query.equalTo(columnIndices, value);
+        description.addCondition("==", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -273,6 +290,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.equalTo(columnIndices, value);
+        description.addCondition("==", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -307,6 +325,7 @@ public class RealmQuery<E extends RealmObject> {
             throw new IllegalArgumentException("Link queries cannot be case insensitive - coming soon.");
         }
         this.query.notEqualTo(columnIndices, value, caseSensitive);
+        description.addCondition("!=", columnIndices, new Object[] {value}, caseSensitive);
         return this;
     }
 
@@ -322,6 +341,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, int value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.notEqualTo(columnIndices, value);
+        description.addCondition("!=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -337,6 +357,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, long value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.notEqualTo(columnIndices, value);
+        description.addCondition("!=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -352,6 +373,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.notEqualTo(columnIndices, value);
+        description.addCondition("!=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -367,6 +389,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.notEqualTo(columnIndices, value);
+        description.addCondition("!=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -382,6 +405,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, boolean value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.BOOLEAN);
         this.query.equalTo(columnIndices, !value);
+        description.addCondition("==", columnIndices, new Object[] {!value}, true);
         return this;
     }
 
@@ -397,6 +421,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.notEqualTo(columnIndices, value);
+        description.addCondition("!=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -414,6 +439,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, int value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThan(columnIndices, value);
+        description.addCondition(">", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -429,6 +455,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, long value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThan(columnIndices, value);
+        description.addCondition(">", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -444,6 +471,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.greaterThan(columnIndices, value);
+        description.addCondition(">", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -459,6 +487,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.greaterThan(columnIndices, value);
+        description.addCondition(">", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -474,6 +503,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.greaterThan(columnIndices, value);
+        description.addCondition(">", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -489,6 +519,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThanOrEqual(columnIndices, value);
+        description.addCondition(">=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -504,6 +535,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThanOrEqual(columnIndices, value);
+        description.addCondition(">=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -519,6 +551,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.greaterThanOrEqual(columnIndices, value);
+        description.addCondition(">=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -534,6 +567,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.greaterThanOrEqual(columnIndices, value);
+        description.addCondition(">=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -549,6 +583,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.greaterThanOrEqual(columnIndices, value);
+        description.addCondition(">=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -566,6 +601,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThan(columnIndices, value);
+        description.addCondition("<", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -581,6 +617,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, long value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThan(columnIndices, value);
+        description.addCondition("<", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -596,6 +633,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.lessThan(columnIndices, value);
+        description.addCondition("<", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -611,6 +649,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.lessThan(columnIndices, value);
+        description.addCondition("<", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -626,6 +665,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.lessThan(columnIndices, value);
+        description.addCondition("<", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -641,6 +681,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThanOrEqual(columnIndices, value);
+        description.addCondition("<=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -656,6 +697,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThanOrEqual(columnIndices, value);
+        description.addCondition("<=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -671,6 +713,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.lessThanOrEqual(columnIndices, value);
+        description.addCondition("<=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -686,6 +729,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.lessThanOrEqual(columnIndices, value);
+        description.addCondition("<=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -701,6 +745,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.lessThanOrEqual(columnIndices, value);
+        description.addCondition("<=", columnIndices, new Object[] {value}, true);
         return this;
     }
 
@@ -719,6 +764,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, int from, int to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.between(columnIndices, from, to);
+        description.addCondition("between", columnIndices, new Object[] {from, to}, true);
         return this;
     }
 
@@ -735,6 +781,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, long from, long to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.between(columnIndices, from, to);
+        description.addCondition("between", columnIndices, new Object[] {from, to}, true);
         return this;
     }
 
@@ -751,6 +798,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, double from, double to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.between(columnIndices, from, to);
+        description.addCondition("between", columnIndices, new Object[] {from, to}, true);
         return this;
     }
 
@@ -767,6 +815,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, float from, float to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.between(columnIndices, from, to);
+        description.addCondition("between", columnIndices, new Object[] {from, to}, true);
         return this;
     }
 
@@ -783,6 +832,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, Date from, Date to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.between(columnIndices, from, to);
+        description.addCondition("between", columnIndices, new Object[] {from, to}, true);
         return this;
     }
 
@@ -816,6 +866,7 @@ public class RealmQuery<E extends RealmObject> {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         if (columnIndices.length == 1) {
             this.query.contains(columnIndices[0], value, caseSensitive);
+            description.addCondition("contains", columnIndices, new Object[] {value}, caseSensitive);
             return this;
         }
         throw new IllegalArgumentException(String.format(LINK_NOT_SUPPORTED_METHOD, "contains"));
@@ -848,6 +899,7 @@ public class RealmQuery<E extends RealmObject> {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         if (columnIndices.length == 1) {
             this.query.beginsWith(columnIndices[0], value, caseSensitive);
+            description.addCondition("beginsWith", columnIndices, new Object[] {value}, caseSensitive);
             return this;
         }
         throw new IllegalArgumentException(String.format(LINK_NOT_SUPPORTED_METHOD, "beginsWith"));
@@ -880,11 +932,76 @@ public class RealmQuery<E extends RealmObject> {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         if (columnIndices.length == 1) {
             this.query.endsWith(columnIndices[0], value, caseSensitive);
+            description.addCondition("endsWith", columnIndices, new Object[] {value}, caseSensitive);
             return this;
         }
         throw new IllegalArgumentException(String.format(LINK_NOT_SUPPORTED_METHOD, "endsWith"));
     }
 
+    // Full text
+
+    /**
+     * Condition that the value of field contains all the words of a text. The words are separated by spaces
+     * or punctuation, and case is ignored. The field must be annotated with {@link io.realm.annotations.FullText},
+     * and the words are looked up in its full text index instead of scanning all values.
+     * @param fieldName The field to compare
+     * @param text      The words to look for, e.g. "realm database"
+     * @return The query object
+     * @throws java.lang.IllegalArgumentException if the field has no full text index or the text has no words
+     * @throws java.lang.RuntimeException Any other error
+     */
+    public RealmQuery<E> matches(String fieldName, String text) {
+        long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
+        if (columnIndices.length != 1) {
+            throw new IllegalArgumentException(String.format(LINK_NOT_SUPPORTED_METHOD, "matches"));
+        }
+        String className = clazz.getSimpleName();
+        if (!realm.hasFullTextIndex(className, fieldName)) {
+            throw new IllegalArgumentException(String.format("Field '%s' is not annotated with @FullText.", fieldName));
+        }
+        Set<String> terms = FullTextIndex.tokenize(text);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("The text must contain at least one word.");
+        }
+        Table fullTextIndex = realm.getFullTextIndex(className, fieldName);
+        String[] termArray = terms.toArray(new String[terms.size()]);
+        this.query.matchesFullText(columnIndices[0], fullTextIndex, termArray);
+        description.addFullTextCondition(columnIndices[0], fullTextIndex, termArray);
+        return this;
+    }
+
+    // Links
+
+    /**
+     * Condition that a link or a RealmList field of the objects links to an object. The objects are found through
+     * the backlinks of the object, so only the objects linking to it are visited instead of all objects.
+     * @param fieldName The RealmObject or RealmList field linking to the object
+     * @param object    The object linked to
+     * @return The query object
+     * @throws java.lang.IllegalArgumentException if the field is not a RealmObject or RealmList field linking to the
+     * class of the object, or the object is not a valid object of this Realm
+     * @throws java.lang.RuntimeException Any other error
+     */
+    public RealmQuery<E> linkingTo(String fieldName, RealmObject object) {
+        if (containsDot(fieldName)) {
+            throw new IllegalArgumentException(String.format(LINK_NOT_SUPPORTED_METHOD, "linkingTo"));
+        }
+        Long columnIndex = columns.get(fieldName);
+        if (columnIndex == null || columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        ColumnType columnType = table.getColumnType(columnIndex);
+        if (columnType != ColumnType.LINK && columnType != ColumnType.LINK_LIST) {
+            throw new IllegalArgumentException(String.format("Field '%s' is not a RealmObject or RealmList.", fieldName));
+        }
+        if (object == null || !object.isValid() || !object.realm.getPath().equals(realm.getPath())) {
+            throw new IllegalArgumentException("The object must be a valid object of this Realm.");
+        }
+        this.query.linkingTo(columnIndex, object.row);
+        description.addCondition("linkingTo", new long[] {columnIndex}, new Object[] {object.row.getIndex()}, true);
+        return this;
+    }
+
     // Grouping
 
     /**
@@ -894,6 +1011,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> beginGroup() {
         this.query.group();
+        description.group();
         return this;
     }
 
@@ -904,6 +1022,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> endGroup() {
         this.query.endGroup();
+        description.endGroup();
         return this;
     }
 
@@ -914,6 +1033,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> or() {
         this.query.or();
+        description.or();
         return this;
     }
 
@@ -1104,6 +1224,18 @@ public class RealmQuery<E extends RealmObject> {
         return new RealmResults<E>(realm, query.findAll(), clazz);
     }
 
+    /**
+     * Deletes all objects that fulfill the query conditions, together with the objects they own through fields
+     * annotated with {@link io.realm.annotations.Owned}. The objects are found and deleted with a single native
+     * call, without creating a RealmResults. This must be done inside a transaction.
+     *
+     * @return The number of objects found and deleted.
+     * @throws java.lang.RuntimeException Any other error
+     */
+    public long deleteAll() {
+        return query.removeCascade(realm.getOwnedColumns(), realm.getFullTextIndexes());
+    }
+
     /**
      * Find all objects that fulfill the query conditions and sorted by specific field name.
      *
@@ -1127,12 +1259,18 @@ public class RealmQuery<E extends RealmObject> {
     /**
      * Find all objects that fulfill the query conditions and sorted by specific field name.
      *
-     * @param fieldName the field name to sort by.
+     * @param fieldName the field name to sort by. Fields of child objects are given as a path, e.g. "owner.name".
      * @param sortAscending sort ascending if SORT_ORDER_ASCENDING, sort descending if SORT_ORDER_DESCENDING.
      * @return A sorted RealmResults containing the objects.
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
     public RealmResults<E> findAllSorted(String fieldName, boolean sortAscending) {
+        if (containsDot(fieldName)) {
+            // Sorting on a child object property is done by following the links natively
+            RealmResults<E> results = findAll();
+            results.sort(fieldName, sortAscending);
+            return results;
+        }
         TableView tableView = query.findAll();
         TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
         Long columnIndex = columns.get(fieldName);
@@ -1143,6 +1281,22 @@ public class RealmQuery<E extends RealmObject> {
         return new RealmResults<E>(realm, tableView, clazz);
     }
 
+    /**
+     * Find all objects that fulfill the query conditions and sorted by a String field using the rules of a
+     * {@link Collator}, e.g. to sort according to a locale or to ignore case and accents.
+     *
+     * @param fieldName the name of a String field to sort by.
+     * @param sortAscending sort ascending if SORT_ORDER_ASCENDING, sort descending if SORT_ORDER_DESCENDING.
+     * @param collator the collator defining the order of strings.
+     * @return A sorted RealmResults containing the objects.
+     * @throws java.lang.IllegalArgumentException if field name does not exist or is not a String field.
+     */
+    public RealmResults<E> findAllSorted(String fieldName, boolean sortAscending, Collator collator) {
+        RealmResults<E> results = findAll();
+        results.sort(fieldName, sortAscending, collator);
+        return results;
+    }
+
     /**
      * Find all objects that fulfill the query conditions and sorted by specific field name in
      * ascending order.
@@ -1165,7 +1319,7 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
     public RealmResults<E> findAllSorted(String fieldName) {
-        return findAll(fieldName, true);
+        return findAllSorted(fieldName, true);
     }
 
     /**
@@ -1228,23 +1382,29 @@ public class RealmQuery<E extends RealmObject> {
         }
 
         if (fieldNames.length == 1) {
-            return findAll(fieldNames[0], sortAscending[0]);
-        } else {
-            TableView tableView = query.findAll();
-            List<Long> columnIndices = new ArrayList<Long>();
-            List<TableView.Order> orders = new ArrayList<TableView.Order>();
-            for (int i = 0; i < fieldNames.length; i++) {
-                String fieldName = fieldNames[i];
-                Long columnIndex = columns.get(fieldName);
-                if (columnIndex == null || columnIndex < 0) {
-                    throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
-                }
-                columnIndices.add(columnIndex);
-                orders.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
+            return findAllSorted(fieldNames[0], sortAscending[0]);
+        }
+        for (String fieldName : fieldNames) {
+            if (containsDot(fieldName)) {
+                RealmResults<E> results = findAll();
+                results.sort(fieldNames, sortAscending);
+                return results;
             }
-            tableView.sort(columnIndices, orders);
-            return new RealmResults<E>(realm, tableView, clazz);
         }
+        TableView tableView = query.findAll();
+        List<Long> columnIndices = new ArrayList<Long>();
+        List<TableView.Order> orders = new ArrayList<TableView.Order>();
+        for (int i = 0; i < fieldNames.length; i++) {
+            String fieldName = fieldNames[i];
+            Long columnIndex = columns.get(fieldName);
+            if (columnIndex == null || columnIndex < 0) {
+                throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+            }
+            columnIndices.add(columnIndex);
+            orders.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
+        }
+        tableView.sort(columnIndices, orders);
+        return new RealmResults<E>(realm, tableView, clazz);
     }
 
     /**
@@ -1321,6 +1481,39 @@ public class RealmQuery<E extends RealmObject> {
                 new boolean[] {sortAscending1, sortAscending2, sortAscending3});
     }
 
+    /**
+     * Find all objects that fulfill the query conditions and have distinct values in the given fields. If
+     * more objects have the same values, only the first of them is included. The duplicates are removed
+     * natively, using the search index for indexed String fields. The RealmResults stays distinct when it is
+     * updated with later changes to the Realm. Float and double values are compared as values, so 0.0 and -0.0
+     * are the same, and so are all NaN values.
+     *
+     * @param fieldNames the fields to compare. Only fields of type boolean, short, int, long, float, double,
+     *                   Date, String and RealmObject are supported.
+     * @return A RealmResults containing the distinct objects.
+     * @throws java.lang.IllegalArgumentException if no field names are given or a field name does not exist.
+     */
+    public RealmResults<E> distinct(String... fieldNames) {
+        if (fieldNames == null || fieldNames.length == 0) {
+            throw new IllegalArgumentException("At least one field name must be specified.");
+        }
+        long[] columnIndices = new long[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            String fieldName = fieldNames[i];
+            if (fieldName == null || containsDot(fieldName)) {
+                throw new IllegalArgumentException(String.format("Distinct is not supported on field '%s'.", fieldName));
+            }
+            Long columnIndex = columns.get(fieldName);
+            if (columnIndex == null || columnIndex < 0) {
+                throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+            }
+            columnIndices[i] = columnIndex;
+        }
+        TableView tableView = query.findAll();
+        tableView.distinct(columnIndices);
+        return new RealmResults<E>(realm, tableView, clazz);
+    }
+
     /**
      * Find the first object that fulfills the query conditions.
      * @return The object found or null if no object matches the query conditions.
@@ -1335,4 +1528,33 @@ public class RealmQuery<E extends RealmObject> {
             return null;
         }
     }
+
+    /**
+     * Run the query and describe how it was run: the tree of conditions, which conditions used a search index
+     * ({@link io.realm.annotations.Index} or {@link io.realm.annotations.FullText}), the estimated number of
+     * objects tested, the number of objects found and the time spent.
+     * @return A description of the query.
+     * @throws java.lang.RuntimeException Any other error.
+     */
+    public QueryExplanation explain() {
+        long estimatedRowsScanned = query.estimateRowsScanned();
+        long start = System.nanoTime();
+        TableView tableView = query.findAll();
+        long duration = System.nanoTime() - start;
+        try {
+            return new QueryExplanation(description.describe(), description.getIndexedConditions(), estimatedRowsScanned,
+                    tableView.size(), duration);
+        } finally {
+            tableView.close();
+        }
+    }
+
+    /**
+     * Log queries which take longer than a threshold, together with their conditions. Queries are logged as
+     * warnings (see {@link io.realm.internal.log.RealmLog}). This is disabled by default.
+     * @param milliseconds The threshold in milliseconds, or a negative value to disable logging.
+     */
+    public static void setSlowQueryThreshold(long milliseconds) {
+        TableQuery.setSlowQueryThreshold(milliseconds);
+    }
 }
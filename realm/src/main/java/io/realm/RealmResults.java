@@ -17,6 +17,7 @@
 package io.realm;
 
 
+import java.text.Collator;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
@@ -27,7 +28,10 @@ import java.util.ListIterator;
 
 import io.realm.exceptions.RealmException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.FullTextIndex;
+import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
+import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 
 /**
@@ -73,6 +77,8 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
         if (table == null) {
             return realm.getTable(classSpec);
         } else {
+            // Brings the view up to date first, so sorts done outside of core are applied again after a change
+            table.sync();
             return table;
         }
     }
@@ -170,18 +176,43 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
 
     // Sorting
 
-    // aux. method used by sort methods
+    // aux. method used by sort and update methods
     private long getColumnIndex(String fieldName) {
-        if (fieldName.contains(".")) {
-            throw new IllegalArgumentException("Sorting using child object properties is not supported: " + fieldName);
-        }
-        long columnIndex = table.getColumnIndex(fieldName);
+        long columnIndex = getTable().getColumnIndex(fieldName);
         if (columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
         }
         return columnIndex;
     }
 
+    // aux. method used by sort methods. Resolves a field name which might be a path through child
+    // objects, e.g. "owner.name", to the column indices to follow.
+    private long[] getColumnIndices(String fieldName) {
+        if (!fieldName.contains(".")) {
+            return new long[] {getColumnIndex(fieldName)};
+        }
+        String[] names = fieldName.split("\\.");
+        long[] columnIndices = new long[names.length];
+        Table table = getTable().getTable();
+        for (int i = 0; i < names.length; i++) {
+            long columnIndex = table.getColumnIndex(names[i]);
+            if (columnIndex < 0) {
+                throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+            }
+            columnIndices[i] = columnIndex;
+            if (i < names.length - 1) {
+                ColumnType type = table.getColumnType(columnIndex);
+                if (type == ColumnType.LINK_LIST) {
+                    throw new IllegalArgumentException("Sorting using RealmList properties is not supported: " + fieldName);
+                } else if (type != ColumnType.LINK) {
+                    throw new IllegalArgumentException(String.format("'%s' in '%s' is not a child object.", names[i], fieldName));
+                }
+                table = table.getLinkTarget(columnIndex);
+            }
+        }
+        return columnIndices;
+    }
+
     /**
      * Sort (ascending) an existing @{link io.realm.RealmResults}.
      * 
@@ -198,6 +229,8 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
      *
      * @param fieldName      The field name to sort by. Only fields of type boolean, short, int,
      *                       long, float, double, Date, and String are supported.
+     *                       Fields of child objects are given as a path, e.g. "owner.name". Objects
+     *                       where a link in the path is null are sorted first.
      * @param sortAscending  The direction to sort by; if true ascending, otherwise descending
      *                       You can use the constants SORT_ORDER_ASCENDING and SORT_ORDER_DESCENDING
      *                       for readability.
@@ -210,10 +243,46 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
         realm.checkIfValid();
         TableOrView table = getTable();
 
+        if (table instanceof TableView) {
+            TableView.Order TVOrder = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
+            if (fieldName.contains(".")) {
+                ((TableView) table).sort(getColumnIndices(fieldName), TVOrder);
+            } else {
+                ((TableView) table).sort(getColumnIndex(fieldName), TVOrder);
+            }
+        } else {
+            throw new IllegalArgumentException("Only RealmResults can be sorted - please use allObject() to create a RealmResults.");
+        }
+    }
+
+    /**
+     * Sort existing @{link io.realm.RealmResults} by a String field using the rules of a {@link Collator}.
+     * This makes it possible to sort according to a locale, or to ignore case and accents, e.g. by using a
+     * collator with strength {@link Collator#PRIMARY}.
+     *
+     * @param fieldName      The name of a String field to sort by.
+     * @param sortAscending  The direction to sort by; if true ascending, otherwise descending
+     *                       You can use the constants SORT_ORDER_ASCENDING and SORT_ORDER_DESCENDING
+     *                       for readability.
+     * @param collator       The collator defining the order of strings.
+     * @throws java.lang.IllegalArgumentException if field name does not exist or is not a String field.
+     */
+    public void sort(String fieldName, boolean sortAscending, Collator collator) {
+        if (fieldName == null) {
+            throw new IllegalArgumentException("fieldName must be provided");
+        } else if (collator == null) {
+            throw new IllegalArgumentException("collator must be provided");
+        }
+        realm.checkIfValid();
+        TableOrView table = getTable();
+
         if (table instanceof TableView) {
             long columnIndex = getColumnIndex(fieldName);
+            if (table.getColumnType(columnIndex) != ColumnType.STRING) {
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "String"));
+            }
             TableView.Order TVOrder = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
-            ((TableView) table).sort(columnIndex, TVOrder);
+            ((TableView) table).sort(columnIndex, TVOrder, collator);
         } else {
             throw new IllegalArgumentException("Only RealmResults can be sorted - please use allObject() to create a RealmResults.");
         }
@@ -249,14 +318,22 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
             TableOrView table = getTable();
             if (table instanceof TableView) {
                 List<TableView.Order> TVOrder = new ArrayList<TableView.Order>();
-                List<Long> columnIndices = new ArrayList<Long>();
+                long[][] columnPaths = new long[fieldNames.length][];
+                boolean followsLinks = false;
                 for (int i = 0; i < fieldNames.length; i++) {
-                    String fieldName = fieldNames[i];
-                    long columnIndex = getColumnIndex(fieldName);
-                    columnIndices.add(columnIndex);
+                    columnPaths[i] = getColumnIndices(fieldNames[i]);
+                    followsLinks |= columnPaths[i].length > 1;
                     TVOrder.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
                 }
-                ((TableView) table).sort(columnIndices, TVOrder);
+                if (followsLinks) {
+                    ((TableView) table).sort(columnPaths, TVOrder);
+                } else {
+                    List<Long> columnIndices = new ArrayList<Long>();
+                    for (long[] columnPath : columnPaths) {
+                        columnIndices.add(columnPath[0]);
+                    }
+                    ((TableView) table).sort(columnIndices, TVOrder);
+                }
             }
         }
     }
@@ -432,10 +509,224 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
     }
 
 
+    // Updating
+
+    /**
+     * Sets a field to the same value in all objects of the results. The objects are updated in a single native
+     * call, which is much faster than calling the setter of each object. This must be done inside a transaction.
+     *
+     * @param fieldName  The field to update. Link and list fields are not supported.
+     * @param value      The new value. Its type must match the field: an Integer, Long, Short or Byte for integer
+     *                   fields, a Number for float and double fields, and a Boolean, String, Date or byte[] for the
+     *                   other fields.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or the value does not match its type.
+     */
+    public void setValue(String fieldName, Object value) {
+        realm.checkIfValid();
+        ColumnType type = getTable().getColumnType(getColumnIndex(fieldName));
+        switch (type) {
+            case INTEGER:
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    setForAll(fieldName, type, ((Number) value).longValue());
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (value instanceof Number) {
+                    setForAll(fieldName, type, ((Number) value).floatValue());
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (value instanceof Number) {
+                    setForAll(fieldName, type, ((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    setForAll(fieldName, type, value);
+                    return;
+                }
+                break;
+            case STRING:
+                if (value instanceof String) {
+                    setForAll(fieldName, type, value);
+                    return;
+                }
+                break;
+            case DATE:
+                if (value instanceof Date) {
+                    setForAll(fieldName, type, value);
+                    return;
+                }
+                break;
+            case BINARY:
+                if (value instanceof byte[]) {
+                    setForAll(fieldName, type, value);
+                    return;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Field '%s' cannot be updated for all objects.", fieldName));
+        }
+        throw new IllegalArgumentException(String.format("Field '%s': %s is not a valid value for a field of type %s.",
+                fieldName, value == null ? "null" : value.getClass().getSimpleName(), type));
+    }
+
+    /**
+     * Sets an int, short, byte or long field to the same value in all objects of the results, see
+     * {@link #setValue(String, Object)}.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not an integer field.
+     */
+    public void setLong(String fieldName, long value) {
+        setForAll(fieldName, ColumnType.INTEGER, value);
+    }
+
+    /**
+     * Sets a float field to the same value in all objects of the results, see {@link #setValue(String, Object)}.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a float field.
+     */
+    public void setFloat(String fieldName, float value) {
+        setForAll(fieldName, ColumnType.FLOAT, value);
+    }
+
+    /**
+     * Sets a double field to the same value in all objects of the results, see {@link #setValue(String, Object)}.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a double field.
+     */
+    public void setDouble(String fieldName, double value) {
+        setForAll(fieldName, ColumnType.DOUBLE, value);
+    }
+
+    /**
+     * Sets a boolean field to the same value in all objects of the results, see {@link #setValue(String, Object)}.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a boolean field.
+     */
+    public void setBoolean(String fieldName, boolean value) {
+        setForAll(fieldName, ColumnType.BOOLEAN, value);
+    }
+
+    /**
+     * Sets a String field to the same value in all objects of the results, see {@link #setValue(String, Object)}.
+     * The full-text index of the field, if any, is updated as well.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a String field.
+     */
+    public void setString(String fieldName, String value) {
+        setForAll(fieldName, ColumnType.STRING, value);
+    }
+
+    /**
+     * Sets a Date field to the same value in all objects of the results, see {@link #setValue(String, Object)}.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a Date field.
+     */
+    public void setDate(String fieldName, Date value) {
+        setForAll(fieldName, ColumnType.DATE, value);
+    }
+
+    /**
+     * Sets a byte[] field to the same value in all objects of the results, see {@link #setValue(String, Object)}.
+     *
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a byte[] field.
+     */
+    public void setBinary(String fieldName, byte[] value) {
+        setForAll(fieldName, ColumnType.BINARY, value);
+    }
+
+    /**
+     * Adds a delta to an int, short, byte or long field in all objects of the results, with a single native call.
+     * This must be done inside a transaction. See {@link RealmObject#increment(String, long)}.
+     *
+     * @param fieldName  The field to increment.
+     * @param delta      The value to add, which may be negative.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not an integer field.
+     */
+    public void increment(String fieldName, long delta) {
+        realm.checkIfValid();
+        TableOrView table = getTable();
+        long columnIndex = getColumnIndex(fieldName);
+        if (table.getColumnType(columnIndex) != ColumnType.INTEGER) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, short, byte or long"));
+        }
+        // int, short and byte fields wrap around at their own size, like RealmObject#increment()
+        table.adjust(columnIndex, delta, realm.getColumnInfo(classSpec).getIntegerSize(columnIndex));
+    }
+
+    // aux. method used by the setters. The value is boxed as the type matching the column type.
+    private void setForAll(String fieldName, ColumnType type, Object value) {
+        realm.checkIfValid();
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Field '%s' cannot be set to null.", fieldName));
+        }
+        TableOrView table = getTable();
+        long columnIndex = getColumnIndex(fieldName);
+        if (table.getColumnType(columnIndex) != type) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, type));
+        }
+
+        // A Table is only updated through a view of all its rows
+        TableQuery query = null;
+        TableView view;
+        if (table instanceof TableView) {
+            view = (TableView) table;
+        } else {
+            query = table.where();
+            view = query.findAll();
+        }
+        try {
+            switch (type) {
+                case INTEGER:
+                    view.setLongForAll(columnIndex, (Long) value);
+                    break;
+                case FLOAT:
+                    view.setFloatForAll(columnIndex, (Float) value);
+                    break;
+                case DOUBLE:
+                    view.setDoubleForAll(columnIndex, (Double) value);
+                    break;
+                case BOOLEAN:
+                    view.setBooleanForAll(columnIndex, (Boolean) value);
+                    break;
+                case STRING:
+                    String simpleClassName = classSpec.getSimpleName();
+                    if (realm.hasFullTextIndex(simpleClassName, fieldName)) {
+                        Table indexTable = realm.getFullTextIndex(simpleClassName, fieldName);
+                        for (long i = 0, size = view.size(); i < size; i++) {
+                            FullTextIndex.update(indexTable, view.getSourceRowIndex(i), view.getString(columnIndex, i),
+                                    (String) value);
+                        }
+                    }
+                    view.setStringForAll(columnIndex, (String) value);
+                    break;
+                case DATE:
+                    view.setDateForAll(columnIndex, (Date) value);
+                    break;
+                case BINARY:
+                    view.setBinaryByteArrayForAll(columnIndex, (byte[]) value);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Field '%s' cannot be updated for all objects.", fieldName));
+            }
+        } finally {
+            if (query != null) {
+                view.close();
+                query.close();
+            }
+        }
+    }
+
     // Deleting
 
     /**
-     * Removes an object at a given index. This also deletes the object from the underlying Realm.
+     * Removes an object at a given index. This also deletes the object from the underlying Realm, together with
+     * the objects it owns through fields annotated with {@link io.realm.annotations.Owned}, like
+     * {@link RealmObject#removeFromRealm()}.
      *
      * Using this method while iterating the list can result in a undefined behavior. Use
      * {@link io.realm.RealmResults.RealmResultsIterator#remove()} instead.
@@ -445,30 +736,49 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     @Override
     public E remove(int index) {
+        realm.checkIfValid();
         TableOrView table = getTable();
-        table.remove(index);
+        long rowIndex = (table instanceof TableView) ? ((TableView) table).getSourceRowIndex(index) : index;
+        realm.removeObject(table.getTable(), rowIndex);
         return null; // Returning the object doesn't make sense, since it could no longer access any data.
     }
 
     /**
      * Removes and returns the last object in the list. This also deletes the object from the
-     * underlying Realm.
+     * underlying Realm, see {@link #remove(int)}.
      *
      * Using this method while iterating the list can result in a undefined behavior. Use
      * {@link io.realm.RealmResults.RealmResultsListIterator#removeLast()} instead.
      */
     public void removeLast() {
         TableOrView table = getTable();
-        table.removeLast();
+        if (!table.isEmpty()) {
+            remove((int) (table.size() - 1));
+        }
     }
 
     /**
      * Removes all objects from the list. This also deletes the objects from the
-     * underlying Realm.
+     * underlying Realm, see {@link #deleteAllFromRealm()}.
      */
     public void clear() {
+        deleteAllFromRealm();
+    }
+
+    /**
+     * Deletes all objects of the results from the Realm, together with the objects they own through fields
+     * annotated with {@link io.realm.annotations.Owned}. The objects are deleted with a single native call, which
+     * is much faster than deleting them one by one. This must be done inside a transaction.
+     *
+     * @return the number of objects of the results deleted.
+     */
+    public long deleteAllFromRealm() {
+        realm.checkIfValid();
         TableOrView table = getTable();
-        table.clear();
+        if (table instanceof TableView) {
+            return ((TableView) table).removeCascade(realm.getOwnedColumns(), realm.getFullTextIndexes());
+        }
+        return realm.removeAllObjects((Table) table);
     }
 
     // Adding objects
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The column indices of the fields of a model class in one Realm file. The proxy classes generate a subclass with
+ * a final field for each column index, which the accessors read directly.
+ * <p>
+ * Instances are immutable once constructed.
+ */
+public abstract class ColumnInfo {
+
+    private final Map<String, Long> indicesMap;
+    private final Map<String, Long> unmodifiableIndicesMap;
+    private long[] ownedColumnIndices = new long[0];
+    private final Map<Long, Integer> integerSizes = new HashMap<Long, Integer>();
+
+    protected ColumnInfo(int fieldCount) {
+        indicesMap = new HashMap<String, Long>(fieldCount * 2);
+        unmodifiableIndicesMap = Collections.unmodifiableMap(indicesMap);
+    }
+
+    /**
+     * Looks up the column index of a field and adds it to the map returned by {@link #getIndicesMap()}.
+     *
+     * @throws IllegalStateException if the table has no column for the field.
+     */
+    protected final long getValidColumnIndex(Table table, String className, String fieldName) {
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex == -1) {
+            throw new IllegalStateException("Field '" + fieldName + "' not found for type '" + className + "'");
+        }
+        indicesMap.put(fieldName, columnIndex);
+        return columnIndex;
+    }
+
+    /**
+     * Marks a link or link list column as owned, so the objects it links to are removed with the object.
+     */
+    protected final void addOwnedColumnIndex(long columnIndex) {
+        long[] owned = new long[ownedColumnIndices.length + 1];
+        System.arraycopy(ownedColumnIndices, 0, owned, 0, ownedColumnIndices.length);
+        owned[ownedColumnIndices.length] = columnIndex;
+        ownedColumnIndices = owned;
+    }
+
+    /**
+     * Records the size of the Java integer type stored in an integer column narrower than a long.
+     */
+    protected final void setIntegerSize(long columnIndex, int bits) {
+        integerSizes.put(columnIndex, bits);
+    }
+
+    /**
+     * Returns the size in bits of the Java integer type of the field stored in an integer column, e.g.
+     * {@code Integer.SIZE} for an int field. Columns not recorded as narrower hold longs.
+     */
+    public int getIntegerSize(long columnIndex) {
+        Integer bits = integerSizes.get(columnIndex);
+        return (bits != null) ? bits : Long.SIZE;
+    }
+
+    /**
+     * Returns the indices of the owned link and link list columns, see {@link io.realm.annotations.Owned}.
+     */
+    public long[] getOwnedColumnIndices() {
+        return ownedColumnIndices;
+    }
+
+    /**
+     * Returns the column indices by field name.
+     */
+    public Map<String, Long> getIndicesMap() {
+        return unmodifiableIndicesMap;
+    }
+}
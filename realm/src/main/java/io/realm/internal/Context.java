@@ -31,6 +31,7 @@ class Context {
     private List<Long> abandonedTableViews = new ArrayList<Long>();
     private List<Long> abandonedQueries = new ArrayList<Long>();
     private List<Long> abandonedRows = new ArrayList<Long>();
+    private List<Long> abandonedLinkViews = new ArrayList<Long>();
 
     private boolean isFinalized = false;
 
@@ -46,6 +47,11 @@ class Context {
             }
             abandonedRows.clear();
 
+            for (long nativePointer: abandonedLinkViews) {
+                LinkView.nativeClose(nativePointer);
+            }
+            abandonedLinkViews.clear();
+
             for (long nativePointer: abandonedTableViews) {
                 TableView.nativeClose(nativePointer);
             }
@@ -76,6 +82,15 @@ class Context {
         }
     }
 
+    public void asyncDisposeLinkView(long nativePointer) {
+        if (isFinalized) {
+            LinkView.nativeClose(nativePointer);
+        }
+        else {
+            abandonedLinkViews.add(nativePointer);
+        }
+    }
+
     public void asyncDisposeTableView(long nativePointer) {
         if (isFinalized) {
             TableView.nativeClose(nativePointer);
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index for a String column. The index is stored in its own table in the Realm file, with one row
+ * for each term of each indexed value. A row holds the term (indexed) and a link to the object containing it.
+ *
+ * The entries of an object are removed together with it by {@link Table#removeCascade(long[], Map, Table[])} and
+ * the other methods given the index tables. Links to objects deleted in other ways are nullified by core, and those
+ * entries are ignored when searching.
+ *
+ * @see TableQuery#matchesFullText(long, Table, String[])
+ */
+public class FullTextIndex {
+
+    public static final String TABLE_PREFIX = "fulltext_";
+
+    private static final long TERM_COLUMN_INDEX = 0;
+    private static final long OBJECT_COLUMN_INDEX = 1;
+
+    private FullTextIndex() {
+    }
+
+    /**
+     * Returns the name of the table holding the index of a field.
+     *
+     * @param className name of the class (without the table prefix).
+     * @param fieldName name of the indexed String field.
+     * @return the name of the index table.
+     */
+    public static String getTableName(String className, String fieldName) {
+        return TABLE_PREFIX + className + "_" + fieldName;
+    }
+
+    /**
+     * Creates the index table for a String column, if it does not exist. Existing values in the column are indexed.
+     * Must be called in a write transaction.
+     *
+     * @param transaction the write transaction.
+     * @param table the table containing the String column.
+     * @param className name of the class (without the table prefix).
+     * @param fieldName name of the String field to index.
+     * @return the index table.
+     */
+    public static Table initTable(Group transaction, Table table, String className, String fieldName) {
+        String tableName = getTableName(className, fieldName);
+        if (transaction.hasTable(tableName)) {
+            return transaction.getTable(tableName);
+        }
+        Table indexTable = transaction.getTable(tableName);
+        indexTable.addColumn(ColumnType.STRING, "term");
+        indexTable.addColumnLink(ColumnType.LINK, "object", table);
+        indexTable.setIndex(TERM_COLUMN_INDEX);
+
+        long columnIndex = table.getColumnIndex(fieldName);
+        for (long rowIndex = 0; rowIndex < table.size(); rowIndex++) {
+            update(indexTable, rowIndex, null, table.getString(columnIndex, rowIndex));
+        }
+        return indexTable;
+    }
+
+    /**
+     * Updates the index after a value has changed. Only the terms that differ between the old and new value are
+     * written. Must be called in a write transaction.
+     *
+     * @param indexTable the index table.
+     * @param rowIndex the row of the changed object.
+     * @param oldValue the previous value, or {@code null}.
+     * @param newValue the new value, or {@code null}.
+     */
+    public static void update(Table indexTable, long rowIndex, String oldValue, String newValue) {
+        Set<String> oldTerms = tokenize(oldValue);
+        Set<String> newTerms = tokenize(newValue);
+        List<String> removed = new ArrayList<String>();
+        for (String term : oldTerms) {
+            if (!newTerms.contains(term)) {
+                removed.add(term);
+            }
+        }
+        List<String> added = new ArrayList<String>();
+        for (String term : newTerms) {
+            if (!oldTerms.contains(term)) {
+                added.add(term);
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        nativeUpdate(indexTable.nativePtr, rowIndex,
+                removed.toArray(new String[removed.size()]), added.toArray(new String[added.size()]));
+    }
+
+    /**
+     * Removes the entries of a row from the index tables of its table. Must be called before the row is removed.
+     *
+     * @param indexTables the index tables, of any table.
+     * @param table the table of the row.
+     * @param rowIndex the row.
+     */
+    public static void removeEntries(Table[] indexTables, Table table, long rowIndex) {
+        Row row = null;
+        for (Table indexTable : indexTables) {
+            if (isIndexOf(indexTable, table)) {
+                if (row == null) {
+                    row = table.getRow(rowIndex);
+                }
+                // The entries of the row are found through its backlinks
+                TableQuery query = indexTable.where().linkingTo(OBJECT_COLUMN_INDEX, row);
+                try {
+                    query.remove();
+                } finally {
+                    query.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the index tables of a table, after all its rows have been removed.
+     *
+     * @param indexTables the index tables, of any table.
+     * @param table the table whose rows were removed.
+     */
+    public static void clear(Table[] indexTables, Table table) {
+        for (Table indexTable : indexTables) {
+            if (isIndexOf(indexTable, table)) {
+                indexTable.clear();
+            }
+        }
+    }
+
+    private static boolean isIndexOf(Table indexTable, Table table) {
+        return indexTable.getLinkTarget(OBJECT_COLUMN_INDEX).getName().equals(table.getName());
+    }
+
+    /**
+     * Splits a text into lower case terms. Any character which is not a letter or a digit separates terms.
+     *
+     * @param text the text to split.
+     * @return the distinct terms, in the order they appear.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<String>();
+        if (text == null) {
+            return terms;
+        }
+        String lowerCase = text.toLowerCase(Locale.US);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean isTermChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (isTermChar && start < 0) {
+                start = i;
+            } else if (!isTermChar && start >= 0) {
+                terms.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static native void nativeUpdate(long nativeIndexTablePtr, long rowIndex, String[] removed, String[] added);
+}
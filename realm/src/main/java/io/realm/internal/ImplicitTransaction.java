@@ -46,6 +46,10 @@ public class ImplicitTransaction extends Group {
         immutable = true;
     }
 
+    public boolean isInWriteTransaction() {
+        return !immutable;
+    }
+
     public void endRead() {
         assertNotClosed();
         parent.endRead();
@@ -19,15 +19,29 @@ package io.realm.internal;
 public class LinkView {
 
     private final Context context;
-    private final long nativeLinkViewPtr;
+    private long nativeLinkViewPtr;
     private final Table parent;
     private final long columnIndexInParent;
+    private final boolean counted; // See Metrics
 
     public LinkView(Context context, Table parent, long columnIndexInParent, long nativeLinkViewPtr) {
         this.context = context;
         this.parent = parent;
         this.columnIndexInParent = columnIndexInParent;
         this.nativeLinkViewPtr = nativeLinkViewPtr;
+        this.counted = Metrics.nativeObjectCreated();
+    }
+
+    @Override
+    protected void finalize() {
+        synchronized (context) {
+            if (nativeLinkViewPtr != 0) {
+                context.asyncDisposeLinkView(nativeLinkViewPtr);
+                nativeLinkViewPtr = 0;
+                if (counted)
+                    Metrics.nativeObjectDisposed();
+            }
+        }
     }
 
     protected static native void nativeClose(long nativeLinkViewPtr);
@@ -48,6 +62,36 @@ public class LinkView {
     }
     private native void nativeAdd(long nativeLinkViewPtr, long rowIndex);
 
+    /**
+     * Adds links to the rows, in the order given, with a single native call.
+     *
+     * @throws IndexOutOfBoundsException if a row index is not in the target table. Then no links are added.
+     */
+    public void addAll(long[] rowIndexes) {
+        nativeAddAll(nativeLinkViewPtr, rowIndexes);
+    }
+    private native void nativeAddAll(long nativeLinkViewPtr, long[] rowIndexes);
+
+    /**
+     * Replaces all links with links to the rows, in the order given, with a single native call.
+     *
+     * @throws IndexOutOfBoundsException if a row index is not in the target table. Then the links are unchanged.
+     */
+    public void setAll(long[] rowIndexes) {
+        nativeSetAll(nativeLinkViewPtr, rowIndexes);
+    }
+    private native void nativeSetAll(long nativeLinkViewPtr, long[] rowIndexes);
+
+    /**
+     * Returns the position of the first link to a row, searching the links in native memory.
+     *
+     * @return the position, or -1 if there is no link to the row.
+     */
+    public long find(long rowIndex) {
+        return nativeFind(nativeLinkViewPtr, rowIndex);
+    }
+    private native long nativeFind(long nativeLinkViewPtr, long rowIndex);
+
     public void insert(long pos, long rowIndex) {
         nativeInsert(nativeLinkViewPtr, pos, rowIndex);
     }
@@ -68,6 +112,14 @@ public class LinkView {
     }
     private native void nativeRemove(long nativeLinkViewPtr, long pos);
 
+    /**
+     * Removes the links from position fromPos, inclusive, to toPos, exclusive.
+     */
+    public void removeRange(long fromPos, long toPos) {
+        nativeRemoveRange(nativeLinkViewPtr, fromPos, toPos);
+    }
+    private native void nativeRemoveRange(long nativeLinkViewPtr, long fromPos, long toPos);
+
     public void clear() {
         nativeClear(nativeLinkViewPtr);
     }
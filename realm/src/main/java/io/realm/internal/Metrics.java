@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics collected by the internal classes, see io.realm.RealmMetrics. Nothing is measured or counted while
+ * disabled, which only costs a check of a volatile field.
+ */
+public final class Metrics {
+
+    /**
+     * Receives the time spent running queries.
+     */
+    public interface QueryListener {
+        void onQuery(Table table, String operation, long durationNanos);
+    }
+
+    private static volatile boolean enabled = false;
+    private static volatile QueryListener queryListener;
+
+    // Rows, table views and queries created while enabled, which have not been closed or garbage collected
+    private static final AtomicLong liveNativeObjects = new AtomicLong();
+
+    private Metrics() {
+    }
+
+    /**
+     * Enables or disables metrics.
+     *
+     * @param queryListener the listener for queries, or {@code null} to disable metrics.
+     */
+    public static void setQueryListener(QueryListener queryListener) {
+        Metrics.queryListener = queryListener;
+        enabled = (queryListener != null);
+    }
+
+    public static long getLiveNativeObjects() {
+        return liveNativeObjects.get();
+    }
+
+    static QueryListener getQueryListener() {
+        return queryListener;
+    }
+
+    /**
+     * Called when a native object is created.
+     *
+     * @return {@code true} if counted, in which case {@link #nativeObjectDisposed()} must be called when the
+     * object is closed or garbage collected.
+     */
+    static boolean nativeObjectCreated() {
+        if (!enabled) {
+            return false;
+        }
+        liveNativeObjects.incrementAndGet();
+        return true;
+    }
+
+    static void nativeObjectDisposed() {
+        liveNativeObjects.decrementAndGet();
+    }
+}
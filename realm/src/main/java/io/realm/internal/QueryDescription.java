@@ -0,0 +1,263 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The conditions of a query, recorded in the order they are added by the RealmQuery building it. Core cannot
+ * describe a query, so this is used to explain it. Values are kept as given, and only formatted, and checked for a
+ * search index, when a description is asked for.
+ *
+ * The conditions are turned into a tree following the rules of core: AND binds tighter than OR, and
+ * group()/endGroup() work as parentheses.
+ *
+ * @see TableQuery#setDescription(QueryDescription)
+ */
+public class QueryDescription {
+
+    private static final String INDENT = "  ";
+
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+
+    // Tokens added between the conditions
+    private static final Object GROUP_TOKEN = new Object();
+    private static final Object END_GROUP_TOKEN = new Object();
+    private static final Object OR_TOKEN = new Object();
+
+    /**
+     * A single condition.
+     */
+    static class Condition {
+        final String operator;
+        final long[] columnIndexes;
+        final Object[] values;
+        final boolean caseSensitive;
+        final Table fullTextIndex; // Only for "matches"
+
+        Condition(String operator, long[] columnIndexes, Object[] values, boolean caseSensitive,
+                  Table fullTextIndex) {
+            this.operator = operator;
+            this.columnIndexes = columnIndexes;
+            this.values = values;
+            this.caseSensitive = caseSensitive;
+            this.fullTextIndex = fullTextIndex;
+        }
+    }
+
+    private final Table table;
+    private final List<Object> tokens = new ArrayList<Object>();
+
+    /**
+     * Creates an empty description.
+     *
+     * @param table the table queried, where the column paths of the conditions start.
+     */
+    public QueryDescription(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Adds a condition.
+     *
+     * @param operator the operator, e.g. "==" or "beginsWith".
+     * @param columnIndexes the link columns followed, if any, and the column compared.
+     * @param values the values compared with.
+     * @param caseSensitive false if Strings are compared ignoring case.
+     */
+    public void addCondition(String operator, long[] columnIndexes, Object[] values, boolean caseSensitive) {
+        tokens.add(new Condition(operator, columnIndexes, values, caseSensitive, null));
+    }
+
+    /**
+     * Adds a condition looking up terms in a full text index, see {@link FullTextIndex}.
+     */
+    public void addFullTextCondition(long columnIndex, Table fullTextIndex, String[] terms) {
+        tokens.add(new Condition("matches", new long[] {columnIndex}, terms, false, fullTextIndex));
+    }
+
+    public void group() {
+        tokens.add(GROUP_TOKEN);
+    }
+
+    public void endGroup() {
+        tokens.add(END_GROUP_TOKEN);
+    }
+
+    public void or() {
+        tokens.add(OR_TOKEN);
+    }
+
+    /**
+     * Checks if core looks up the matches of a condition in a search index instead of testing every row. This is
+     * the case for full text conditions, and for case sensitive String equality on an indexed column of the table
+     * queried (not when following links).
+     */
+    boolean isIndexed(Condition condition) {
+        if (condition.fullTextIndex != null) {
+            return true;
+        }
+        return condition.operator.equals("==") && condition.caseSensitive && condition.columnIndexes.length == 1
+                && condition.values[0] instanceof String && table.hasIndex(condition.columnIndexes[0]);
+    }
+
+    /**
+     * Returns the conditions which must hold for all rows found, i.e. the conditions which are not part of an OR.
+     */
+    List<Condition> getRequiredConditions() {
+        List<Condition> required = new ArrayList<Condition>();
+        Node root = parse();
+        if (root.condition != null) {
+            required.add(root.condition);
+        } else if (AND.equals(root.operator)) {
+            for (Node child : root.children) {
+                if (child.condition != null) {
+                    required.add(child.condition);
+                }
+            }
+        }
+        return required;
+    }
+
+    /**
+     * Returns all conditions which use a search index, formatted as e.g. "matches(text)".
+     */
+    public List<String> getIndexedConditions() {
+        List<String> indexed = new ArrayList<String>();
+        for (Object token : tokens) {
+            if (token instanceof Condition && isIndexed((Condition) token)) {
+                Condition condition = (Condition) token;
+                indexed.add(condition.operator + "(" + getColumnPath(condition) + ")");
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * Describes the conditions as a tree, one node on each line with children indented.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        describe(parse(), "", sb);
+        return sb.toString();
+    }
+
+    private void describe(Node node, String indent, StringBuilder sb) {
+        if (sb.length() > 0) {
+            sb.append('\n');
+        }
+        sb.append(indent);
+        if (node.condition != null) {
+            describe(node.condition, sb);
+            return;
+        }
+        if (node.children.isEmpty()) {
+            sb.append("TRUE");
+            return;
+        }
+        sb.append(node.operator);
+        for (Node child : node.children) {
+            describe(child, indent + INDENT, sb);
+        }
+    }
+
+    private void describe(Condition condition, StringBuilder sb) {
+        sb.append(getColumnPath(condition)).append(' ').append(condition.operator);
+        for (int i = 0; i < condition.values.length; i++) {
+            sb.append(i == 0 ? " " : " and ");
+            Object value = condition.values[i];
+            if (value instanceof String) {
+                sb.append('"').append(value).append('"');
+            } else {
+                sb.append(value);
+            }
+        }
+        if (!condition.caseSensitive) {
+            sb.append(" (case insensitive)");
+        }
+        if (isIndexed(condition)) {
+            sb.append(" [index]");
+        }
+    }
+
+    private String getColumnPath(Condition condition) {
+        StringBuilder sb = new StringBuilder();
+        Table table = this.table;
+        for (int i = 0; i < condition.columnIndexes.length; i++) {
+            if (i > 0) {
+                sb.append('.');
+                table = table.getLinkTarget(condition.columnIndexes[i - 1]);
+            }
+            sb.append(table.getColumnName(condition.columnIndexes[i]));
+        }
+        return sb.toString();
+    }
+
+    // Parsing
+
+    private static class Node {
+        final Condition condition;
+        final String operator;
+        final List<Node> children = new ArrayList<Node>();
+
+        Node(Condition condition) {
+            this.condition = condition;
+            this.operator = null;
+        }
+
+        Node(String operator) {
+            this.condition = null;
+            this.operator = operator;
+        }
+
+        // Nodes with a single child are replaced by the child
+        Node simplify() {
+            return (condition == null && children.size() == 1) ? children.get(0) : this;
+        }
+    }
+
+    private Node parse() {
+        int[] position = new int[] { 0 };
+        return parseGroup(position);
+    }
+
+    // Parses tokens from 'position' until the end of the current group
+    private Node parseGroup(int[] position) {
+        Node or = new Node(OR);
+        Node and = new Node(AND);
+        while (position[0] < tokens.size()) {
+            Object token = tokens.get(position[0]++);
+            if (token == END_GROUP_TOKEN) {
+                break;
+            } else if (token == OR_TOKEN) {
+                or.children.add(and.simplify());
+                and = new Node(AND);
+            } else if (token == GROUP_TOKEN) {
+                and.children.add(parseGroup(position));
+            } else {
+                and.children.add(new Node((Condition) token));
+            }
+        }
+        if (or.children.isEmpty()) {
+            return and.simplify();
+        }
+        or.children.add(and.simplify());
+        return or;
+    }
+}
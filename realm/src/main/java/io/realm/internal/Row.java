@@ -23,11 +23,13 @@ public class Row {
     private final Context context;
     private final Table parent;
     protected long nativePtr;
+    private final boolean counted; // See Metrics
 
     Row(Context context, Table parent, long nativePtr) {
         this.context = context;
         this.parent = parent;
         this.nativePtr = nativePtr;
+        this.counted = Metrics.nativeObjectCreated();
     }
 
 
@@ -161,6 +163,8 @@ public class Row {
     protected native boolean nativeIsNullLink(long nativeRowPtr, long columnIndex);
 
     public LinkView getLinkList(long columnIndex) {
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
         long nativeLinkViewPtr = nativeGetLinkView(nativePtr, columnIndex);
         return new LinkView(context, parent, columnIndex, nativeLinkViewPtr);
     }
@@ -177,6 +181,35 @@ public class Row {
 
     protected native void nativeSetLong(long nativeRowPtr, long columnIndex, long value);
 
+    /**
+     * Adds a delta to the value of an integer cell, reading and writing it with a single native call.
+     * The result wraps around like a Java long when it overflows.
+     *
+     * @param columnIndex column index of the cell
+     * @param delta the value to add, which may be negative
+     */
+    public void addLong(long columnIndex, long delta) {
+        addLong(columnIndex, delta, Long.SIZE);
+    }
+
+    /**
+     * Adds a delta to the value of an integer cell, reading and writing it with a single native call.
+     * The result wraps around like a Java integer of the given size, so cells holding int, short or
+     * byte fields keep values their fields can hold.
+     *
+     * @param columnIndex column index of the cell
+     * @param delta the value to add, which may be negative
+     * @param bits the size of the integer, e.g. Integer.SIZE
+     */
+    public void addLong(long columnIndex, long delta, int bits) {
+        if (bits < 1 || bits > Long.SIZE)
+            throw new IllegalArgumentException("The size of the integer must be between 1 and 64 bits.");
+        parent.checkImmutable();
+        nativeAddLong(nativePtr, columnIndex, delta, bits);
+    }
+
+    protected native void nativeAddLong(long nativeRowPtr, long columnIndex, long delta, int bits);
+
     public void setBoolean(long columnIndex, boolean value) {
         parent.checkImmutable();
         nativeSetBoolean(nativePtr, columnIndex, value);
@@ -272,6 +305,8 @@ public class Row {
             if (nativePtr != 0) {
                 context.asyncDisposeRow(nativePtr);
                 nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
+                if (counted)
+                    Metrics.nativeObjectDisposed();
             }
         }
         nativeClose(nativePtr);
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A pool of idle SharedGroups with implicit transactions on one file, so a thread opening the file can reuse the
+ * SharedGroup closed by another thread instead of mapping the file and creating the write logs again.
+ * <p>
+ * A SharedGroup is only used by one thread at a time: it is removed from the pool by {@link #acquire(byte[])} and
+ * only given back by {@link #release(SharedGroup, byte[])} when its implicit transaction has ended. Idle SharedGroups
+ * are closed when there are more than {@link #setMaxIdle(int)} of them, and by a background timer when they have
+ * been idle longer than {@link #setIdleTimeout(long)}. Both settings apply to all pools, including the SharedGroups
+ * already idle in them. By default nothing is pooled.
+ */
+public class SharedGroupPool {
+
+    private static volatile int maxIdle = 0;
+    private static volatile long idleTimeoutNanos = 60 * 1000000000L;
+
+    // All pools, so new settings apply to the SharedGroups already idle. Pools live as long as their file's
+    // RealmCoordinator, which is never removed.
+    private static final List<SharedGroupPool> pools = new CopyOnWriteArrayList<SharedGroupPool>();
+    private static Timer evictionTimer;
+
+    private static class IdleSharedGroup {
+        final SharedGroup sharedGroup;
+        final byte[] key;
+        final long releasedAt;
+
+        IdleSharedGroup(SharedGroup sharedGroup, byte[] key, long releasedAt) {
+            this.sharedGroup = sharedGroup;
+            this.key = key;
+            this.releasedAt = releasedAt;
+        }
+    }
+
+    // Most recently released first
+    private final LinkedList<IdleSharedGroup> idle = new LinkedList<IdleSharedGroup>();
+    // The pending check of the idle timeout, guarded by idle
+    private TimerTask evictionTask;
+
+    public SharedGroupPool() {
+        pools.add(this);
+    }
+
+    /**
+     * Sets the maximum number of idle SharedGroups kept per file. 0 disables pooling. SharedGroups over the new
+     * maximum are closed right away.
+     */
+    public static void setMaxIdle(int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("The number of idle SharedGroups cannot be negative: " + maxIdle);
+        }
+        SharedGroupPool.maxIdle = maxIdle;
+        evictAll();
+    }
+
+    public static int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * Sets how long a SharedGroup can be idle in a pool before it is closed.
+     *
+     * @param millis the timeout in milliseconds.
+     */
+    public static void setIdleTimeout(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("The idle timeout cannot be negative: " + millis);
+        }
+        idleTimeoutNanos = millis * 1000000L;
+        evictAll();
+    }
+
+    private static void evictAll() {
+        for (SharedGroupPool pool : pools) {
+            pool.evict(true);
+        }
+    }
+
+    /**
+     * Takes an idle SharedGroup opened with the given encryption key out of the pool.
+     *
+     * @return the SharedGroup, without an active transaction, or {@code null} if there is none.
+     */
+    public SharedGroup acquire(byte[] key) {
+        List<IdleSharedGroup> expired;
+        SharedGroup sharedGroup = null;
+        synchronized (idle) {
+            expired = removeExpired(System.nanoTime());
+            for (Iterator<IdleSharedGroup> iterator = idle.iterator(); iterator.hasNext(); ) {
+                IdleSharedGroup entry = iterator.next();
+                if (Arrays.equals(entry.key, key)) {
+                    iterator.remove();
+                    sharedGroup = entry.sharedGroup;
+                    break;
+                }
+            }
+        }
+        close(expired);
+        return sharedGroup;
+    }
+
+    /**
+     * Gives back a SharedGroup whose transaction has ended, closing it if the pool is full.
+     */
+    public void release(SharedGroup sharedGroup, byte[] key) {
+        synchronized (idle) {
+            idle.addFirst(new IdleSharedGroup(sharedGroup, key, System.nanoTime()));
+        }
+        evict(false);
+    }
+
+    /**
+     * Opens SharedGroups on the file of the pool ahead of time, so the first threads opening the file can reuse
+     * them. The pool is filled up to the given number of SharedGroups, but not over {@link #getMaxIdle()}.
+     *
+     * @param path the canonical path of the file.
+     * @param key the encryption key, or {@code null}.
+     * @param count the number of idle SharedGroups wanted.
+     * @return the number of SharedGroups opened.
+     */
+    public int prewarm(String path, byte[] key, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of SharedGroups cannot be negative: " + count);
+        }
+        int opened = 0;
+        for (int i = size(); i < Math.min(count, maxIdle); i++) {
+            release(new SharedGroup(path, true, key), key);
+            opened++;
+        }
+        return opened;
+    }
+
+    /**
+     * Closes all idle SharedGroups, e.g. because the file is deleted or replaced.
+     */
+    public void clear() {
+        List<IdleSharedGroup> removed;
+        synchronized (idle) {
+            removed = new ArrayList<IdleSharedGroup>(idle);
+            idle.clear();
+            cancelEviction();
+        }
+        close(removed);
+    }
+
+    /**
+     * Returns the number of idle SharedGroups in the pool.
+     */
+    public int size() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    // Closes the SharedGroups over the maximum or idle too long, and schedules the next check of the idle timeout.
+    // A pending check is rescheduled when the timeout may have changed.
+    private void evict(boolean reschedule) {
+        List<IdleSharedGroup> evicted;
+        synchronized (idle) {
+            long now = System.nanoTime();
+            evicted = removeExpired(now);
+            while (idle.size() > maxIdle) {
+                evicted.add(idle.removeLast());
+            }
+            if (reschedule || idle.isEmpty()) {
+                cancelEviction();
+            }
+            if (!idle.isEmpty() && evictionTask == null) {
+                scheduleEviction(now);
+            }
+        }
+        close(evicted);
+    }
+
+    // The least recently released are at the end of the list, so they expire first
+    private void scheduleEviction(long now) {
+        long evictionAt = idle.getLast().releasedAt + idleTimeoutNanos;
+        evictionTask = new TimerTask() {
+            @Override
+            public void run() {
+                synchronized (idle) {
+                    if (evictionTask != this) {
+                        return; // Cancelled after it started
+                    }
+                    evictionTask = null;
+                }
+                evict(false);
+            }
+        };
+        getEvictionTimer().schedule(evictionTask, Math.max(0, evictionAt - now) / 1000000L + 1);
+    }
+
+    private void cancelEviction() {
+        if (evictionTask != null) {
+            evictionTask.cancel();
+            evictionTask = null;
+        }
+    }
+
+    // A single daemon thread checks the idle timeout of all pools
+    private static synchronized Timer getEvictionTimer() {
+        if (evictionTimer == null) {
+            evictionTimer = new Timer("SharedGroupPool", true);
+        }
+        return evictionTimer;
+    }
+
+    // The least recently released are at the end of the list
+    private List<IdleSharedGroup> removeExpired(long now) {
+        List<IdleSharedGroup> expired = new ArrayList<IdleSharedGroup>();
+        while (!idle.isEmpty() && now - idle.getLast().releasedAt > idleTimeoutNanos) {
+            expired.add(idle.removeLast());
+        }
+        return expired;
+    }
+
+    // Closing unmaps the file, so it is done outside the lock
+    private static void close(List<IdleSharedGroup> entries) {
+        for (IdleSharedGroup entry : entries) {
+            entry.sharedGroup.close();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.realm.internal;
 
 import java.io.Closeable;
 import java.util.Date;
+import java.util.Map;
 
 
 /**
@@ -375,6 +376,46 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native void nativeMoveLastOver(long nativeTablePtr, long rowIndex);
 
+    /**
+     * Removes rows and, recursively, the rows they link to through owned link and link list columns, with a single
+     * native call. The entries of the removed rows in full text indexes are removed as well. Each row is removed by
+     * moving the last row of its table into its place, see {@link #moveLastOver(long)}.
+     *
+     * @param rowIndexes the rows of this table to remove.
+     * @param ownedColumns the owned column indices of each table, by table name.
+     * @param fullTextIndexes the full text index tables, see {@link FullTextIndex}.
+     */
+    public void removeCascade(long[] rowIndexes, Map<String, long[]> ownedColumns, Table[] fullTextIndexes) {
+        checkImmutable();
+        nativeRemoveCascade(nativePtr, rowIndexes, getOwnerTableNames(ownedColumns),
+                getOwnedColumnIndexes(ownedColumns), getNativePtrs(fullTextIndexes));
+    }
+
+    // The owned columns are passed to native code as an array of table names and an array of their column indices
+    static String[] getOwnerTableNames(Map<String, long[]> ownedColumns) {
+        return ownedColumns.keySet().toArray(new String[ownedColumns.size()]);
+    }
+
+    static long[][] getOwnedColumnIndexes(Map<String, long[]> ownedColumns) {
+        long[][] ownedColumnIndexes = new long[ownedColumns.size()][];
+        int i = 0;
+        for (String tableName : ownedColumns.keySet()) {
+            ownedColumnIndexes[i++] = ownedColumns.get(tableName);
+        }
+        return ownedColumnIndexes;
+    }
+
+    static long[] getNativePtrs(Table[] tables) {
+        long[] nativePtrs = new long[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            nativePtrs[i] = tables[i].nativePtr;
+        }
+        return nativePtrs;
+    }
+
+    protected native void nativeRemoveCascade(long nativeTablePtr, long[] rowIndexes, String[] ownerTableNames,
+                                              long[][] ownedColumnIndexes, long[] fullTextIndexPtrs);
+
 
     // Row Handling methods.
     public long addEmptyRow() {
@@ -1009,14 +1050,128 @@ public class Table implements TableOrView, TableSchema, Closeable {
      * @param columnIndex column index of the cell
      * @param value
      */
-    //!!!TODO: New. Support in highlevel API
     @Override
     public void adjust(long columnIndex, long value) {
+        adjust(columnIndex, value, Long.SIZE);
+    }
+
+    /**
+     * Add the value to all cells in the column. The results wrap around like a Java integer of the given
+     * size, so columns holding int, short or byte fields keep values their fields can hold.
+     *
+     * @param columnIndex column index of the cell
+     * @param value the value to add, which may be negative
+     * @param bits the size of the integer, e.g. Integer.SIZE
+     */
+    @Override
+    public void adjust(long columnIndex, long value, int bits) {
+        if (bits < 1 || bits > Long.SIZE)
+            throw new IllegalArgumentException("The size of the integer must be between 1 and 64 bits.");
+        checkImmutable();
+        nativeAddInt(nativePtr, columnIndex, value, bits);
+    }
+
+    protected native void nativeAddInt(long nativeViewPtr, long columnIndex, long value, int bits);
+
+    // Methods for setting the values of consecutive rows in one column, with a single native call.
+
+    /**
+     * Sets the values of consecutive (integer) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param values one value for each row
+     */
+    public void setLongs(long columnIndex, long rowIndex, long[] values) {
+        checkImmutable();
+        nativeSetLongs(nativePtr, columnIndex, rowIndex, values);
+    }
+
+    protected native void nativeSetLongs(long nativeTablePtr, long columnIndex, long rowIndex, long[] values);
+
+    /**
+     * Sets the values of consecutive (boolean) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param values one value for each row
+     */
+    public void setBooleans(long columnIndex, long rowIndex, boolean[] values) {
+        checkImmutable();
+        nativeSetBooleans(nativePtr, columnIndex, rowIndex, values);
+    }
+
+    protected native void nativeSetBooleans(long nativeTablePtr, long columnIndex, long rowIndex, boolean[] values);
+
+    /**
+     * Sets the values of consecutive (float) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param values one value for each row
+     */
+    public void setFloats(long columnIndex, long rowIndex, float[] values) {
+        checkImmutable();
+        nativeSetFloats(nativePtr, columnIndex, rowIndex, values);
+    }
+
+    protected native void nativeSetFloats(long nativeTablePtr, long columnIndex, long rowIndex, float[] values);
+
+    /**
+     * Sets the values of consecutive (double) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param values one value for each row
+     */
+    public void setDoubles(long columnIndex, long rowIndex, double[] values) {
+        checkImmutable();
+        nativeSetDoubles(nativePtr, columnIndex, rowIndex, values);
+    }
+
+    protected native void nativeSetDoubles(long nativeTablePtr, long columnIndex, long rowIndex, double[] values);
+
+    /**
+     * Sets the values of consecutive (date) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param dateTimeValues one value for each row, in seconds since the epoch as stored by Realm
+     */
+    public void setDates(long columnIndex, long rowIndex, long[] dateTimeValues) {
+        checkImmutable();
+        nativeSetDates(nativePtr, columnIndex, rowIndex, dateTimeValues);
+    }
+
+    protected native void nativeSetDates(long nativeTablePtr, long columnIndex, long rowIndex, long[] dateTimeValues);
+
+    /**
+     * Sets the values of consecutive (string) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param values one value for each row, none of which may be null
+     */
+    public void setStrings(long columnIndex, long rowIndex, String[] values) {
+        checkImmutable();
+        nativeSetStrings(nativePtr, columnIndex, rowIndex, values);
+    }
+
+    protected native void nativeSetStrings(long nativeTablePtr, long columnIndex, long rowIndex, String[] values);
+
+    /**
+     * Sets the values of consecutive (binary) cells in a column.
+     *
+     * @param columnIndex column index of the cells
+     * @param rowIndex row index of the first cell
+     * @param values one value for each row, none of which may be null
+     */
+    public void setBinaryByteArrays(long columnIndex, long rowIndex, byte[][] values) {
         checkImmutable();
-        nativeAddInt(nativePtr, columnIndex, value);
+        nativeSetByteArrays(nativePtr, columnIndex, rowIndex, values);
     }
 
-    protected native void nativeAddInt(long nativeViewPtr, long columnIndex, long value);
+    protected native void nativeSetByteArrays(long nativeTablePtr, long columnIndex, long rowIndex, byte[][] values);
 
 
     public void setIndex(long columnIndex) {
@@ -242,6 +242,9 @@ public interface TableOrView {
     //Increments all rows in the specified column with the provided value
     void adjust(long columnIndex, long value);
 
+    //Increments all rows in the specified column, wrapping around like a Java integer of the given size
+    void adjust(long columnIndex, long value, int bits);
+
     long sumLong(long columnIndex);
 
     long maximumLong(long columnIndex);
@@ -18,6 +18,9 @@ package io.realm.internal;
 
 import java.io.Closeable;
 import java.util.Date;
+import java.util.Map;
+
+import io.realm.internal.log.RealmLog;
 
 public class TableQuery implements Closeable {
     protected boolean DEBUG = false;
@@ -28,13 +31,28 @@ public class TableQuery implements Closeable {
 
     private boolean queryValidated = true;
 
+    // The conditions as recorded by the RealmQuery building this query, null if not built by one
+    private QueryDescription description;
+    // The rows searched by the query, which is the parent table unless the query was made from a view
+    private final TableOrView source;
+    private final boolean counted; // See Metrics
+
+    // Queries taking at least this long are logged, negative if disabled
+    private static volatile long slowQueryThresholdNanos = -1;
+
     // TODO: Can we protect this?
     public TableQuery(Context context, Table parent, long nativeQueryPtr){
+        this(context, parent, nativeQueryPtr, parent);
+    }
+
+    TableQuery(Context context, Table parent, long nativeQueryPtr, TableOrView source){
         if (DEBUG)
             System.err.println("++++++ new TableQuery, ptr= " + nativeQueryPtr);
         this.context = context;
         this.parent = parent;
         this.nativePtr = nativeQueryPtr;
+        this.source = source;
+        this.counted = Metrics.nativeObjectCreated();
     }
 
     public void close() {
@@ -46,6 +64,8 @@ public class TableQuery implements Closeable {
                     System.err.println("++++ Query CLOSE, ptr= " + nativePtr);
 
                 nativePtr = 0;
+                if (counted)
+                    Metrics.nativeObjectDisposed();
             }
         }
     }
@@ -57,6 +77,8 @@ public class TableQuery implements Closeable {
             if (nativePtr != 0) {
                 context.asyncDisposeQuery(nativePtr); 
                 nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
+                if (counted)
+                    Metrics.nativeObjectDisposed();
             }
         }
     }
@@ -76,6 +98,85 @@ public class TableQuery implements Closeable {
 
     protected native String nativeValidateQuery(long nativeQueryPtr);
 
+    /**
+     * Sets the description of the conditions of this query, which is kept up to date by the caller as conditions
+     * are added. It is used by {@link #estimateRowsScanned()} and when logging slow queries.
+     *
+     * @param description the description of the conditions.
+     */
+    public void setDescription(QueryDescription description) {
+        this.description = description;
+    }
+
+    /**
+     * Estimates the number of rows the query has to test. This is the number of rows searched, unless a condition
+     * which must hold for all matches uses a search index. Then only the rows found in the index are tested.
+     * The index is used to count those rows, which is much faster than running the query on a large table.
+     *
+     * For queries on a link list, the size of the target table is used as the number of rows searched. Without a
+     * description of the conditions, see {@link #setDescription(QueryDescription)}, no index is taken into account.
+     *
+     * @return the estimated number of rows.
+     */
+    public long estimateRowsScanned() {
+        long estimate = source.size();
+        if (description == null) {
+            return estimate;
+        }
+        for (QueryDescription.Condition condition : description.getRequiredConditions()) {
+            if (description.isIndexed(condition)) {
+                estimate = Math.min(estimate, countIndexMatches(condition));
+            }
+        }
+        return estimate;
+    }
+
+    private long countIndexMatches(QueryDescription.Condition condition) {
+        long columnIndex = condition.columnIndexes[0];
+        if (condition.fullTextIndex == null && condition.operator.equals("==")) {
+            return parent.count(columnIndex, (String) condition.values[0]);
+        }
+        TableQuery query = parent.where();
+        try {
+            query.matchesFullText(columnIndex, condition.fullTextIndex, (String[]) condition.values);
+            return query.nativeCount(query.nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        } finally {
+            query.close();
+        }
+    }
+
+    /**
+     * Sets the time a query may take before it is logged as slow, see {@link RealmLog}. The query is logged as a
+     * warning with its conditions. This is disabled by default.
+     *
+     * @param thresholdMillis the threshold in milliseconds, or a negative value to disable logging.
+     */
+    public static void setSlowQueryThreshold(long thresholdMillis) {
+        slowQueryThresholdNanos = (thresholdMillis < 0) ? -1 : thresholdMillis * 1000000L;
+    }
+
+    // Returns the start time if queries are timed, which is when slow queries are logged or metrics are enabled
+    private static long startTiming() {
+        return (slowQueryThresholdNanos < 0 && Metrics.getQueryListener() == null) ? 0 : System.nanoTime();
+    }
+
+    private void endTiming(long startTime, String operation) {
+        if (startTime == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - startTime;
+        Metrics.QueryListener listener = Metrics.getQueryListener();
+        if (listener != null) {
+            listener.onQuery(parent, operation, duration);
+        }
+        long threshold = slowQueryThresholdNanos;
+        if (threshold >= 0 && duration >= threshold) {
+            String conditions = (description != null) ? description.describe() : "(unknown)";
+            RealmLog.w(String.format("Slow query: %s on '%s' took %d ms. Conditions:\n%s",
+                    operation, parent.getName(), duration / 1000000L, conditions));
+        }
+    }
+
     // Query TableView
     public TableQuery tableview(TableView tv){
         nativeTableview(nativePtr, tv.nativePtr);
@@ -370,11 +471,7 @@ public class TableQuery implements Closeable {
         return this;
     }
     public TableQuery equalTo(long[] columnIndexes, String value) {
-        if (value == null)
-            throw new IllegalArgumentException(STRING_NULL_ERROR_MESSAGE);
-        nativeEqual(nativePtr, columnIndexes, value, true);
-        queryValidated = false;
-        return this;
+        return equalTo(columnIndexes, value, true);
     }
     protected native void nativeEqual(long nativeQueryPtr, long[] columnIndexes, String value, boolean caseSensitive);
 
@@ -403,13 +500,39 @@ public class TableQuery implements Closeable {
         return this;
     }
     public TableQuery beginsWith(long columnIndex, String value){
-        if (value == null)
-            throw new IllegalArgumentException(STRING_NULL_ERROR_MESSAGE);
-        nativeBeginsWith(nativePtr, columnIndex, value, true);
+        return beginsWith(columnIndex, value, true);
+    }
+    protected native void nativeBeginsWith(long nativeQueryPtr, long columnIndex, String value, boolean caseSensitive);
+
+    /**
+     * Condition that a String column contains all terms according to its full text index.
+     * The objects are looked up in the index table each time the query is run.
+     *
+     * @param columnIndex the indexed String column.
+     * @param indexTable the index table, see {@link FullTextIndex}.
+     * @param terms the terms, as returned by {@link FullTextIndex#tokenize(String)}.
+     * @return the query.
+     */
+    public TableQuery matchesFullText(long columnIndex, Table indexTable, String[] terms){
+        nativeMatchesFullText(nativePtr, indexTable.nativePtr, terms);
         queryValidated = false;
         return this;
     }
-    protected native void nativeBeginsWith(long nativeQueryPtr, long columnIndex, String value, boolean caseSensitive);
+    protected native void nativeMatchesFullText(long nativeQueryPtr, long nativeIndexTablePtr, String[] terms);
+
+    /**
+     * Finds the rows linking to a row through a link or link list column. The rows are found through the backlinks
+     * of the row, so only the rows linking to it are visited.
+     *
+     * @param columnIndex the link or link list column.
+     * @param row a row of the target table of the column.
+     */
+    public TableQuery linkingTo(long columnIndex, Row row){
+        nativeLinkingTo(nativePtr, columnIndex, row.nativePtr);
+        queryValidated = false;
+        return this;
+    }
+    protected native void nativeLinkingTo(long nativeQueryPtr, long columnIndex, long nativeRowPtr);
 
     public TableQuery endsWith(long columnIndex, String value, boolean caseSensitive){
         if (value == null)
@@ -448,12 +571,14 @@ public class TableQuery implements Closeable {
 
     public long find(long fromTableRow){
         validateQuery();
-        return nativeFind(nativePtr, fromTableRow);
+        long start = startTiming();
+        long rowIndex = nativeFind(nativePtr, fromTableRow);
+        endTiming(start, "find");
+        return rowIndex;
     }
 
     public long find(){
-        validateQuery();
-        return nativeFind(nativePtr, 0);
+        return find(0);
     }
 
     protected native long nativeFind(long nativeQueryPtr, long fromTableRow);
@@ -463,7 +588,9 @@ public class TableQuery implements Closeable {
 
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
+        long startTime = startTiming();
         long nativeViewPtr = nativeFindAll(nativePtr, start, end, limit);
+        endTiming(startTime, "findAll");
         try {
             return new TableView(this.context, this.parent, nativeViewPtr);
         } catch (RuntimeException e) {
@@ -477,7 +604,9 @@ public class TableQuery implements Closeable {
 
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
+        long start = startTiming();
         long nativeViewPtr = nativeFindAll(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        endTiming(start, "findAll");
         try {
             return new TableView(this.context, this.parent, nativeViewPtr);
         } catch (RuntimeException e) {
@@ -658,12 +787,14 @@ public class TableQuery implements Closeable {
     // TODO: Rename all start, end parameter names to firstRow, lastRow
     public long count(long start, long end, long limit){
         validateQuery();
-        return nativeCount(nativePtr, start, end, limit);
+        long startTime = startTiming();
+        long count = nativeCount(nativePtr, start, end, limit);
+        endTiming(startTime, "count");
+        return count;
     }
 
     public long count(){
-        validateQuery();
-        return nativeCount(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        return count(0, Table.INFINITE, Table.INFINITE);
     }
 
     protected native long nativeCount(long nativeQueryPtr, long start, long end, long limit);
@@ -684,6 +815,27 @@ public class TableQuery implements Closeable {
 
     protected native long nativeRemove(long nativeQueryPtr, long start, long end, long limit);
 
+    /**
+     * Removes all rows found by the query and, recursively, the rows they link to through owned columns, with a
+     * single native call. See {@link Table#removeCascade(long[], Map, Table[])}.
+     *
+     * @param ownedColumns the owned column indices of each table, by table name.
+     * @param fullTextIndexes the full text index tables, see {@link FullTextIndex}.
+     * @return the number of rows found and removed.
+     */
+    public long removeCascade(Map<String, long[]> ownedColumns, Table[] fullTextIndexes){
+        validateQuery();
+        if (parent.isImmutable()) throwImmutable();
+        long start = startTiming();
+        long removed = nativeRemoveCascade(nativePtr, Table.getOwnerTableNames(ownedColumns),
+                Table.getOwnedColumnIndexes(ownedColumns), Table.getNativePtrs(fullTextIndexes));
+        endTiming(start, "removeAll");
+        return removed;
+    }
+
+    protected native long nativeRemoveCascade(long nativeQueryPtr, String[] ownerTableNames, long[][] ownedColumnIndexes,
+                                              long[] fullTextIndexPtrs);
+
     private void throwImmutable(){
         throw new IllegalStateException("Mutable method call during read transaction.");
     }
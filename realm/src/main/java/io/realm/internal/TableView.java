@@ -17,8 +17,14 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -77,6 +83,7 @@ public class TableView implements TableOrView, Closeable {
         this.context = context;
         this.parent = parent;
         this.nativePtr = nativePtr;
+        this.counted = Metrics.nativeObjectCreated();
     }
 
     @Override
@@ -94,6 +101,8 @@ public class TableView implements TableOrView, Closeable {
                     System.err.println("==== TableView CLOSE, ptr= " + nativePtr);
               
                 nativePtr = 0;
+                if (counted)
+                    Metrics.nativeObjectDisposed();
             } 
         }
     }
@@ -103,6 +112,8 @@ public class TableView implements TableOrView, Closeable {
             if (nativePtr != 0) {
                 context.asyncDisposeTableView(nativePtr);
                 nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
+                if (counted)
+                    Metrics.nativeObjectDisposed();
             }
         }
     }
@@ -498,6 +509,99 @@ public class TableView implements TableOrView, Closeable {
 
     protected native void nativeSetLink(long nativeViewPtr, long columnIndex, long rowIndex, long value);
 
+    // Methods for setting one value in all rows of the view, with a single native call.
+
+    /**
+     * Sets the value of a particular (integer) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param value
+     */
+    public void setLongForAll(long columnIndex, long value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetLongForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetLongForAll(long nativeViewPtr, long columnIndex, long value);
+
+    /**
+     * Sets the value of a particular (boolean) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param value
+     */
+    public void setBooleanForAll(long columnIndex, boolean value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetBooleanForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetBooleanForAll(long nativeViewPtr, long columnIndex, boolean value);
+
+    /**
+     * Sets the value of a particular (float) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param value
+     */
+    public void setFloatForAll(long columnIndex, float value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetFloatForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetFloatForAll(long nativeViewPtr, long columnIndex, float value);
+
+    /**
+     * Sets the value of a particular (double) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param value
+     */
+    public void setDoubleForAll(long columnIndex, double value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetDoubleForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetDoubleForAll(long nativeViewPtr, long columnIndex, double value);
+
+    /**
+     * Sets the value of a particular (date) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param value
+     */
+    public void setDateForAll(long columnIndex, Date value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetDateTimeValueForAll(nativePtr, columnIndex, value.getTime() / 1000);
+    }
+
+    protected native void nativeSetDateTimeValueForAll(long nativeViewPtr, long columnIndex, long dateTimeValue);
+
+    /**
+     * Sets the value of a particular (string) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param value
+     */
+    public void setStringForAll(long columnIndex, String value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetStringForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetStringForAll(long nativeViewPtr, long columnIndex, String value);
+
+    /**
+     * Sets the value of a particular (binary) column in all rows of the view.
+     *
+     * @param columnIndex column index of the cells
+     * @param data
+     */
+    public void setBinaryByteArrayForAll(long columnIndex, byte[] data) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetByteArrayForAll(nativePtr, columnIndex, data);
+    }
+
+    protected native void nativeSetByteArrayForAll(long nativeViewPtr, long columnIndex, byte[] data);
+
 
     public boolean isNullLink(long columnIndex, long rowIndex) {
         return nativeIsNullLink(nativePtr, columnIndex, rowIndex);
@@ -519,11 +623,26 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void adjust(long columnIndex, long value) {
+        adjust(columnIndex, value, Long.SIZE);
+    }
+
+    /**
+     * Add the value to all cells in the column. The results wrap around like a Java integer of the given
+     * size, so columns holding int, short or byte fields keep values their fields can hold.
+     *
+     * @param columnIndex column index of the cell
+     * @param value the value to add, which may be negative
+     * @param bits the size of the integer, e.g. Integer.SIZE
+     */
+    @Override
+    public void adjust(long columnIndex, long value, int bits) {
+        if (bits < 1 || bits > Long.SIZE)
+            throw new IllegalArgumentException("The size of the integer must be between 1 and 64 bits.");
         if (parent.isImmutable()) throwImmutable();
-        nativeAddInt(nativePtr, columnIndex, value);
+        nativeAddInt(nativePtr, columnIndex, value, bits);
     }
 
-    protected native void nativeAddInt(long nativeViewPtr, long columnIndex, long value);
+    protected native void nativeAddInt(long nativeViewPtr, long columnIndex, long value, int bits);
 
     // Methods for deleting.
     @Override
@@ -534,6 +653,23 @@ public class TableView implements TableOrView, Closeable {
 
     protected native void nativeClear(long nativeViewPtr);
 
+    /**
+     * Removes all rows of the view from the underlying table and, recursively, the rows they link to through owned
+     * columns, with a single native call. See {@link Table#removeCascade(long[], Map, Table[])}.
+     *
+     * @param ownedColumns the owned column indices of each table, by table name.
+     * @param fullTextIndexes the full text index tables, see {@link FullTextIndex}.
+     * @return the number of rows of the view removed.
+     */
+    public long removeCascade(Map<String, long[]> ownedColumns, Table[] fullTextIndexes) {
+        if (parent.isImmutable()) throwImmutable();
+        return nativeRemoveCascade(nativePtr, Table.getOwnerTableNames(ownedColumns),
+                Table.getOwnedColumnIndexes(ownedColumns), Table.getNativePtrs(fullTextIndexes));
+    }
+
+    protected native long nativeRemoveCascade(long nativeViewPtr, String[] ownerTableNames, long[][] ownedColumnIndexes,
+                                              long[] fullTextIndexPtrs);
+
     /**
      * Removes a particular row identified by the index from the tableview.
      * The corresponding row of the underlying table also get deleted.
@@ -850,30 +986,190 @@ public class TableView implements TableOrView, Closeable {
 
     public enum Order { ascending, descending };
 
-    public void sort(long columnIndex, Order order) {
+    public void sort(final long columnIndex, Order order) {
         // Don't check for immutable. Sorting does not modify original table
-        nativeSort(nativePtr, columnIndex, (order == Order.ascending));
+        final boolean ascending = (order == Order.ascending);
+        applyOperation(new ViewOperation(true) {
+            @Override
+            void apply() {
+                nativeSort(nativePtr, columnIndex, ascending);
+            }
+        }, true);
     }
 
     public void sort(long columnIndex) {
-        // Don't check for immutable. Sorting does not modify original table
-        nativeSort(nativePtr, columnIndex, true);
+        sort(columnIndex, Order.ascending);
     }
 
     protected native void nativeSort(long nativeTableViewPtr, long columnIndex, boolean ascending);
 
     public void sort(List<Long> columnIndices, List<Order> order) {
-        long indices[] = new long[columnIndices.size()];
-        boolean sortOrder[] = new boolean[order.size()];
+        final long indices[] = new long[columnIndices.size()];
+        final boolean sortOrder[] = new boolean[order.size()];
         for (int i = 0; i < columnIndices.size(); i++) {
             indices[i] = columnIndices.get(i);
             sortOrder[i] = order.get(i) == Order.ascending;
         }
-        nativeSortMulti(nativePtr, indices, sortOrder);
+        applyOperation(new ViewOperation(true) {
+            @Override
+            void apply() {
+                nativeSortMulti(nativePtr, indices, sortOrder);
+            }
+        }, true);
     }
 
     protected native void nativeSortMulti(long nativeTableViewPtr, long columnIndices[], boolean ascending[]);
 
+    /**
+     * Sorts the view by a column in a linked table. The column indices describe the path: all but the last are
+     * link columns to follow, the last is the column to sort by. Rows with a null link are sorted first.
+     * The sort is done again by {@link #sync()} when the view is updated with changes to the table.
+     *
+     * @param columnIndices path of column indices, starting in the table of this view.
+     * @param order         sort order.
+     */
+    public void sort(long columnIndices[], Order order) {
+        List<Order> orders = new ArrayList<Order>();
+        orders.add(order);
+        sort(new long[][] {columnIndices}, orders);
+    }
+
+    /**
+     * Sorts the view by multiple columns, each of which can be in a linked table.
+     * The sort is done again by {@link #sync()} when the view is updated with changes to the table.
+     *
+     * @param columnIndices a path of column indices for each sort column.
+     * @param order         sort order for each sort column.
+     */
+    public void sort(final long columnIndices[][], List<Order> order) {
+        // Don't check for immutable. Sorting does not modify original table
+        final boolean sortOrder[] = new boolean[order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            sortOrder[i] = order.get(i) == Order.ascending;
+        }
+        applyOperation(new ViewOperation(true) {
+            @Override
+            void apply() {
+                nativeSortByLinks(nativePtr, columnIndices, sortOrder);
+            }
+        }, false);
+    }
+
+    protected native void nativeSortByLinks(long nativeTableViewPtr, long columnIndices[][], boolean ascending[]);
+
+    /**
+     * Sorts the view by a String column using the rules of a {@link Collator}, e.g. to sort case or accent
+     * insensitive for a given locale. The values are fetched in one native call, the rows are ordered by the rank
+     * of their collation key and the new order is written back to the native view. The sort is done again by
+     * {@link #sync()} when the view is updated with changes to the table.
+     *
+     * @param columnIndex index of a String column.
+     * @param order       sort order.
+     * @param collator    collator defining the ordering of strings.
+     */
+    public void sort(long columnIndex, Order order, Collator collator) {
+        // Don't check for immutable. Sorting does not modify original table
+        applyOperation(new CollatorSort(columnIndex, order == Order.ascending, collator), false);
+    }
+
+    private static class CollationEntry {
+        final CollationKey key;
+        int rank;
+
+        CollationEntry(CollationKey key) {
+            this.key = key;
+        }
+    }
+
+    // The collation keys are kept in memory for the lifetime of the sort rather than in a column of the table,
+    // as they depend on the collator and would have to be written on every change of the strings. A sync only
+    // computes keys for strings not seen before.
+    private class CollatorSort extends ViewOperation {
+        private final long columnIndex;
+        private final boolean ascending;
+        private final Collator collator;
+        private Map<String, CollationEntry> entries = new HashMap<String, CollationEntry>();
+
+        CollatorSort(long columnIndex, boolean ascending, Collator collator) {
+            super(true);
+            this.columnIndex = columnIndex;
+            this.ascending = ascending;
+            this.collator = (Collator) collator.clone(); // Later changes to the collator must not affect a sync
+        }
+
+        @Override
+        void apply() {
+            String[] values = nativeGetColumnStrings(nativePtr, columnIndex);
+            Map<String, CollationEntry> currentEntries = new HashMap<String, CollationEntry>();
+            for (String value : values) {
+                if (!currentEntries.containsKey(value)) {
+                    CollationEntry entry = entries.get(value);
+                    currentEntries.put(value, entry != null ? entry : new CollationEntry(collator.getCollationKey(value)));
+                }
+            }
+            entries = currentEntries;
+
+            // Strings which are equal according to the collator get the same rank
+            CollationKey[] keys = new CollationKey[entries.size()];
+            int i = 0;
+            for (CollationEntry entry : entries.values()) {
+                keys[i++] = entry.key;
+            }
+            Arrays.sort(keys);
+            int rankCount = 0;
+            for (i = 0; i < keys.length; i++) {
+                if (i > 0 && keys[i].compareTo(keys[i - 1]) != 0) {
+                    rankCount++;
+                }
+                entries.get(keys[i].getSourceString()).rank = rankCount;
+            }
+            rankCount++;
+
+            // Counting sort by rank, which keeps the current order of rows with equal strings
+            int[] ranks = new int[values.length];
+            int[] offsets = new int[rankCount + 1];
+            for (i = 0; i < values.length; i++) {
+                int rank = entries.get(values[i]).rank;
+                ranks[i] = ascending ? rank : rankCount - 1 - rank;
+                offsets[ranks[i] + 1]++;
+            }
+            for (i = 1; i <= rankCount; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+            long[] newOrder = new long[values.length];
+            for (i = 0; i < values.length; i++) {
+                newOrder[offsets[ranks[i]]++] = i;
+            }
+            nativeReorder(nativePtr, newOrder);
+        }
+    }
+
+    protected native String[] nativeGetColumnStrings(long nativeTableViewPtr, long columnIndex);
+
+    protected native void nativeReorder(long nativeTableViewPtr, long positions[]);
+
+    // Distinct
+
+    /**
+     * Removes rows from the view, so only the first row with each distinct combination of values in the columns
+     * remains. The order of the remaining rows is kept. Values are compared by hashing, and indexed String columns
+     * are resolved through their search index when the view holds most rows of the table. The duplicates are
+     * removed again by {@link #sync()} when the view is updated with changes to the table.
+     *
+     * @param columnIndices the columns to compare.
+     */
+    public void distinct(final long columnIndices[]) {
+        // Don't check for immutable. Distinct does not modify original table
+        applyOperation(new ViewOperation(false) {
+            @Override
+            void apply() {
+                nativeDistinctMulti(nativePtr, columnIndices);
+            }
+        }, false);
+    }
+
+    protected native void nativeDistinctMulti(long nativeTableViewPtr, long columnIndices[]);
+
     protected native long createNativeTableView(Table table, long nativeTablePtr);
 
     @Override
@@ -908,7 +1204,7 @@ public class TableView implements TableOrView, Closeable {
         this.context.executeDelayedDisposal();
         long nativeQueryPtr = nativeWhere(nativePtr);
         try {
-            return new TableQuery(this.context, this.parent, nativeQueryPtr);
+            return new TableQuery(this.context, this.parent, nativeQueryPtr, this);
         } catch (RuntimeException e) {
             TableQuery.nativeClose(nativeQueryPtr);
             throw e;
@@ -924,6 +1220,38 @@ public class TableView implements TableOrView, Closeable {
     protected long nativePtr;
     protected final Table parent;
     private final Context context;
+    private final boolean counted; // See Metrics
+
+    // Sorts and distincts which core does not know about are lost when core runs the query of the view again.
+    // They are recorded in the order they were done, so sync() can do them again.
+    private final List<ViewOperation> operations = new ArrayList<ViewOperation>();
+    private long operationsVersion = -1;
+
+    private abstract static class ViewOperation {
+        final boolean isSort;
+
+        ViewOperation(boolean isSort) {
+            this.isSort = isSort;
+        }
+
+        abstract void apply();
+    }
+
+    private void applyOperation(ViewOperation operation, boolean keptByCore) {
+        sync();
+        if (operation.isSort) {
+            // A new sort replaces the order of the sorts done right before it
+            while (!operations.isEmpty() && operations.get(operations.size() - 1).isSort) {
+                operations.remove(operations.size() - 1);
+            }
+        }
+        // Core re-applies its own sorts before anything recorded here, so they are only recorded when they must
+        // be done after a recorded operation
+        if (!keptByCore || !operations.isEmpty()) {
+            operations.add(operation);
+        }
+        operation.apply();
+    }
 
     @Override
     public long count(long columnIndex, String value) {
@@ -945,9 +1273,22 @@ public class TableView implements TableOrView, Closeable {
     protected native void nativePivot(long nativeTablePtr, long sringCol, long intCol, int pivotType, long result);
 
 
+    /**
+     * Syncs the view with the underlying table data. Core runs the query of the view again and re-applies its own
+     * sorts, after which the sorts and distincts done by this class are applied again.
+     *
+     * @return Version number for the updated view.
+     */
     @Override
     public long sync() {
-        return nativeSync(nativePtr);
+        long version = nativeSync(nativePtr);
+        if (version != operationsVersion) {
+            operationsVersion = version;
+            for (ViewOperation operation : operations) {
+                operation.apply();
+            }
+        }
+        return version;
     }
 
     protected native long nativeSync(long nativeTablePtr);